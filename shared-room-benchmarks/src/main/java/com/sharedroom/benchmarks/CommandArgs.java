@@ -0,0 +1,54 @@
+package com.sharedroom.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 命令行参数，格式为 --key=value，未出现的参数取默认值
+ */
+public final class CommandArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public CommandArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("参数格式应为 --key=value: " + arg);
+            }
+            int index = arg.indexOf('=');
+            if (index < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, index), arg.substring(index + 1));
+            }
+        }
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
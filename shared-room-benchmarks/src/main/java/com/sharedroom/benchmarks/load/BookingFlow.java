@@ -0,0 +1,198 @@
+package com.sharedroom.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sharedroom.benchmarks.load.GatewayClient.ApiResponse;
+import com.sharedroom.benchmarks.load.StepRecorder.Outcome;
+import com.sharedroom.benchmarks.load.StepRecorder.Step;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 一次完整的预约流程：登录 → 查询座位 → 下单 → 发起支付 → 支付宝回调
+ * 任一步骤失败即结束本次流程，流程结果取失败步骤的结果
+ */
+@Slf4j
+public class BookingFlow {
+
+    static final String LOGIN_PATH = "/user/api/user/login";
+    static final String REGISTER_PATH = "/user/api/user/register";
+    static final String SEAT_PAGE_PATH = "/seat/api/seat/page";
+    static final String ORDER_PATH = "/order/api/orders";
+    static final String PAYMENT_PATH = "/payment/api/payment";
+    static final String NOTIFY_PATH = "/payment/api/payment/alipay/notify";
+
+    private static final int SEAT_STATUS_AVAILABLE = 1;
+    private static final int PAGE_SIZE = 20;
+    private static final String NOTIFY_SUCCESS = "success";
+
+    private final LoadOptions options;
+    private final GatewayClient client;
+    private final RestTemplate standInClient;
+    private final StepRecorder recorder;
+    private final List<Long> hotSeatIds;
+    private final AtomicLong arrivals = new AtomicLong();
+
+    public BookingFlow(LoadOptions options, GatewayClient client, RestTemplate standInClient,
+                       StepRecorder recorder, List<Long> hotSeatIds) {
+        this.options = options;
+        this.client = client;
+        this.standInClient = standInClient;
+        this.recorder = recorder;
+        this.hotSeatIds = hotSeatIds;
+    }
+
+    /**
+     * 执行一次预约
+     *
+     * @param intendedStartNanos 计划到达时刻，流程耗时从此刻算起
+     * @param measured           是否计入统计，预热期间为false
+     */
+    public void run(long intendedStartNanos, boolean measured) {
+        Outcome outcome = book(measured);
+        if (measured) {
+            recorder.record(Step.FLOW, intendedStartNanos, System.nanoTime(), outcome);
+        }
+    }
+
+    private Outcome book(boolean measured) {
+        int userIndex = (int) (arrivals.getAndIncrement() % options.getUsers());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // 1. 登录
+        Map<String, Object> login = new LinkedHashMap<>();
+        login.put("username", username(options, userIndex));
+        login.put("password", options.getPassword());
+        StepResult loginResult = step(Step.LOGIN, measured, () -> client.postJson(LOGIN_PATH, null, login));
+        if (loginResult.outcome != Outcome.OK) {
+            return loginResult.outcome;
+        }
+        String token = loginResult.response.getData().path("token").asText();
+
+        // 2. 查询自习室内的空闲座位
+        Map<String, Object> search = new LinkedHashMap<>();
+        search.put("studyRoomId", options.getStudyRoomId());
+        search.put("status", SEAT_STATUS_AVAILABLE);
+        StepResult pageResult = step(Step.PAGE, measured,
+                () -> client.postJson(SEAT_PAGE_PATH + "?current=1&size=" + PAGE_SIZE, token, search));
+        if (pageResult.outcome != Outcome.OK) {
+            return pageResult.outcome;
+        }
+        Long seatId = chooseSeat(pageResult.response.getData().path("records"), random);
+        if (seatId == null) {
+            return Outcome.REJECTED;
+        }
+
+        // 3. 下单，预约时段随机分布在未来若干天内的整点
+        LocalDateTime startTime = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .plusHours(1 + random.nextInt(options.getBookingDays() * 24));
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("seatId", seatId);
+        order.put("startTime", startTime.toString());
+        order.put("endTime", startTime.plusHours(1).toString());
+        order.put("duration", 1);
+        order.put("remark", "load test");
+        StepResult orderResult = step(Step.ORDER, measured, () -> client.postJson(ORDER_PATH, token, order));
+        if (orderResult.outcome != Outcome.OK) {
+            return orderResult.outcome;
+        }
+        JsonNode orderData = orderResult.response.getData();
+
+        // 4. 发起支付，金额保留两位小数，与支付记录入库后的精度一致，回调时金额校验才能通过
+        String amount = new BigDecimal(orderData.path("actualAmount").asText("0.01"))
+                .setScale(2, RoundingMode.HALF_UP).toPlainString();
+        Map<String, Object> payment = new LinkedHashMap<>();
+        payment.put("orderId", orderData.path("id").asLong());
+        payment.put("amount", amount);
+        payment.put("payMethod", "alipay");
+        payment.put("description", "load test");
+        StepResult paymentResult = step(Step.PAYMENT, measured, () -> client.postJson(PAYMENT_PATH, token, payment));
+        if (paymentResult.outcome != Outcome.OK) {
+            return paymentResult.outcome;
+        }
+        String transactionId = paymentResult.response.getData().path("transactionId").asText();
+
+        // 5. 用户付款，由支付宝替身生成签名后的回调参数，不计入耗时
+        Map<String, String> notifyParams;
+        try {
+            notifyParams = pay(transactionId, amount);
+        } catch (RestClientException e) {
+            log.warn("支付宝替身付款失败: transactionId={}, {}", transactionId, e.getMessage());
+            return Outcome.ERROR;
+        }
+
+        // 6. 支付宝回调，回调不携带用户令牌
+        StepResult notifyResult = step(Step.NOTIFY, measured, () -> {
+            ApiResponse response = client.postForm(NOTIFY_PATH, null, notifyParams);
+            // 回调接口返回纯文本success/fail，失败通常是验签或金额校验未通过
+            return NOTIFY_SUCCESS.equals(response.getMessage())
+                    ? response
+                    : new ApiResponse(200, 500, response.getMessage(), response.getData());
+        });
+        return notifyResult.outcome;
+    }
+
+    /**
+     * 按热点比例选择座位：热点座位人人都抢，其余在查询结果中随机挑一个
+     */
+    private Long chooseSeat(JsonNode records, ThreadLocalRandom random) {
+        if (!hotSeatIds.isEmpty() && (random.nextDouble() < options.getHotRatio() || records.size() == 0)) {
+            return hotSeatIds.get(random.nextInt(hotSeatIds.size()));
+        }
+        if (records.size() == 0) {
+            return null;
+        }
+        return records.get(random.nextInt(records.size())).path("id").asLong();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> pay(String transactionId, String amount) {
+        return standInClient.postForObject(options.getAlipayStandIn() + "/standin/pay?out_trade_no={outTradeNo}&total_amount={amount}",
+                null, Map.class, transactionId, amount);
+    }
+
+    private StepResult step(Step step, boolean measured, Supplier<ApiResponse> call) {
+        long start = System.nanoTime();
+        ApiResponse response = null;
+        Outcome outcome;
+        try {
+            response = call.get();
+            outcome = response.isSuccess() ? Outcome.OK : response.isServerError() ? Outcome.ERROR : Outcome.REJECTED;
+            if (outcome == Outcome.ERROR) {
+                log.debug("{} 服务错误: code={}, message={}", step, response.getCode(), response.getMessage());
+            }
+        } catch (RestClientException e) {
+            log.debug("{} 请求失败: {}", step, e.getMessage());
+            outcome = Outcome.ERROR;
+        }
+        if (measured) {
+            recorder.record(step, start, System.nanoTime(), outcome);
+        }
+        return new StepResult(outcome, response);
+    }
+
+    static String username(LoadOptions options, int userIndex) {
+        return options.getUserPrefix() + userIndex;
+    }
+
+    private static final class StepResult {
+        final Outcome outcome;
+        final ApiResponse response;
+
+        StepResult(Outcome outcome, ApiResponse response) {
+            this.outcome = outcome;
+            this.response = response;
+        }
+    }
+}
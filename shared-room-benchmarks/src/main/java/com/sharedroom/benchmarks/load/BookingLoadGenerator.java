@@ -0,0 +1,159 @@
+package com.sharedroom.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sharedroom.benchmarks.CommandArgs;
+import com.sharedroom.benchmarks.load.GatewayClient.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 端到端预约压测
+ * 开环发压：按到达速率计算每个流程的计划到达时刻，到点即提交，不等待前一个流程完成；
+ * 执行线程不足时流程在队列中等待，等待时间计入流程耗时。
+ * 运行前需启动 StandInLauncher 及各服务，参数见 README
+ */
+@Slf4j
+public class BookingLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = new LoadOptions(new CommandArgs(args));
+        // HttpURLConnection按主机保持的空闲连接数默认仅5个，调到与执行线程数一致
+        System.setProperty("http.maxConnections", String.valueOf(options.getThreads()));
+
+        GatewayClient client = new GatewayClient(options.getGateway(),
+                options.getConnectTimeoutMs(), options.getReadTimeoutMs());
+        SimpleClientHttpRequestFactory standInFactory = new SimpleClientHttpRequestFactory();
+        standInFactory.setConnectTimeout(options.getConnectTimeoutMs());
+        standInFactory.setReadTimeout(options.getReadTimeoutMs());
+        RestTemplate standInClient = new RestTemplate(standInFactory);
+
+        log.info("压测参数: {}", options);
+        registerUsers(client, options);
+        List<Long> hotSeatIds = findHotSeats(client, options);
+        log.info("热点座位: {}", hotSeatIds);
+
+        StepRecorder recorder = new StepRecorder();
+        BookingFlow flow = new BookingFlow(options, client, standInClient, recorder, hotSeatIds);
+        double elapsedSeconds = drive(options, flow);
+
+        System.out.println();
+        System.out.println("压测参数: " + options);
+        recorder.printSummary(System.out, elapsedSeconds);
+        if (options.getHistogramDir() != null) {
+            recorder.writeHistograms(new File(options.getHistogramDir()));
+            log.info("耗时分布已输出到: {}", options.getHistogramDir());
+        }
+    }
+
+    /**
+     * 按计划到达时刻发起流程，返回计入统计的时长(秒)
+     */
+    private static double drive(LoadOptions options, BookingFlow flow) throws InterruptedException {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(options.getThreads(), options.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "booking-flow-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        boolean poisson = LoadOptions.ARRIVAL_POISSON.equals(options.getArrival());
+        long begin = System.nanoTime();
+        long measureFrom = begin + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+
+        long intended = begin;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intendedStart = intended;
+            boolean measured = intendedStart >= measureFrom;
+            executor.execute(() -> flow.run(intendedStart, measured));
+
+            double interval = poisson
+                    ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+            intended += (long) interval;
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(options.getReadTimeoutMs() * 6L + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            log.warn("仍有流程未完成，放弃等待");
+            executor.shutdownNow();
+        }
+        return (end - measureFrom) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * 注册压测用户，已存在的用户跳过
+     */
+    private static void registerUsers(GatewayClient client, LoadOptions options) {
+        int created = 0;
+        for (int i = 0; i < options.getUsers(); i++) {
+            Map<String, Object> register = new LinkedHashMap<>();
+            register.put("username", BookingFlow.username(options, i));
+            register.put("password", options.getPassword());
+            register.put("phone", String.format("139%08d", i));
+            register.put("email", BookingFlow.username(options, i) + "@load.test");
+            register.put("nickname", BookingFlow.username(options, i));
+            ApiResponse response = client.postJson(BookingFlow.REGISTER_PATH, null, register);
+            if (response.isSuccess()) {
+                created++;
+            } else if (response.isServerError()) {
+                throw new IllegalStateException("注册压测用户失败: " + response.getMessage());
+            }
+        }
+        log.info("压测用户已就绪: total={}, created={}", options.getUsers(), created);
+    }
+
+    /**
+     * 取自习室内靠窗的空闲座位作为热点座位
+     */
+    private static List<Long> findHotSeats(GatewayClient client, LoadOptions options) {
+        List<Long> hotSeatIds = new ArrayList<>();
+        if (options.getHotSeats() <= 0 || options.getHotRatio() == 0) {
+            return hotSeatIds;
+        }
+        Map<String, Object> login = new LinkedHashMap<>();
+        login.put("username", BookingFlow.username(options, 0));
+        login.put("password", options.getPassword());
+        ApiResponse loginResponse = client.postJson(BookingFlow.LOGIN_PATH, null, login);
+        if (!loginResponse.isSuccess()) {
+            throw new IllegalStateException("压测用户登录失败: " + loginResponse.getMessage());
+        }
+
+        Map<String, Object> search = new LinkedHashMap<>();
+        search.put("studyRoomId", options.getStudyRoomId());
+        search.put("isWindow", 1);
+        search.put("status", 1);
+        ApiResponse page = client.postJson(BookingFlow.SEAT_PAGE_PATH + "?current=1&size=" + options.getHotSeats(),
+                loginResponse.getData().path("token").asText(), search);
+        if (!page.isSuccess()) {
+            throw new IllegalStateException("查询热点座位失败: " + page.getMessage());
+        }
+        for (JsonNode seat : page.getData().path("records")) {
+            hotSeatIds.add(seat.path("id").asLong());
+        }
+        if (hotSeatIds.isEmpty()) {
+            log.warn("自习室{}没有空闲的靠窗座位，本次压测不设热点", options.getStudyRoomId());
+        }
+        return hotSeatIds;
+    }
+}
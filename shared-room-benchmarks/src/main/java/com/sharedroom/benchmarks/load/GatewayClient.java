@@ -0,0 +1,138 @@
+package com.sharedroom.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 经网关调用各服务的HTTP客户端
+ * 非2xx响应不抛异常，由调用方按统一返回结果的code区分业务拒绝与服务错误；连接失败、超时等仍以异常抛出
+ */
+public class GatewayClient {
+
+    private static final int CODE_SUCCESS = 200;
+    private static final int CODE_ERROR = 500;
+
+    private final String gateway;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public GatewayClient(String gateway, int connectTimeoutMs, int readTimeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        this.gateway = gateway;
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.restTemplate.setErrorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+
+            @Override
+            public void handleError(ClientHttpResponse response) {
+            }
+        });
+    }
+
+    /**
+     * 提交JSON请求
+     */
+    public ApiResponse postJson(String path, String token, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        ResponseEntity<String> response = restTemplate.exchange(gateway + path, HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+        return parse(response);
+    }
+
+    /**
+     * 提交表单请求，返回原始响应体
+     */
+    public ApiResponse postForm(String path, String token, Map<String, String> form) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        form.forEach(body::add);
+        ResponseEntity<String> response = restTemplate.exchange(gateway + path, HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+        return new ApiResponse(response.getStatusCodeValue(), response.getStatusCodeValue(),
+                response.getBody(), MissingNode.getInstance());
+    }
+
+    private ApiResponse parse(ResponseEntity<String> response) {
+        int status = response.getStatusCodeValue();
+        String body = response.getBody();
+        JsonNode root;
+        try {
+            root = body != null ? objectMapper.readTree(body) : MissingNode.getInstance();
+        } catch (IOException e) {
+            root = MissingNode.getInstance();
+        }
+        // 网关及各服务均返回统一结果{code, message, data}，无法解析时按HTTP状态码处理
+        int code = root.has("code") ? root.get("code").asInt() : status;
+        String message = root.has("message") ? root.get("message").asText() : body;
+        return new ApiResponse(status, code, message, root.path("data"));
+    }
+
+    /**
+     * 接口响应
+     */
+    public static class ApiResponse {
+
+        private final int httpStatus;
+        private final int code;
+        private final String message;
+        private final JsonNode data;
+
+        ApiResponse(int httpStatus, int code, String message, JsonNode data) {
+            this.httpStatus = httpStatus;
+            this.code = code;
+            this.message = message;
+            this.data = data;
+        }
+
+        public boolean isSuccess() {
+            return httpStatus < 300 && code == CODE_SUCCESS;
+        }
+
+        /**
+         * 服务端错误：HTTP 5xx或业务码为500，其余失败视为业务拒绝(座位已被预订、参数错误等)
+         */
+        public boolean isServerError() {
+            return httpStatus >= 500 || code == CODE_ERROR;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public JsonNode getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.sharedroom.benchmarks.load;
+
+import com.sharedroom.benchmarks.CommandArgs;
+import lombok.Getter;
+
+/**
+ * 压测参数
+ */
+@Getter
+public class LoadOptions {
+
+    public static final String ARRIVAL_UNIFORM = "uniform";
+    public static final String ARRIVAL_POISSON = "poisson";
+
+    /**
+     * 网关地址
+     */
+    private final String gateway;
+
+    /**
+     * 支付宝替身地址，用于模拟用户扫码付款并取得签名后的回调参数
+     */
+    private final String alipayStandIn;
+
+    /**
+     * 虚拟用户数，预约流程按到达顺序轮流使用
+     */
+    private final int users;
+
+    private final String userPrefix;
+
+    private final String password;
+
+    /**
+     * 到达速率(次/秒)，按计划时刻发起，不受响应快慢影响
+     */
+    private final double rate;
+
+    /**
+     * 到达间隔分布：uniform 等间隔，poisson 指数分布
+     */
+    private final String arrival;
+
+    private final int durationSeconds;
+
+    /**
+     * 预热时长，期间的流程不计入统计
+     */
+    private final int warmupSeconds;
+
+    /**
+     * 执行流程的线程数，即同时在途的流程上限，超出的到达排队等待并计入流程耗时
+     */
+    private final int threads;
+
+    private final long studyRoomId;
+
+    /**
+     * 热点座位数，取自习室内靠窗的座位
+     */
+    private final int hotSeats;
+
+    /**
+     * 选择热点座位的概率
+     */
+    private final double hotRatio;
+
+    /**
+     * 预约时段在未来多少天内随机分布，避免同一用户的预约互相冲突
+     */
+    private final int bookingDays;
+
+    private final int connectTimeoutMs;
+
+    private final int readTimeoutMs;
+
+    /**
+     * 按步骤输出HdrHistogram完整分布(.hgrm)的目录，为空时不输出
+     */
+    private final String histogramDir;
+
+    public LoadOptions(CommandArgs args) {
+        this.gateway = trimSlash(args.get("gateway", "http://localhost:8080"));
+        this.alipayStandIn = trimSlash(args.get("alipay-standin", "http://localhost:9090"));
+        this.users = args.getInt("users", 200);
+        this.userPrefix = args.get("user-prefix", "load_");
+        this.password = args.get("password", "load123456");
+        this.rate = args.getDouble("rate", 20);
+        this.arrival = args.get("arrival", ARRIVAL_UNIFORM);
+        this.durationSeconds = args.getInt("duration", 60);
+        this.warmupSeconds = args.getInt("warmup", 10);
+        this.threads = args.getInt("threads", 200);
+        this.studyRoomId = args.getLong("study-room", 1L);
+        this.hotSeats = args.getInt("hot-seats", 4);
+        this.hotRatio = args.getDouble("hot-ratio", 0.5);
+        this.bookingDays = args.getInt("booking-days", 7);
+        this.connectTimeoutMs = args.getInt("connect-timeout", 2000);
+        this.readTimeoutMs = args.getInt("read-timeout", 10000);
+        this.histogramDir = args.get("hgrm-dir", null);
+
+        if (rate <= 0 || users <= 0 || threads <= 0 || durationSeconds <= 0) {
+            throw new IllegalArgumentException("rate、users、threads、duration 必须大于0");
+        }
+        if (hotRatio < 0 || hotRatio > 1) {
+            throw new IllegalArgumentException("hot-ratio 取值范围为 0~1");
+        }
+        if (!ARRIVAL_UNIFORM.equals(arrival) && !ARRIVAL_POISSON.equals(arrival)) {
+            throw new IllegalArgumentException("arrival 仅支持 uniform、poisson");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "gateway=" + gateway + ", users=" + users + ", rate=" + rate + "/s(" + arrival + ")"
+                + ", duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s, threads=" + threads
+                + ", studyRoom=" + studyRoomId + ", hotSeats=" + hotSeats + ", hotRatio=" + hotRatio;
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,124 @@
+package com.sharedroom.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按步骤记录耗时分布
+ * 各步骤记录请求自身的耗时；整个流程的耗时从计划到达时刻算起，包含排队等待，
+ * 系统变慢时不会因为压测端跟着放慢而低估尾部延迟
+ */
+public class StepRecorder {
+
+    /**
+     * 可记录的最大耗时(微秒)，超出按最大值记录
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    public enum Step {
+        LOGIN, PAGE, ORDER, PAYMENT, NOTIFY, FLOW
+    }
+
+    public enum Outcome {
+        /**
+         * 成功
+         */
+        OK,
+        /**
+         * 业务拒绝，如座位已被预订、时间冲突
+         */
+        REJECTED,
+        /**
+         * 服务错误或网络异常、超时
+         */
+        ERROR
+    }
+
+    private final Map<Step, StepStats> stats = new EnumMap<>(Step.class);
+
+    public StepRecorder() {
+        for (Step step : Step.values()) {
+            stats.put(step, new StepStats());
+        }
+    }
+
+    public void record(Step step, long startNanos, long endNanos, Outcome outcome) {
+        StepStats stepStats = stats.get(step);
+        long micros = TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos);
+        stepStats.histogram.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+        stepStats.outcomes[outcome.ordinal()].increment();
+    }
+
+    public long count(Step step, Outcome outcome) {
+        return stats.get(step).outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * 输出各步骤的分位数汇总，单位毫秒
+     */
+    public void printSummary(PrintStream out, double elapsedSeconds) {
+        out.printf("%-8s %8s %8s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "step", "count", "ok", "rejected", "error", "mean", "p50", "p90", "p99", "p99.9", "max");
+        for (Step step : Step.values()) {
+            StepStats stepStats = stats.get(step);
+            Histogram histogram = stepStats.histogram.copy();
+            out.printf("%-8s %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    step.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    stepStats.outcomes[Outcome.OK.ordinal()].sum(),
+                    stepStats.outcomes[Outcome.REJECTED.ordinal()].sum(),
+                    stepStats.outcomes[Outcome.ERROR.ordinal()].sum(),
+                    histogram.getMean() / MICROS_PER_MILLI,
+                    millis(histogram, 50),
+                    millis(histogram, 90),
+                    millis(histogram, 99),
+                    millis(histogram, 99.9),
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+        long flows = stats.get(Step.FLOW).histogram.getTotalCount();
+        long booked = count(Step.FLOW, Outcome.OK);
+        out.printf("flows=%d, booked=%d, throughput=%.2f/s, booked throughput=%.2f/s%n",
+                flows, booked, flows / elapsedSeconds, booked / elapsedSeconds);
+    }
+
+    /**
+     * 按步骤输出完整分布，可用HdrHistogram的绘图工具对比多次压测
+     */
+    public void writeHistograms(File dir) throws FileNotFoundException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IllegalStateException("无法创建目录: " + dir);
+        }
+        for (Step step : Step.values()) {
+            try (PrintStream out = new PrintStream(new File(dir, step.name().toLowerCase() + ".hgrm"))) {
+                stats.get(step).histogram.copy().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static final class StepStats {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+
+        StepStats() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sharedroom.benchmarks.seat;
+
+import com.sharedroom.seat.cache.SeatStatusCache;
+import com.sharedroom.seat.service.SeatService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 座位可用性查询基准
+ * index-内存索引命中；cache-hit-索引关闭，Redis状态缓存命中；
+ * cache-miss-索引关闭，每次调用前删除缓存，走数据库回源并回填
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SeatAvailabilityBenchmark {
+
+    private static final String PATH_INDEX = "index";
+    private static final String PATH_CACHE_MISS = "cache-miss";
+
+    @Param({"index", "cache-hit", "cache-miss"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private SeatService seatService;
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private long seatId;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = SeatBenchmarkContext.start("seat.index.enabled=" + PATH_INDEX.equals(path));
+        seatService = context.getBean(SeatService.class);
+        redisTemplate = context.getBean("redisTemplate", RedisTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 每次调用随机选一个座位；未命中场景在计时外删除该座位的状态缓存
+     */
+    @Setup(Level.Invocation)
+    public void pickSeat() {
+        seatId = SeatBenchmarkContext.FIRST_SEAT_ID + ThreadLocalRandom.current().nextInt(SeatBenchmarkContext.SEAT_COUNT);
+        if (PATH_CACHE_MISS.equals(path)) {
+            redisTemplate.delete(SeatStatusCache.SEAT_STATUS_PREFIX + seatId);
+        }
+    }
+
+    @Benchmark
+    public boolean isSeatAvailable() {
+        return seatService.isSeatAvailable(seatId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sharedroom.benchmarks.seat;
+
+import com.sharedroom.seat.SeatApplication;
+import com.sharedroom.seat.config.WebConfig;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * 座位服务基准上下文
+ * 与座位服务使用同一套组件，去掉Web层、注册中心与定时任务；
+ * MySQL由H2(MySQL兼容模式)代替，Redis使用本机实例的独立库，启动时清空
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@MapperScan("com.sharedroom.seat.mapper")
+@ComponentScan(basePackages = "com.sharedroom.seat", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {SeatApplication.class, WebConfig.class}),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.sharedroom\\.seat\\.(controller|interceptor)\\..*")
+})
+public class SeatBenchmarkApplication {
+
+    /**
+     * 先于各索引的启动预热清空基准库，避免上一轮残留的座位状态缓存与排行
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public ApplicationRunner benchmarkRedisReset(RedisConnectionFactory connectionFactory,
+                                                 @Value("${spring.redis.database}") int database) {
+        return args -> {
+            if (database == 0) {
+                throw new IllegalStateException("基准测试不能使用Redis 0号库，请设置 bench.redis.database");
+            }
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.flushDb();
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.sharedroom.benchmarks.seat;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 座位服务基准上下文的启动参数与基准数据约定
+ */
+public final class SeatBenchmarkContext {
+
+    /**
+     * 基准数据：自习室数与每个自习室的座位数，见 benchmark-data.sql
+     */
+    public static final int ROOM_COUNT = 50;
+    public static final int SEATS_PER_ROOM = 100;
+    public static final int SEAT_COUNT = ROOM_COUNT * SEATS_PER_ROOM;
+
+    /**
+     * 座位ID从1开始连续分配，自习室i的座位为 (i-1)*100+1 ~ i*100
+     */
+    public static final long FIRST_SEAT_ID = 1L;
+
+    private SeatBenchmarkContext() {
+    }
+
+    /**
+     * 启动座位服务上下文
+     *
+     * @param properties 覆盖配置，格式为 key=value
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.name=benchmark");
+        // 引导上下文会连接Nacos配置中心，基准环境不需要
+        args.add("--spring.cloud.bootstrap.enabled=false");
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(SeatBenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]));
+    }
+}
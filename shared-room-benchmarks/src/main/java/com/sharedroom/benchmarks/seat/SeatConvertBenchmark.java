@@ -0,0 +1,110 @@
+package com.sharedroom.benchmarks.seat;
+
+import com.sharedroom.seat.convert.SeatConverter;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.vo.SeatVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 座位VO转换基准，结果为每行耗时
+ * beanUtils为改造前的反射拷贝加switch取名称，converter为当前的逐字段赋值加名称表
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SeatConvertBenchmark {
+
+    /**
+     * 与分页查询默认每页条数一致
+     */
+    private static final int ROWS = 20;
+
+    private Seat[] seats;
+
+    @Setup
+    public void setUp() {
+        seats = new Seat[ROWS];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Seat seat = new Seat();
+            seat.setId((long) i + 1);
+            seat.setSeatNumber("S" + (i + 1));
+            seat.setStudyRoomId(1L);
+            seat.setSeatType(i % 3 + 1);
+            seat.setStatus(i % 4);
+            seat.setPrice(new BigDecimal("10.00"));
+            seat.setDescription("基准座位" + i);
+            seat.setLocation("1F-A-" + i);
+            seat.setLayoutRow(i / 10);
+            seat.setLayoutCol(i % 10);
+            seat.setIsWindow(i % 10 == 0 ? 1 : 0);
+            seat.setHasPower(i % 2);
+            seat.setHasLamp(1);
+            seat.setRating(new BigDecimal("4.50"));
+            seat.setReviewCount(i);
+            seat.setCreateTime(now);
+            seat.setUpdateTime(now);
+            seats[i] = seat;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void beanUtils(Blackhole blackhole) {
+        for (Seat seat : seats) {
+            SeatVO vo = new SeatVO();
+            BeanUtils.copyProperties(seat, vo);
+            vo.setSeatTypeName(legacySeatTypeName(seat.getSeatType()));
+            vo.setStatusName(legacySeatStatusName(seat.getStatus()));
+            blackhole.consume(vo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void converter(Blackhole blackhole) {
+        for (Seat seat : seats) {
+            blackhole.consume(SeatConverter.toVO(seat));
+        }
+    }
+
+    private static String legacySeatTypeName(Integer seatType) {
+        if (seatType == null) return "未知";
+        switch (seatType) {
+            case 1: return "普通座位";
+            case 2: return "靠窗座位";
+            case 3: return "VIP座位";
+            default: return "未知";
+        }
+    }
+
+    private static String legacySeatStatusName(Integer status) {
+        if (status == null) return "未知";
+        switch (status) {
+            case 0: return "维护中";
+            case 1: return "可预订";
+            case 2: return "已预订";
+            case 3: return "使用中";
+            default: return "未知";
+        }
+    }
+}
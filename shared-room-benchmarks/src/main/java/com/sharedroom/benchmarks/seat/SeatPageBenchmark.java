@@ -0,0 +1,81 @@
+package com.sharedroom.benchmarks.seat;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.sharedroom.seat.dto.SeatSearchDTO;
+import com.sharedroom.seat.service.SeatService;
+import com.sharedroom.seat.vo.SeatVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 座位分页查询基准
+ * 覆盖getSeatPage的条件拼装、SQL执行(H2内存库)与VO转换，数据库耗时远小于MySQL，
+ * 结果主要反映应用侧的查询构建与转换开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SeatPageBenchmark {
+
+    /**
+     * room-按自习室筛选并按价格排序；filter-多条件筛选；keyword-关键词模糊匹配
+     */
+    @Param({"room", "filter", "keyword"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private SeatService seatService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeatBenchmarkContext.start();
+        seatService = context.getBean(SeatService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<SeatVO> getSeatPage() {
+        long studyRoomId = 1 + ThreadLocalRandom.current().nextInt(SeatBenchmarkContext.ROOM_COUNT);
+        SeatSearchDTO searchDTO = new SeatSearchDTO();
+        searchDTO.setStudyRoomId(studyRoomId);
+        switch (query) {
+            case "filter":
+                searchDTO.setStatus(1);
+                searchDTO.setHasPower(1);
+                searchDTO.setMinPrice(new BigDecimal("9"));
+                searchDTO.setMaxPrice(new BigDecimal("11"));
+                searchDTO.setSortBy("rating");
+                break;
+            case "keyword":
+                searchDTO.setKeyword("1F-3");
+                break;
+            default:
+                searchDTO.setSortBy("price");
+                searchDTO.setSortOrder("asc");
+        }
+        return seatService.getSeatPage(new Page<>(1, 20), searchDTO);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sharedroom.benchmarks.seat;
+
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.seat.service.SeatService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 座位预订竞争基准
+ * 多线程争抢少量热点座位，比较分布式锁、脚本CAS与数据库条件更新三种预订模式的吞吐与延迟分位；
+ * 抢到座位的线程随即释放，失败(座位已被占用或获取锁超时)同样计入一次操作
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+public class SeatReserveBenchmark {
+
+    @Param({"lock", "lua", "db"})
+    public String mode;
+
+    /**
+     * 被争抢的座位数，1为所有线程抢同一个座位
+     */
+    @Param({"1", "16"})
+    public int hotSeats;
+
+    private ConfigurableApplicationContext context;
+    private SeatService seatService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeatBenchmarkContext.start("seat.reserve.mode=" + mode);
+        seatService = context.getBean(SeatService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seatId = SeatBenchmarkContext.FIRST_SEAT_ID + random.nextInt(hotSeats);
+        try {
+            seatService.reserveSeat(seatId, random.nextLong(1, Long.MAX_VALUE));
+        } catch (BusinessException e) {
+            return false;
+        }
+        return seatService.releaseSeat(seatId);
+    }
+}
@@ -0,0 +1,239 @@
+package com.sharedroom.benchmarks.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 支付宝开放平台替身
+ * 网关 /gateway.do 实现预下单(alipay.trade.precreate)与交易查询(alipay.trade.query)，响应按开放平台格式以RSA2签名，
+ * 支付服务配置替身公钥后可照常验签；/standin/pay 模拟用户扫码付款，返回签名后的异步通知参数，由压测端提交给回调接口
+ */
+@Slf4j
+public class AlipayStandIn {
+
+    private static final String METHOD_PRECREATE = "alipay.trade.precreate";
+    private static final String METHOD_QUERY = "alipay.trade.query";
+    private static final String SIGN_ALGORITHM = "SHA256WithRSA";
+    private static final String TRADE_WAIT = "WAIT_BUYER_PAY";
+    private static final String TRADE_SUCCESS = "TRADE_SUCCESS";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PrivateKey privateKey;
+    private final int port;
+
+    /**
+     * 商户订单号 -> 交易
+     */
+    private final Map<String, Trade> trades = new ConcurrentHashMap<>();
+    private final AtomicLong tradeSequence = new AtomicLong();
+
+    private HttpServer server;
+
+    public AlipayStandIn(int port, PrivateKey privateKey) {
+        this.port = port;
+        this.privateKey = privateKey;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/gateway.do", this::handleGateway);
+        server.createContext("/standin/pay", this::handlePay);
+        server.setExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2));
+        server.start();
+        log.info("支付宝替身已启动: http://127.0.0.1:{}/gateway.do", port);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * 开放平台网关：公共参数在查询串中，业务参数biz_content在表单中
+     */
+    @SuppressWarnings("unchecked")
+    private void handleGateway(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseForm(exchange.getRequestURI().getRawQuery());
+        params.putAll(parseForm(readBody(exchange.getRequestBody())));
+        String method = params.get("method");
+        Map<String, Object> bizContent = params.containsKey("biz_content")
+                ? objectMapper.readValue(params.get("biz_content"), Map.class)
+                : Collections.emptyMap();
+        String outTradeNo = (String) bizContent.get("out_trade_no");
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (METHOD_PRECREATE.equals(method)) {
+            Trade trade = trades.computeIfAbsent(outTradeNo,
+                    key -> new Trade(nextTradeNo(), String.valueOf(bizContent.get("total_amount"))));
+            success(response);
+            response.put("out_trade_no", outTradeNo);
+            response.put("qr_code", "https://qr.alipay.com/standin" + trade.tradeNo);
+        } else if (METHOD_QUERY.equals(method)) {
+            Trade trade = outTradeNo != null ? trades.get(outTradeNo) : null;
+            if (trade == null) {
+                response.put("code", "40004");
+                response.put("msg", "Business Failed");
+                response.put("sub_code", "ACQ.TRADE_NOT_EXIST");
+                response.put("sub_msg", "交易不存在");
+            } else {
+                success(response);
+                response.put("trade_no", trade.tradeNo);
+                response.put("out_trade_no", outTradeNo);
+                response.put("trade_status", trade.status);
+                response.put("total_amount", trade.totalAmount);
+            }
+        } else {
+            response.put("code", "40004");
+            response.put("msg", "Business Failed");
+            response.put("sub_code", "ACQ.METHOD_NOT_SUPPORTED");
+            response.put("sub_msg", "替身不支持的接口: " + method);
+        }
+
+        // 客户端截取响应节点的原文验签，签名内容必须与写出的字节完全一致
+        String node = objectMapper.writeValueAsString(response);
+        String root = (method != null ? method.replace('.', '_') : "error") + "_response";
+        String body = "{\"" + root + "\":" + node + ",\"sign\":\"" + sign(node) + "\"}";
+        write(exchange, 200, "application/json;charset=utf-8", body);
+    }
+
+    /**
+     * 模拟用户付款，返回按rsaCheckV1规则签名的异步通知参数
+     */
+    private void handlePay(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseForm(exchange.getRequestURI().getRawQuery());
+        String outTradeNo = query.get("out_trade_no");
+        // 未经预下单的交易同样受理，便于单独压测回调接口
+        Trade trade = trades.computeIfAbsent(outTradeNo, key -> new Trade(nextTradeNo(), query.get("total_amount")));
+        trade.status = TRADE_SUCCESS;
+
+        String now = LocalDateTime.now().format(TIME_FORMAT);
+        Map<String, String> notify = new HashMap<>();
+        notify.put("notify_time", now);
+        notify.put("notify_type", "trade_status_sync");
+        notify.put("notify_id", UUID.randomUUID().toString().replace("-", ""));
+        notify.put("charset", "UTF-8");
+        notify.put("version", "1.0");
+        notify.put("trade_no", trade.tradeNo);
+        notify.put("out_trade_no", outTradeNo);
+        notify.put("trade_status", TRADE_SUCCESS);
+        notify.put("total_amount", query.getOrDefault("total_amount", trade.totalAmount));
+        notify.put("gmt_payment", now);
+        notify.put("sign", sign(signContent(notify)));
+        notify.put("sign_type", "RSA2");
+        write(exchange, 200, "application/json;charset=utf-8", objectMapper.writeValueAsString(notify));
+    }
+
+    private void success(Map<String, Object> response) {
+        response.put("code", "10000");
+        response.put("msg", "Success");
+    }
+
+    private String nextTradeNo() {
+        return LocalDateTime.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + String.format("%012d", tradeSequence.incrementAndGet());
+    }
+
+    /**
+     * 通知参数的待签名内容：除sign、sign_type外按参数名排序，以key=value&拼接
+     */
+    private static String signContent(Map<String, String> params) {
+        List<String> keys = new ArrayList<>(params.keySet());
+        Collections.sort(keys);
+        StringBuilder content = new StringBuilder();
+        for (String key : keys) {
+            if ("sign".equals(key) || "sign_type".equals(key)) {
+                continue;
+            }
+            if (content.length() > 0) {
+                content.append('&');
+            }
+            content.append(key).append('=').append(params.get(key));
+        }
+        return content.toString();
+    }
+
+    private String sign(String content) {
+        try {
+            Signature signature = Signature.getInstance(SIGN_ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(content.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("替身签名失败", e);
+        }
+    }
+
+    private static Map<String, String> parseForm(String form) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return params;
+        }
+        for (String pair : form.split("&")) {
+            int index = pair.indexOf('=');
+            if (index > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, index), "UTF-8"),
+                        URLDecoder.decode(pair.substring(index + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void write(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class Trade {
+        final String tradeNo;
+        final String totalAmount;
+        volatile String status = TRADE_WAIT;
+
+        Trade(String tradeNo, String totalAmount) {
+            this.tradeNo = tradeNo;
+            this.totalAmount = totalAmount;
+        }
+    }
+}
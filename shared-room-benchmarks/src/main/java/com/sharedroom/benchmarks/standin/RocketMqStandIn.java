@@ -0,0 +1,83 @@
+package com.sharedroom.benchmarks.standin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.broker.BrokerController;
+import org.apache.rocketmq.common.BrokerConfig;
+import org.apache.rocketmq.common.namesrv.NamesrvConfig;
+import org.apache.rocketmq.namesrv.NamesrvController;
+import org.apache.rocketmq.remoting.netty.NettyClientConfig;
+import org.apache.rocketmq.remoting.netty.NettyServerConfig;
+import org.apache.rocketmq.store.config.MessageStoreConfig;
+
+import java.io.File;
+
+/**
+ * RocketMQ替身：进程内启动NameServer与单个Broker
+ * 开启自动建主题，各服务无需预先创建主题；存储目录为临时目录，日志文件按较小尺寸预分配
+ */
+@Slf4j
+public class RocketMqStandIn {
+
+    private static final int COMMIT_LOG_FILE_SIZE = 64 * 1024 * 1024;
+    private static final int CONSUME_QUEUE_FILE_SIZE = 300_000 * 20;
+
+    private final int namesrvPort;
+    private final int brokerPort;
+    private final File storeDir;
+
+    private NamesrvController namesrvController;
+    private BrokerController brokerController;
+
+    public RocketMqStandIn(int namesrvPort, int brokerPort, File storeDir) {
+        this.namesrvPort = namesrvPort;
+        this.brokerPort = brokerPort;
+        this.storeDir = storeDir;
+    }
+
+    public void start() throws Exception {
+        NamesrvConfig namesrvConfig = new NamesrvConfig();
+        namesrvConfig.setKvConfigPath(new File(storeDir, "namesrv/kvConfig.json").getPath());
+        namesrvConfig.setConfigStorePath(new File(storeDir, "namesrv/namesrv.properties").getPath());
+        NettyServerConfig namesrvNettyConfig = new NettyServerConfig();
+        namesrvNettyConfig.setListenPort(namesrvPort);
+        namesrvController = new NamesrvController(namesrvConfig, namesrvNettyConfig);
+        if (!namesrvController.initialize()) {
+            throw new IllegalStateException("NameServer初始化失败");
+        }
+        namesrvController.start();
+
+        BrokerConfig brokerConfig = new BrokerConfig();
+        brokerConfig.setBrokerName("standin-broker");
+        brokerConfig.setBrokerIP1("127.0.0.1");
+        brokerConfig.setNamesrvAddr(getNamesrvAddr());
+        brokerConfig.setAutoCreateTopicEnable(true);
+        brokerConfig.setAutoCreateSubscriptionGroup(true);
+        NettyServerConfig brokerNettyConfig = new NettyServerConfig();
+        brokerNettyConfig.setListenPort(brokerPort);
+        MessageStoreConfig storeConfig = new MessageStoreConfig();
+        File brokerStore = new File(storeDir, "broker");
+        storeConfig.setStorePathRootDir(brokerStore.getPath());
+        storeConfig.setStorePathCommitLog(new File(brokerStore, "commitlog").getPath());
+        storeConfig.setMappedFileSizeCommitLog(COMMIT_LOG_FILE_SIZE);
+        storeConfig.setMappedFileSizeConsumeQueue(CONSUME_QUEUE_FILE_SIZE);
+        brokerController = new BrokerController(brokerConfig, brokerNettyConfig, new NettyClientConfig(), storeConfig);
+        if (!brokerController.initialize()) {
+            throw new IllegalStateException("Broker初始化失败");
+        }
+        brokerController.start();
+        log.info("RocketMQ替身已启动: namesrv={}, broker=127.0.0.1:{}, store={}", getNamesrvAddr(), brokerPort, storeDir);
+    }
+
+    public void stop() {
+        if (brokerController != null) {
+            brokerController.shutdown();
+        }
+        if (namesrvController != null) {
+            namesrvController.shutdown();
+        }
+    }
+
+    public String getNamesrvAddr() {
+        return "127.0.0.1:" + namesrvPort;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sharedroom.benchmarks.standin;
+
+import com.sharedroom.benchmarks.CommandArgs;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 启动支付宝与RocketMQ替身，供端到端压测离线运行
+ * 支付宝替身的签名密钥每次启动时重新生成，不落盘；
+ * 启动后输出各服务需覆盖的配置(含本次的公钥)，按提示启动服务即可；Ctrl+C退出
+ */
+@Slf4j
+public class StandInLauncher {
+
+    private static final int KEY_SIZE = 2048;
+
+    public static void main(String[] args) throws Exception {
+        CommandArgs commandArgs = new CommandArgs(args);
+        int alipayPort = commandArgs.getInt("alipay-port", 9090);
+        int namesrvPort = commandArgs.getInt("namesrv-port", 9876);
+        int brokerPort = commandArgs.getInt("broker-port", 10911);
+        File storeDir = commandArgs.has("store-dir")
+                ? new File(commandArgs.get("store-dir", null))
+                : Files.createTempDirectory("shared-room-rocketmq").toFile();
+
+        KeyPair keyPair = generateKeyPair();
+        AlipayStandIn alipay = new AlipayStandIn(alipayPort, keyPair.getPrivate());
+        RocketMqStandIn rocketMq = new RocketMqStandIn(namesrvPort, brokerPort, storeDir);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            alipay.stop();
+            rocketMq.stop();
+            stopped.countDown();
+        }, "standin-shutdown"));
+
+        alipay.start();
+        rocketMq.start();
+
+        System.out.println();
+        System.out.println("替身已就绪，支付服务启动时追加以下参数：");
+        System.out.println("  --payment.alipay.gateway-url=http://127.0.0.1:" + alipayPort + "/gateway.do");
+        System.out.println("  --payment.alipay.public-key=" + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        System.out.println("使用RocketMQ的服务启动时追加：");
+        System.out.println("  --rocketmq.name-server=" + rocketMq.getNamesrvAddr());
+        System.out.println();
+        stopped.await();
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(KEY_SIZE);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,21 @@
+-- 性能基准数据：50个自习室，每个自习室10x10共100个座位，座位ID从1连续分配
+-- 每行第1列靠窗；与 SeatBenchmarkContext 中的常量保持一致
+
+INSERT INTO tb_study_room (id, name, address, city, longitude, latitude, total_seats, available_seats,
+                           status, rating, create_time, update_time, deleted)
+SELECT X, CONCAT('基准自习室', X), CONCAT('基准路', X, '号'), CASE WHEN MOD(X, 2) = 0 THEN '北京' ELSE '上海' END,
+       116.3000000 + X * 0.0010000, 39.9000000 + X * 0.0010000, 100, 100,
+       1, 4.50, NOW(), NOW(), 0
+FROM SYSTEM_RANGE(1, 50);
+
+INSERT INTO seat (id, study_room_id, seat_number, seat_type, status, price, description, location,
+                  layout_row, layout_col, is_window, has_power, has_lamp, rating, review_count,
+                  create_time, update_time, deleted)
+SELECT X, (X - 1) / 100 + 1, CONCAT('S', MOD(X - 1, 100) + 1),
+       CASE WHEN MOD(X - 1, 10) = 0 THEN 2 WHEN MOD(X, 25) = 0 THEN 3 ELSE 1 END,
+       1, 8.00 + MOD(X, 5), CONCAT('基准座位', X), CONCAT('1F-', (MOD(X - 1, 100)) / 10 + 1, '-', MOD(X - 1, 10) + 1),
+       MOD(X - 1, 100) / 10, MOD(X - 1, 10),
+       CASE WHEN MOD(X - 1, 10) = 0 THEN 1 ELSE 0 END, MOD(X, 2), CASE WHEN MOD(X, 3) = 0 THEN 1 ELSE 0 END,
+       3.00 + MOD(X, 20) * 0.10, MOD(X, 50),
+       NOW(), NOW(), 0
+FROM SYSTEM_RANGE(1, 5000);
@@ -0,0 +1,68 @@
+-- 性能基准用表结构(H2 MySQL兼容模式)，与 sql/create-tables.sql 中座位服务的表保持一致
+-- 座位实体映射的表名为seat
+
+CREATE TABLE IF NOT EXISTS tb_study_room (
+  id bigint NOT NULL,
+  name varchar(100) NOT NULL,
+  address varchar(255) NOT NULL,
+  city varchar(50) DEFAULT NULL,
+  longitude decimal(10,7) DEFAULT NULL,
+  latitude decimal(10,7) DEFAULT NULL,
+  phone varchar(20) DEFAULT NULL,
+  open_time time DEFAULT NULL,
+  close_time time DEFAULT NULL,
+  total_seats int NOT NULL DEFAULT 0,
+  available_seats int NOT NULL DEFAULT 0,
+  images text,
+  description text,
+  facilities text,
+  status tinyint NOT NULL DEFAULT 1,
+  rating decimal(3,2) DEFAULT 0.00,
+  create_time timestamp NOT NULL,
+  update_time timestamp NOT NULL,
+  deleted tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS seat (
+  id bigint NOT NULL,
+  study_room_id bigint NOT NULL,
+  seat_number varchar(20) NOT NULL,
+  seat_type tinyint NOT NULL DEFAULT 1,
+  status tinyint NOT NULL DEFAULT 1,
+  price decimal(10,2) NOT NULL DEFAULT 0.00,
+  description text,
+  facilities text,
+  images text,
+  location varchar(100) DEFAULT NULL,
+  layout_row smallint DEFAULT NULL,
+  layout_col smallint DEFAULT NULL,
+  is_window tinyint DEFAULT 0,
+  has_power tinyint DEFAULT 0,
+  has_lamp tinyint DEFAULT 0,
+  rating decimal(3,2) DEFAULT 0.00,
+  review_count int DEFAULT 0,
+  create_time timestamp NOT NULL,
+  update_time timestamp NOT NULL,
+  deleted tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_seat_study_room_id ON seat (study_room_id);
+CREATE INDEX IF NOT EXISTS idx_seat_status ON seat (status);
+CREATE INDEX IF NOT EXISTS idx_seat_price ON seat (price);
+
+CREATE TABLE IF NOT EXISTS tb_seat_reservation (
+  id bigint NOT NULL,
+  seat_id bigint NOT NULL,
+  study_room_id bigint NOT NULL,
+  user_id bigint NOT NULL,
+  start_time timestamp NOT NULL,
+  end_time timestamp NOT NULL,
+  status tinyint NOT NULL DEFAULT 1,
+  create_time timestamp NOT NULL,
+  update_time timestamp NOT NULL,
+  deleted tinyint NOT NULL DEFAULT 0,
+  PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_reservation_seat_time ON tb_seat_reservation (seat_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_reservation_end_time ON tb_seat_reservation (end_time);
@@ -39,6 +39,12 @@ public class StudyRoom implements Serializable {
     @TableField("address")
     private String address;
 
+    /**
+     * 所在城市
+     */
+    @TableField("city")
+    private String city;
+
     /**
      * 经度
      */
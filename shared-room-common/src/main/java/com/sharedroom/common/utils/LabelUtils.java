@@ -0,0 +1,37 @@
+package com.sharedroom.common.utils;
+
+/**
+ * 状态码名称工具类
+ * 状态码为从0开始的小整数，名称表按下标存放，查找为一次数组访问
+ */
+public final class LabelUtils {
+
+    public static final String UNKNOWN = "未知";
+
+    private LabelUtils() {
+    }
+
+    /**
+     * 按状态码取名称
+     *
+     * @param labels       名称表，下标即状态码，未使用的下标填null
+     * @param code         状态码
+     * @param defaultLabel 状态码不在名称表中时的名称
+     * @return 名称，状态码为null时返回"未知"
+     */
+    public static String label(String[] labels, Integer code, String defaultLabel) {
+        if (code == null) {
+            return UNKNOWN;
+        }
+        int index = code;
+        String label = index >= 0 && index < labels.length ? labels[index] : null;
+        return label != null ? label : defaultLabel;
+    }
+
+    /**
+     * 按状态码取名称，未知状态码返回"未知"
+     */
+    public static String label(String[] labels, Integer code) {
+        return label(labels, code, UNKNOWN);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sharedroom.common.utils;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 分页工具类
+ */
+public final class PageUtils {
+
+    private PageUtils() {
+    }
+
+    /**
+     * 转换分页记录，只复制分页参数，不做反射拷贝
+     *
+     * @param source    源分页
+     * @param converter 记录转换函数
+     * @return 目标分页
+     */
+    public static <S, T> Page<T> convert(Page<S> source, Function<S, T> converter) {
+        Page<T> target = new Page<>(source.getCurrent(), source.getSize(), source.getTotal(), source.searchCount());
+        List<S> records = source.getRecords();
+        List<T> converted = new ArrayList<>(records.size());
+        for (S record : records) {
+            converted.add(converter.apply(record));
+        }
+        target.setRecords(converted);
+        return target;
+    }
+}
@@ -37,7 +37,10 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
             "/user/login",
             "/user/register",
             "/user/captcha",
+            "/user/api/user/login",
+            "/user/api/user/register",
             "/payment/callback",
+            "/payment/api/payment/alipay/notify",
             "/actuator",
             "/doc.html",
             "/v2/api-docs",
@@ -45,11 +48,28 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
             "/favicon.ico"
     );
 
+    /**
+     * 仅供服务间调用的路径，经网关访问一律拒绝(含服务发现路由)
+     */
+    private static final List<String> INTERNAL_PATHS = Arrays.asList(
+            "/seat/api/seat/hold",
+            "/shared-room-seat/api/seat/hold",
+            "/seat/api/seat/reserve/batch",
+            "/shared-room-seat/api/seat/reserve/batch",
+            "/seat/api/seat/release/batch",
+            "/shared-room-seat/api/seat/release/batch"
+    );
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
         
+        // 拒绝访问服务间接口
+        if (isInternalPath(path)) {
+            return handleForbidden(exchange);
+        }
+        
         // 检查是否为不需要认证的路径
         if (isExcludePath(path)) {
             return chain.filter(exchange);
@@ -99,6 +119,29 @@ public class AuthGlobalFilter implements GlobalFilter, Ordered {
         return EXCLUDE_PATHS.stream().anyMatch(path::startsWith);
     }
     
+    /**
+     * 检查是否为仅供服务间调用的路径，先合并重复的斜杠并忽略大小写，避免绕过
+     */
+    private boolean isInternalPath(String path) {
+        String normalized = path.replaceAll("/{2,}", "/").toLowerCase();
+        return INTERNAL_PATHS.stream().anyMatch(normalized::startsWith);
+    }
+    
+    /**
+     * 处理禁止访问的请求
+     */
+    private Mono<Void> handleForbidden(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        
+        Result<Void> result = Result.error(ResultCode.FORBIDDEN.getCode(), ResultCode.FORBIDDEN.getMessage());
+        String body = JSON.toJSONString(result);
+        
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+    
     /**
      * 处理未授权请求
      */
@@ -0,0 +1,73 @@
+package com.sharedroom.notification.convert;
+
+import com.sharedroom.common.utils.LabelUtils;
+import com.sharedroom.notification.dto.NotificationDTO;
+import com.sharedroom.notification.entity.Notification;
+import com.sharedroom.notification.vo.NotificationVO;
+
+/**
+ * 通知实体、DTO与VO转换
+ * 逐字段赋值，不经反射拷贝；实体、DTO或VO增删字段时需同步修改
+ */
+public final class NotificationConverter {
+
+    /**
+     * 通知类型名称，下标为通知类型
+     */
+    private static final String[] TYPE_NAMES = {null, "系统通知", "订单通知", "支付通知", "座位通知"};
+
+    private static final String TYPE_OTHER = "其他";
+
+    private NotificationConverter() {
+    }
+
+    /**
+     * 由DTO构建通知实体，已读、推送状态与时间由调用方设置
+     */
+    public static Notification toEntity(NotificationDTO dto) {
+        Notification notification = new Notification();
+        notification.setId(dto.getId());
+        notification.setUserId(dto.getUserId());
+        notification.setUsername(dto.getUsername());
+        notification.setType(dto.getType());
+        notification.setTitle(dto.getTitle());
+        notification.setContent(dto.getContent());
+        notification.setBusinessId(dto.getBusinessId());
+        notification.setBusinessType(dto.getBusinessType());
+        notification.setExtraData(dto.getExtraData());
+        notification.setIsPush(dto.getIsPush());
+        notification.setEmail(dto.getEmail());
+        notification.setPhone(dto.getPhone());
+        return notification;
+    }
+
+    /**
+     * 转换为VO对象
+     */
+    public static NotificationVO toVO(Notification notification) {
+        NotificationVO vo = new NotificationVO();
+        vo.setId(notification.getId());
+        vo.setUserId(notification.getUserId());
+        vo.setUsername(notification.getUsername());
+        vo.setType(notification.getType());
+        vo.setTitle(notification.getTitle());
+        vo.setContent(notification.getContent());
+        vo.setBusinessId(notification.getBusinessId());
+        vo.setBusinessType(notification.getBusinessType());
+        vo.setExtraData(notification.getExtraData());
+        vo.setIsRead(notification.getIsRead());
+        vo.setIsPushed(notification.getIsPushed());
+        vo.setReadTime(notification.getReadTime());
+        vo.setPushTime(notification.getPushTime());
+        vo.setCreateTime(notification.getCreateTime());
+        vo.setUpdateTime(notification.getUpdateTime());
+        return vo;
+    }
+
+    /**
+     * 根据类型代码获取类型名称
+     */
+    public static String typeName(Integer type) {
+        return LabelUtils.label(TYPE_NAMES, type, TYPE_OTHER);
+    }
+}
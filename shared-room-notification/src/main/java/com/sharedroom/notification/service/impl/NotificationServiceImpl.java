@@ -2,9 +2,11 @@ package com.sharedroom.notification.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.sharedroom.common.utils.PageUtils;
 import com.sharedroom.common.utils.UserContext;
 import com.sharedroom.notification.entity.Notification;
 import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.notification.convert.NotificationConverter;
 import com.sharedroom.notification.dto.NotificationDTO;
 import com.sharedroom.notification.handler.WebSocketHandler;
 import com.sharedroom.notification.mapper.NotificationMapper;
@@ -13,7 +15,6 @@ import com.sharedroom.notification.vo.NotificationVO;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
@@ -49,7 +50,7 @@ public class NotificationServiceImpl implements NotificationService {
         notificationMapper.insert(notification);
         
         // 转换为VO
-        NotificationVO notificationVO = convertToVO(notification);
+        NotificationVO notificationVO = NotificationConverter.toVO(notification);
         
         // 异步推送通知
         if (notificationDTO.getImmediate()) {
@@ -85,7 +86,7 @@ public class NotificationServiceImpl implements NotificationService {
         if (notification == null) {
             throw new BusinessException("通知不存在");
         }
-        return convertToVO(notification);
+        return NotificationConverter.toVO(notification);
     }
 
     @Override
@@ -102,7 +103,7 @@ public class NotificationServiceImpl implements NotificationService {
             notificationPage = notificationMapper.selectByUserId(page, userId);
         }
         
-        return convertToVOPage(notificationPage);
+        return PageUtils.convert(notificationPage, NotificationConverter::toVO);
     }
 
     @Override
@@ -233,7 +234,7 @@ public class NotificationServiceImpl implements NotificationService {
         for (Map<String, Object> result : results) {
             Integer type = (Integer) result.get("type");
             Long count = ((Number) result.get("count")).longValue();
-            String typeName = getTypeNameByCode(type);
+            String typeName = NotificationConverter.typeName(type);
             countMap.put(typeName, count);
         }
         
@@ -304,7 +305,7 @@ public class NotificationServiceImpl implements NotificationService {
             
             for (Notification notification : unpushedNotifications) {
                 try {
-                    NotificationVO vo = convertToVO(notification);
+                    NotificationVO vo = NotificationConverter.toVO(notification);
                     boolean success = pushNotificationByWebSocket(notification.getUserId(), vo);
                     
                     if (success) {
@@ -345,7 +346,7 @@ public class NotificationServiceImpl implements NotificationService {
             Long count = ((Number) stat.get("total_count")).longValue();
             Long readCount = ((Number) stat.get("read_count")).longValue();
             
-            String typeName = getTypeNameByCode(type);
+            String typeName = NotificationConverter.typeName(type);
             Map<String, Object> typeStat = new HashMap<>();
             typeStat.put("totalCount", count);
             typeStat.put("readCount", readCount);
@@ -438,57 +439,11 @@ public class NotificationServiceImpl implements NotificationService {
      * 构建通知对象
      */
     private Notification buildNotification(NotificationDTO dto) {
-        Notification notification = new Notification();
-        BeanUtils.copyProperties(dto, notification);
+        Notification notification = NotificationConverter.toEntity(dto);
         notification.setIsRead(false);
         notification.setIsPushed(false);
         notification.setCreateTime(LocalDateTime.now());
         notification.setUpdateTime(LocalDateTime.now());
         return notification;
     }
-
-    /**
-     * 转换为VO对象
-     */
-    private NotificationVO convertToVO(Notification notification) {
-        NotificationVO vo = new NotificationVO();
-        BeanUtils.copyProperties(notification, vo);
-        return vo;
-    }
-
-    /**
-     * 转换为VO分页对象
-     */
-    private Page<NotificationVO> convertToVOPage(Page<Notification> notificationPage) {
-        Page<NotificationVO> voPage = new Page<>();
-        BeanUtils.copyProperties(notificationPage, voPage, "records");
-        
-        List<NotificationVO> voList = notificationPage.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
-        voPage.setRecords(voList);
-        
-        return voPage;
-    }
-
-    /**
-     * 根据类型代码获取类型名称
-     */
-    private String getTypeNameByCode(Integer type) {
-        if (type == null) {
-            return "未知";
-        }
-        switch (type) {
-            case 1:
-                return "系统通知";
-            case 2:
-                return "订单通知";
-            case 3:
-                return "支付通知";
-            case 4:
-                return "座位通知";
-            default:
-                return "其他";
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.sharedroom.order.booking;
+
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.order.vo.SeatBriefVO;
+
+import java.math.BigDecimal;
+
+/**
+ * 订单计价：按座位服务返回的小时价格与预订时长计算金额
+ */
+final class BookingPricing {
+
+    private BookingPricing() {
+    }
+
+    static void apply(Order order, SeatBriefVO seat) {
+        if (seat == null || seat.getPrice() == null) {
+            throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+        }
+        BigDecimal totalAmount = seat.getPrice().multiply(new BigDecimal(order.getDuration()));
+        order.setStudyRoomId(seat.getStudyRoomId());
+        order.setTotalAmount(totalAmount);
+        order.setActualAmount(totalAmount);
+    }
+}
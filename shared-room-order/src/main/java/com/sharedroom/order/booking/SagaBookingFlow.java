@@ -0,0 +1,241 @@
+package com.sharedroom.order.booking;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.Result;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.order.entity.BookingSaga;
+import com.sharedroom.order.expire.OrderExpireScheduler;
+import com.sharedroom.order.feign.SeatFeignClient;
+import com.sharedroom.order.mapper.BookingSagaMapper;
+import com.sharedroom.order.mapper.OrderMapper;
+import com.sharedroom.order.vo.SeatBriefVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saga预订流程(不经过Seata TC与undo_log)
+ * 1. 写入Saga记录(占用中)
+ * 2. Try：座位服务临时占用座位，占用带TTL，到期未确认自动释放
+ * 3. 本地事务写入订单与过期事件，并将Saga推进为待确认
+ * 4. Confirm：确认占用，Saga推进为已确认
+ * 任一步失败或确认未应答时进入补偿：取消占用释放座位、取消已写入的订单。协调状态保存在本地表tb_booking_saga，
+ * 恢复任务定期推进长时间未完成的Saga，Try/Confirm/Cancel在座位服务侧均幂等。
+ * 订单在Saga确认前不可支付，补偿只会取消待支付订单
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaBookingFlow {
+
+    private static final int ERROR_MAX_LENGTH = 500;
+
+    private final OrderMapper orderMapper;
+    private final BookingSagaMapper bookingSagaMapper;
+    private final SeatFeignClient seatFeignClient;
+    private final OrderExpireScheduler orderExpireScheduler;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 座位占用TTL(秒)，需大于一次预订流程的最长耗时
+     */
+    @Value("${order.booking.hold-ttl-seconds:30}")
+    private long holdTtlSeconds;
+
+    /**
+     * Saga超过该时长未推进时由恢复任务接管(秒)，需小于占用TTL
+     */
+    @Value("${order.booking.recover-after-seconds:15}")
+    private long recoverAfterSeconds;
+
+    /**
+     * 每次恢复的Saga数上限
+     */
+    @Value("${order.booking.recover-batch-size:100}")
+    private int recoverBatchSize;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong compensated = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    public Order book(Order order) {
+        // 检查用户是否有冲突订单
+        if (!orderMapper.selectConflictOrders(order.getUserId(), order.getStartTime(), order.getEndTime()).isEmpty()) {
+            throw new BusinessException(ResultCode.ORDER_TIME_CONFLICT);
+        }
+
+        // 1. 记录Saga，订单ID预先生成以便补偿时定位订单
+        order.setId(IdWorker.getId());
+        BookingSaga saga = newSaga(order);
+        bookingSagaMapper.insert(saga);
+        started.incrementAndGet();
+
+        // 2. Try：临时占用座位，同时取回计价所需的座位信息
+        Result<SeatBriefVO> holdResult;
+        try {
+            holdResult = seatFeignClient.holdSeat(order.getSeatId(), saga.getId(), order.getUserId(), holdTtlSeconds);
+        } catch (Exception e) {
+            // 占用结果未知，按已占用补偿
+            compensate(saga, "占用座位失败: " + e.getMessage());
+            throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+        }
+        if (!holdResult.isSuccess() || holdResult.getData() == null) {
+            bookingSagaMapper.compareAndSetStatus(saga.getId(), BookingSaga.STATUS_TRYING,
+                    BookingSaga.STATUS_FAILED, truncate(holdResult.getMessage()));
+            failed.incrementAndGet();
+            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        }
+
+        // 3. 本地事务写入订单与过期事件
+        try {
+            BookingPricing.apply(order, holdResult.getData());
+            transactionTemplate.executeWithoutResult(status -> {
+                orderMapper.insert(order);
+                orderExpireScheduler.scheduleNewOrder(order.getId());
+                if (bookingSagaMapper.compareAndSetStatus(saga.getId(), BookingSaga.STATUS_TRYING,
+                        BookingSaga.STATUS_RESERVED, null) == 0) {
+                    // 已被恢复任务补偿
+                    throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+                }
+            });
+        } catch (RuntimeException e) {
+            compensate(saga, "写入订单失败: " + e.getMessage());
+            throw e;
+        }
+
+        // 4. Confirm：确认占用，未得到确认应答时同步补偿，不向用户返回未确认的订单
+        Boolean held = confirm(saga);
+        if (held == null) {
+            compensate(saga, "确认座位占用未应答");
+        }
+        if (!Boolean.TRUE.equals(held)) {
+            throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+        }
+        return order;
+    }
+
+    /**
+     * 确认占用
+     *
+     * @return true-已确认 false-占用已失效并已补偿 null-调用失败待重试
+     */
+    private Boolean confirm(BookingSaga saga) {
+        Result<Boolean> result;
+        try {
+            result = seatFeignClient.confirmSeatHold(saga.getSeatId(), saga.getId(), saga.getUserId());
+        } catch (Exception e) {
+            log.warn("确认座位占用失败，等待恢复任务重试: sagaId={}, error={}", saga.getId(), e.getMessage());
+            return null;
+        }
+        if (!result.isSuccess()) {
+            log.warn("确认座位占用失败，等待恢复任务重试: sagaId={}, error={}", saga.getId(), result.getMessage());
+            return null;
+        }
+        if (Boolean.TRUE.equals(result.getData())) {
+            if (bookingSagaMapper.compareAndSetStatus(saga.getId(), BookingSaga.STATUS_RESERVED,
+                    BookingSaga.STATUS_CONFIRMED, null) > 0) {
+                confirmed.incrementAndGet();
+            }
+            return true;
+        }
+        compensate(saga, "座位占用已到期");
+        return false;
+    }
+
+    /**
+     * 补偿：取消占用并释放座位，取消已写入的订单；座位服务调用失败时保持补偿中，由恢复任务重试
+     */
+    private void compensate(BookingSaga saga, String reason) {
+        if (bookingSagaMapper.markCompensating(saga.getId(), truncate(reason)) == 0) {
+            return;
+        }
+        try {
+            Result<Boolean> result = seatFeignClient.cancelSeatHold(saga.getSeatId(), saga.getId(), saga.getUserId());
+            if (!result.isSuccess()) {
+                log.warn("取消座位占用失败，等待恢复任务重试: sagaId={}, error={}", saga.getId(), result.getMessage());
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("取消座位占用失败，等待恢复任务重试: sagaId={}, error={}", saga.getId(), e.getMessage());
+            return;
+        }
+        orderMapper.cancelExpiredOrders(Collections.singletonList(saga.getOrderId()), "座位占用失效");
+        if (bookingSagaMapper.compareAndSetStatus(saga.getId(), BookingSaga.STATUS_COMPENSATING,
+                BookingSaga.STATUS_COMPENSATED, truncate(reason)) > 0) {
+            compensated.incrementAndGet();
+            log.info("预订Saga已补偿: sagaId={}, orderId={}, reason={}", saga.getId(), saga.getOrderId(), reason);
+        }
+    }
+
+    /**
+     * 恢复长时间未推进的Saga：占用中的直接补偿，待确认的重试确认，补偿中的重试补偿
+     */
+    @Scheduled(fixedDelayString = "${order.booking.recover-interval:5000}")
+    public void recover() {
+        List<BookingSaga> stale;
+        try {
+            stale = bookingSagaMapper.selectStale(LocalDateTime.now().minusSeconds(recoverAfterSeconds), recoverBatchSize);
+        } catch (Exception e) {
+            log.warn("查询待恢复的预订Saga失败: {}", e.getMessage());
+            return;
+        }
+        for (BookingSaga saga : stale) {
+            bookingSagaMapper.incrementRetry(saga.getId());
+            recovered.incrementAndGet();
+            if (saga.getStatus() == BookingSaga.STATUS_RESERVED) {
+                confirm(saga);
+            } else {
+                compensate(saga, saga.getLastError() != null ? saga.getLastError() : "预订超时");
+            }
+        }
+    }
+
+    /**
+     * Saga执行与恢复统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("started", started.get());
+        stats.put("confirmed", confirmed.get());
+        stats.put("failed", failed.get());
+        stats.put("compensated", compensated.get());
+        stats.put("recovered", recovered.get());
+        return stats;
+    }
+
+    private BookingSaga newSaga(Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingSaga saga = new BookingSaga();
+        saga.setId(IdWorker.getId());
+        saga.setOrderId(order.getId());
+        saga.setUserId(order.getUserId());
+        saga.setSeatId(order.getSeatId());
+        saga.setStatus(BookingSaga.STATUS_TRYING);
+        saga.setHoldExpireTime(now.plusSeconds(holdTtlSeconds));
+        saga.setRetryCount(0);
+        saga.setCreateTime(now);
+        saga.setUpdateTime(now);
+        return saga;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MAX_LENGTH) {
+            return message;
+        }
+        return message.substring(0, ERROR_MAX_LENGTH);
+    }
+}
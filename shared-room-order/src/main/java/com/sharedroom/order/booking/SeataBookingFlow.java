@@ -0,0 +1,114 @@
+package com.sharedroom.order.booking;
+
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.Result;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.order.expire.OrderExpireScheduler;
+import com.sharedroom.order.feign.SeatFeignClient;
+import com.sharedroom.order.mapper.OrderMapper;
+import com.sharedroom.order.vo.SeatBriefVO;
+import io.seata.spring.annotation.GlobalTransactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Seata AT全局事务预订流程
+ * 锁定座位与写入订单处于同一全局事务，失败时由TC回滚并释放座位；订单与过期事件在同一本地事务中提交
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeataBookingFlow {
+
+    private final OrderMapper orderMapper;
+    private final SeatFeignClient seatFeignClient;
+    private final OrderExpireScheduler orderExpireScheduler;
+
+    /**
+     * 是否按时段预订座位(开启后由座位服务校验座位与用户的时段冲突)
+     */
+    @Value("${order.seat-slot-mode:false}")
+    private boolean seatSlotMode;
+
+    @GlobalTransactional(rollbackFor = Exception.class)
+    @Transactional(rollbackFor = Exception.class)
+    public Order book(Order order) {
+        // 1. 锁定座位
+        SeatBriefVO seat = reserveSeat(order);
+
+        try {
+            // 2. 按座位价格计价并创建订单
+            BookingPricing.apply(order, seat != null ? seat : describeSeat(order.getSeatId()));
+            orderMapper.insert(order);
+
+            // 3. 过期事件写入发件箱，与订单同事务提交
+            orderExpireScheduler.scheduleNewOrder(order.getId());
+            return order;
+        } catch (Exception e) {
+            // 如果订单创建失败，释放座位
+            releaseSeat(order);
+            throw e;
+        }
+    }
+
+    /**
+     * 锁定座位
+     * 时段模式下只占用[startTime, endTime)，座位与用户的时段冲突由座位服务校验；
+     * 否则沿用整座预订，先校验用户冲突订单，预订与座位信息查询合并为一次调用
+     *
+     * @return 座位信息，时段模式下为空
+     */
+    private SeatBriefVO reserveSeat(Order order) {
+        if (seatSlotMode) {
+            Result<Boolean> slotResult = seatFeignClient.reserveSeatSlot(order.getSeatId(),
+                    order.getStartTime(), order.getEndTime(), order.getUserId());
+            if (!slotResult.isSuccess()) {
+                // 透传座位服务的冲突原因(座位时段冲突/用户时段冲突)
+                throw new BusinessException(slotResult.getCode(), slotResult.getMessage());
+            }
+            if (!Boolean.TRUE.equals(slotResult.getData())) {
+                throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+            }
+            return null;
+        }
+
+        // 检查用户是否有冲突订单
+        if (!orderMapper.selectConflictOrders(order.getUserId(), order.getStartTime(), order.getEndTime()).isEmpty()) {
+            throw new BusinessException(ResultCode.ORDER_TIME_CONFLICT);
+        }
+
+        // 预订座位，座位服务在预订时校验可用性
+        Result<SeatBriefVO> reserveResult = seatFeignClient.reserveSeatAndDescribe(order.getSeatId(), order.getUserId());
+        if (!reserveResult.isSuccess()) {
+            // 透传座位服务的失败原因(座位不可用/预订失败)
+            throw new BusinessException(reserveResult.getCode(), reserveResult.getMessage());
+        }
+        if (reserveResult.getData() == null) {
+            throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+        }
+        return reserveResult.getData();
+    }
+
+    /**
+     * 时段模式下单独查询座位信息用于计价
+     */
+    private SeatBriefVO describeSeat(Long seatId) {
+        Result<SeatBriefVO> seatResult = seatFeignClient.getSeatById(seatId);
+        if (!seatResult.isSuccess() || seatResult.getData() == null) {
+            throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+        }
+        return seatResult.getData();
+    }
+
+    private void releaseSeat(Order order) {
+        if (seatSlotMode) {
+            seatFeignClient.releaseSeatSlot(order.getSeatId(), order.getStartTime(), order.getEndTime());
+        } else {
+            seatFeignClient.releaseSeat(order.getSeatId());
+        }
+    }
+}
@@ -21,7 +21,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**")
                 .excludePathPatterns(
                         "/api/orders/statistics",     // 统计接口
+                        "/api/orders/booking/stats",  // 预订流程统计
+                        "/api/orders/outbox/stats",   // 发件箱统计
                         "/api/orders/handle-expired", // 定时任务接口
+                        "/api/orders/handle-expired/stats", // 清扫统计
                         "/actuator/**",               // 监控端点
                         "/error"                      // 错误页面
                 );
@@ -15,6 +15,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 订单控制器
@@ -158,12 +159,35 @@ public class OrderController {
         return Result.success(statistics);
     }
 
+    /**
+     * 预订流程统计(Seata/Saga对比压测)
+     */
+    @GetMapping("/booking/stats")
+    public Result<Map<String, Object>> getBookingStats() {
+        return Result.success(orderService.getBookingStats());
+    }
+
+    /**
+     * 发件箱中转统计
+     */
+    @GetMapping("/outbox/stats")
+    public Result<Map<String, Object>> getOutboxStats() {
+        return Result.success(orderService.getOutboxStats());
+    }
+
     /**
      * 处理过期订单（定时任务调用）
      */
     @PostMapping("/handle-expired")
-    public Result<Void> handleExpiredOrders() {
-        orderService.handleExpiredOrders();
-        return Result.success();
+    public Result<Map<String, Object>> handleExpiredOrders() {
+        return Result.success(orderService.handleExpiredOrders());
+    }
+
+    /**
+     * 超时订单清扫统计
+     */
+    @GetMapping("/handle-expired/stats")
+    public Result<Map<String, Object>> getExpireSweepStats() {
+        return Result.success(orderService.getExpireSweepStats());
     }
 }
\ No newline at end of file
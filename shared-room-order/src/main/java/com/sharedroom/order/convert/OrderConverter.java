@@ -0,0 +1,79 @@
+package com.sharedroom.order.convert;
+
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.common.utils.LabelUtils;
+import com.sharedroom.order.vo.OrderVO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 订单实体与VO转换
+ * 逐字段赋值，不经反射拷贝；实体或VO增删字段时需同步修改
+ */
+public final class OrderConverter {
+
+    private static final int STATUS_PENDING_PAYMENT = 1;
+    private static final int STATUS_PAID = 2;
+
+    /**
+     * 订单状态名称，下标为订单状态
+     */
+    private static final String[] ORDER_STATUS_NAMES = {null, "待支付", "已支付", "使用中", "已完成", "已取消", "已退款"};
+
+    private OrderConverter() {
+    }
+
+    /**
+     * 转换为VO对象
+     *
+     * @param order         订单
+     * @param expireMinutes 待支付订单的支付时限(分钟)
+     * @param now           当前时间，列表转换时取一次即可
+     */
+    public static OrderVO toVO(Order order, int expireMinutes, LocalDateTime now) {
+        OrderVO vo = new OrderVO();
+        vo.setId(order.getId());
+        vo.setOrderNo(order.getOrderNo());
+        vo.setUserId(order.getUserId());
+        vo.setSeatId(order.getSeatId());
+        vo.setStudyRoomId(order.getStudyRoomId());
+        vo.setStartTime(order.getStartTime());
+        vo.setEndTime(order.getEndTime());
+        vo.setDuration(order.getDuration());
+        vo.setTotalAmount(order.getTotalAmount());
+        vo.setActualAmount(order.getActualAmount());
+        vo.setStatus(order.getStatus());
+        vo.setPayTime(order.getPayTime());
+        vo.setPayTransactionId(order.getPayNo());
+        vo.setCancelReason(order.getCancelReason());
+        vo.setCancelTime(order.getCancelTime());
+        vo.setRemark(order.getRemark());
+        vo.setCreateTime(order.getCreateTime());
+        vo.setUpdateTime(order.getUpdateTime());
+
+        // 设置状态名称
+        Integer status = order.getStatus();
+        vo.setStatusName(orderStatusName(status));
+
+        // 设置操作权限
+        boolean pending = status != null && status == STATUS_PENDING_PAYMENT;
+        boolean paid = status != null && status == STATUS_PAID;
+        vo.setCanCancel(pending || paid);
+        vo.setCanRefund(paid);
+
+        // 计算剩余支付时间
+        if (pending && order.getCreateTime() != null) {
+            LocalDateTime expireTime = order.getCreateTime().plusMinutes(expireMinutes);
+            vo.setRemainingPayTime(Math.max(0, Duration.between(now, expireTime).toMinutes()));
+        }
+        return vo;
+    }
+
+    /**
+     * 获取订单状态名称
+     */
+    public static String orderStatusName(Integer status) {
+        return LabelUtils.label(ORDER_STATUS_NAMES, status);
+    }
+}
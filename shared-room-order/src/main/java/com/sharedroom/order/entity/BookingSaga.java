@@ -0,0 +1,77 @@
+package com.sharedroom.order.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 订单预订Saga实体类
+ */
+@Data
+@TableName("tb_booking_saga")
+public class BookingSaga implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int STATUS_TRYING = 1;
+    public static final int STATUS_RESERVED = 2;
+    public static final int STATUS_CONFIRMED = 3;
+    public static final int STATUS_COMPENSATING = 4;
+    public static final int STATUS_COMPENSATED = 5;
+    public static final int STATUS_FAILED = 6;
+
+    /**
+     * SagaID，同时作为座位占用ID
+     */
+    @TableId(value = "id", type = IdType.INPUT)
+    private Long id;
+
+    /**
+     * 订单ID
+     */
+    private Long orderId;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 座位ID
+     */
+    private Long seatId;
+
+    /**
+     * 状态 1-占用中 2-已占用待确认 3-已确认 4-补偿中 5-已补偿 6-占用失败
+     */
+    private Integer status;
+
+    /**
+     * 座位占用到期时间
+     */
+    private LocalDateTime holdExpireTime;
+
+    /**
+     * 恢复任务重试次数
+     */
+    private Integer retryCount;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String lastError;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
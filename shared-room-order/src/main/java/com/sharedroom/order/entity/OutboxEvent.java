@@ -0,0 +1,83 @@
+package com.sharedroom.order.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 发件箱事件实体类
+ */
+@Data
+@TableName("tb_outbox_event")
+public class OutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int STATUS_PENDING = 0;
+    public static final int STATUS_SENT = 1;
+
+    /**
+     * 事件ID
+     */
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 目标主题
+     */
+    private String topic;
+
+    /**
+     * 业务键(如订单ID)，用于排查
+     */
+    private String bizKey;
+
+    /**
+     * 消息体(JSON)
+     */
+    private String payload;
+
+    /**
+     * 最早投递时间(毫秒时间戳)，为空表示立即投递
+     */
+    private Long deliverAt;
+
+    /**
+     * 状态 0-待发送 1-已发送
+     */
+    private Integer status;
+
+    /**
+     * 发送失败次数
+     */
+    private Integer retryCount;
+
+    /**
+     * 下次可发送时间
+     */
+    private LocalDateTime nextRetryTime;
+
+    /**
+     * 认领标识，多实例中转时区分批次
+     */
+    private String claimToken;
+
+    /**
+     * 认领到期时间，到期未标记发送的事件可被重新认领
+     */
+    private LocalDateTime claimExpireTime;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 发送时间
+     */
+    private LocalDateTime sentTime;
+}
@@ -0,0 +1,28 @@
+package com.sharedroom.order.expire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 订单过期延时消息
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExpireMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 订单ID
+     */
+    private Long orderId;
+
+    /**
+     * 到期时间(毫秒时间戳)
+     */
+    private Long expireAt;
+}
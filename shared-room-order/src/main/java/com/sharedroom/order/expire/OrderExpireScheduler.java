@@ -0,0 +1,65 @@
+package com.sharedroom.order.expire;
+
+import com.sharedroom.order.outbox.DelayLevels;
+import com.sharedroom.order.outbox.OrderOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.core.RocketMQTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 订单过期调度
+ * 基于RocketMQ延时等级投递：每次选取不超过剩余时长的最大等级，消息到达后若仍未到期则按剩余时长再次投递，
+ * 15分钟的订单依次经过10m、5m等级，到期误差在1秒以内。延时消息由Broker持久化，服务重启不丢失；
+ * 消费者为集群模式，多实例下每条消息只由一个实例处理
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderExpireScheduler {
+
+    public static final String TOPIC = "order-expire-topic";
+
+    private final RocketMQTemplate rocketMQTemplate;
+    private final DelayLevels delayLevels;
+    private final OrderOutbox orderOutbox;
+
+    @Value("${order.expire-minutes:15}")
+    private int expireMinutes;
+
+    @Value("${rocketmq.producer.send-message-timeout:3000}")
+    private long sendTimeout;
+
+    /**
+     * 安排新建订单按过期时长过期
+     * 过期消息写入发件箱，需与订单在同一本地事务中调用，由发件箱中转任务按到期时间选择延时等级投递
+     */
+    public void scheduleNewOrder(Long orderId) {
+        long expireAt = System.currentTimeMillis() + expireMinutes * 60_000L;
+        orderOutbox.append(TOPIC, orderId, new OrderExpireMessage(orderId, expireAt), expireAt);
+    }
+
+    /**
+     * 安排订单在指定时间过期
+     */
+    public void schedule(Long orderId, long expireAt) {
+        long remaining = expireAt - System.currentTimeMillis();
+        int level = delayLevels.levelFor(remaining);
+        OrderExpireMessage message = new OrderExpireMessage(orderId, expireAt);
+        if (level > 0) {
+            rocketMQTemplate.syncSend(TOPIC, MessageBuilder.withPayload(message).build(), sendTimeout, level);
+        } else {
+            rocketMQTemplate.syncSend(TOPIC, message);
+        }
+        log.debug("订单过期消息已投递: orderId={}, remaining={}ms, delayLevel={}", orderId, remaining, level);
+    }
+
+    /**
+     * 是否已到期，剩余时长不足最小延时等级时视为到期
+     */
+    public boolean isDue(OrderExpireMessage message) {
+        return delayLevels.levelAt(message.getExpireAt()) == 0;
+    }
+}
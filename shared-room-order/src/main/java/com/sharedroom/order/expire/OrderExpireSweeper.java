@@ -0,0 +1,166 @@
+package com.sharedroom.order.expire;
+
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.order.mapper.OrderMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 超时订单兜底清扫
+ * 按主键游标分块处理：每块在独立的短事务中锁定并以一条UPDATE批量取消，同一事务写入座位释放请求，
+ * 提交后由座位释放消费者批量释放座位，远程调用不占用数据库行锁，释放失败可重试。
+ * 单次运行有订单数上限，块间停顿，同一实例不并发运行
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderExpireSweeper {
+
+    private static final String CANCEL_REASON = "订单超时未支付";
+
+    private final OrderMapper orderMapper;
+    private final SeatReleaser seatReleaser;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.expire-minutes:15}")
+    private int expireMinutes;
+
+    /**
+     * 每块订单数
+     */
+    @Value("${order.expire-sweep.chunk-size:200}")
+    private int chunkSize;
+
+    /**
+     * 单次运行最多取消的订单数，剩余订单留给下次运行
+     */
+    @Value("${order.expire-sweep.max-orders-per-run:5000}")
+    private int maxOrdersPerRun;
+
+    /**
+     * 块间停顿(毫秒)
+     */
+    @Value("${order.expire-sweep.chunk-pause-ms:50}")
+    private long chunkPauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalScanned = new AtomicLong();
+    private final AtomicLong totalExpired = new AtomicLong();
+
+
+    private volatile Map<String, Object> lastRun = Collections.emptyMap();
+
+    /**
+     * 执行一次清扫
+     *
+     * @return 本次运行的统计
+     */
+    public Map<String, Object> sweep() {
+        if (!running.compareAndSet(false, true)) {
+            Map<String, Object> skipped = new LinkedHashMap<>();
+            skipped.put("skipped", true);
+            return skipped;
+        }
+        try {
+            Map<String, Object> report = doSweep();
+            lastRun = report;
+            runs.incrementAndGet();
+            log.info("超时订单清扫完成: {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> doSweep() {
+        long start = System.currentTimeMillis();
+        LocalDateTime expireTime = LocalDateTime.now().minusMinutes(expireMinutes);
+        long lastId = 0L;
+        int chunks = 0;
+        int scanned = 0;
+        int expired = 0;
+        boolean truncated = false;
+
+        while (true) {
+            if (expired >= maxOrdersPerRun) {
+                truncated = true;
+                break;
+            }
+            long cursor = lastId;
+            int limit = Math.min(chunkSize, maxOrdersPerRun - expired);
+            List<Order> chunk = new ArrayList<>();
+            Integer cancelled = transactionTemplate.execute(status -> {
+                chunk.addAll(orderMapper.selectExpiredChunkForUpdate(expireTime, cursor, limit));
+                if (chunk.isEmpty()) {
+                    return 0;
+                }
+                List<Long> orderIds = new ArrayList<>(chunk.size());
+                for (Order order : chunk) {
+                    orderIds.add(order.getId());
+                }
+                int count = orderMapper.cancelExpiredOrders(orderIds, CANCEL_REASON);
+                // 座位释放请求与取消同事务提交，行锁保证块内订单均由本事务取消
+                seatReleaser.append(orderIds);
+                return count;
+            });
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunks++;
+            scanned += chunk.size();
+            expired += cancelled == null ? 0 : cancelled;
+            lastId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < limit) {
+                break;
+            }
+            pause(chunkPauseMillis);
+        }
+
+        totalScanned.addAndGet(scanned);
+        totalExpired.addAndGet(expired);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("chunks", chunks);
+        report.put("scanned", scanned);
+        report.put("expired", expired);
+        report.put("truncated", truncated);
+        report.put("totalMillis", System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 累计统计与最近一次运行结果
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("totalScanned", totalScanned.get());
+        stats.put("totalExpired", totalExpired.get());
+        stats.put("seatRelease", seatReleaser.getStats());
+        stats.put("lastRun", lastRun);
+        return stats;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sharedroom.order.expire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 座位释放消息，记录一批已取消订单待释放的座位
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReleaseMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 已取消的订单ID
+     */
+    private List<Long> orderIds;
+}
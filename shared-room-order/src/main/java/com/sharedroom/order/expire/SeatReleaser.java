@@ -0,0 +1,107 @@
+package com.sharedroom.order.expire;
+
+import com.sharedroom.common.entity.Order;
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.Result;
+import com.sharedroom.order.feign.SeatFeignClient;
+import com.sharedroom.order.mapper.OrderMapper;
+import com.sharedroom.order.outbox.OrderOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已取消订单的座位释放
+ * 释放请求与取消订单在同一本地事务中写入发件箱，事务提交后由消费者调用座位服务；
+ * 调用异常或座位服务返回失败时抛出异常由RocketMQ重新投递，座位不会因一次释放失败而一直处于已预订
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatReleaser {
+
+    public static final String TOPIC = "order-seat-release-topic";
+    public static final int BATCH_SIZE = 100; // 单条消息的订单数上限，与座位服务批量释放上限一致
+
+    private final OrderMapper orderMapper;
+    private final SeatFeignClient seatFeignClient;
+    private final OrderOutbox orderOutbox;
+
+    @Value("${order.seat-slot-mode:false}")
+    private boolean seatSlotMode;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * 写入座位释放请求，需在取消订单的本地事务中调用
+     */
+    public void append(List<Long> orderIds) {
+        for (int from = 0; from < orderIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = new ArrayList<>(orderIds.subList(from, Math.min(from + BATCH_SIZE, orderIds.size())));
+            orderOutbox.append(TOPIC, batch.get(0), new SeatReleaseMessage(batch), null);
+            requested.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * 释放订单占用的座位，任一座位释放失败时抛出异常，整批重试
+     *
+     * @return 实际释放的座位数
+     */
+    public int release(List<Long> orderIds) {
+        List<Order> orders = orderMapper.selectSeatsByIds(orderIds);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            if (seatSlotMode) {
+                // 时段预订需按订单时段逐个释放
+                for (Order order : orders) {
+                    Result<Boolean> result = seatFeignClient.releaseSeatSlot(order.getSeatId(),
+                            order.getStartTime(), order.getEndTime());
+                    if (!result.isSuccess()) {
+                        throw new BusinessException(result.getCode(), result.getMessage());
+                    }
+                    count++;
+                }
+            } else {
+                List<Long> seatIds = new ArrayList<>(orders.size());
+                for (Order order : orders) {
+                    seatIds.add(order.getSeatId());
+                }
+                Result<Integer> result = seatFeignClient.releaseSeats(seatIds);
+                if (!result.isSuccess()) {
+                    throw new BusinessException(result.getCode(), result.getMessage());
+                }
+                count = result.getData() == null ? 0 : result.getData();
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.error("释放已取消订单的座位失败，等待重试: orderIds={}", orderIds, e);
+            throw e;
+        }
+        released.addAndGet(count);
+        return count;
+    }
+
+    /**
+     * 释放请求数、释放成功数与失败次数
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requested", requested.get());
+        stats.put("released", released.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+}
@@ -1,10 +1,17 @@
 package com.sharedroom.order.feign;
 
 import com.sharedroom.common.result.Result;
+import com.sharedroom.order.vo.SeatBriefVO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 座位服务Feign客户端
@@ -24,6 +31,12 @@ public interface SeatFeignClient {
     @PostMapping("/reserve/{seatId}")
     Result<Boolean> reserveSeat(@PathVariable("seatId") Long seatId);
 
+    /**
+     * 预订座位并返回计价所需的座位信息
+     */
+    @PostMapping("/reserve/{seatId}/describe")
+    Result<SeatBriefVO> reserveSeatAndDescribe(@PathVariable("seatId") Long seatId, @RequestParam("userId") Long userId);
+
     /**
      * 释放座位
      */
@@ -31,8 +44,62 @@ public interface SeatFeignClient {
     Result<Boolean> releaseSeat(@PathVariable("seatId") Long seatId);
 
     /**
-     * 获取座位详情
+     * 批量预订座位，全部成功或全部失败
+     */
+    @PostMapping("/reserve/batch")
+    Result<Boolean> reserveSeats(@RequestBody List<Long> seatIds, @RequestParam("userId") Long userId);
+
+    /**
+     * 批量释放座位，返回实际释放的座位数
+     */
+    @PostMapping("/release/batch")
+    Result<Integer> releaseSeats(@RequestBody List<Long> seatIds);
+
+    /**
+     * 按时段预订座位
+     */
+    @PostMapping("/slot/reserve/{seatId}")
+    Result<Boolean> reserveSeatSlot(@PathVariable("seatId") Long seatId,
+                                    @RequestParam("startTime") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                    @RequestParam("endTime") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+                                    @RequestParam("userId") Long userId);
+
+    /**
+     * 释放座位时段
+     */
+    @PostMapping("/slot/release/{seatId}")
+    Result<Boolean> releaseSeatSlot(@PathVariable("seatId") Long seatId,
+                                    @RequestParam("startTime") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                    @RequestParam("endTime") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime);
+
+    /**
+     * 临时占用座位并返回计价所需的座位信息，到期未确认由座位服务自动释放，TTL受座位服务上限约束
+     */
+    @PostMapping("/hold/{seatId}")
+    Result<SeatBriefVO> holdSeat(@PathVariable("seatId") Long seatId,
+                                 @RequestParam("holdId") Long holdId,
+                                 @RequestParam("userId") Long userId,
+                                 @RequestParam("ttlSeconds") long ttlSeconds);
+
+    /**
+     * 确认座位占用，返回false表示占用已到期释放
+     */
+    @PostMapping("/hold/{seatId}/confirm")
+    Result<Boolean> confirmSeatHold(@PathVariable("seatId") Long seatId,
+                                    @RequestParam("holdId") Long holdId,
+                                    @RequestParam("userId") Long userId);
+
+    /**
+     * 取消座位占用并释放座位
+     */
+    @PostMapping("/hold/{seatId}/cancel")
+    Result<Boolean> cancelSeatHold(@PathVariable("seatId") Long seatId,
+                                   @RequestParam("holdId") Long holdId,
+                                   @RequestParam("userId") Long userId);
+
+    /**
+     * 获取座位详情(按简要信息读取)
      */
     @GetMapping("/{seatId}")
-    Result<Object> getSeatById(@PathVariable("seatId") Long seatId);
+    Result<SeatBriefVO> getSeatById(@PathVariable("seatId") Long seatId);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.sharedroom.order.listener;
 
+import com.sharedroom.order.expire.OrderExpireMessage;
+import com.sharedroom.order.expire.OrderExpireScheduler;
 import com.sharedroom.order.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,31 +11,35 @@ import org.springframework.stereotype.Component;
 
 /**
  * 订单过期消息监听器
+ * 只处理消息对应的单个订单；未到期的消息按剩余时长重新投递
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 @RocketMQMessageListener(
-        topic = "order-expire-topic",
+        topic = OrderExpireScheduler.TOPIC,
         consumerGroup = "order-expire-consumer-group"
 )
-public class OrderExpireListener implements RocketMQListener<Long> {
+public class OrderExpireListener implements RocketMQListener<OrderExpireMessage> {
 
     private final OrderService orderService;
+    private final OrderExpireScheduler orderExpireScheduler;
 
     @Override
-    public void onMessage(Long orderId) {
+    public void onMessage(OrderExpireMessage message) {
+        Long orderId = message.getOrderId();
+        if (!orderExpireScheduler.isDue(message)) {
+            orderExpireScheduler.schedule(orderId, message.getExpireAt());
+            return;
+        }
+
+        log.info("收到订单过期消息: orderId={}", orderId);
         try {
-            log.info("收到订单过期消息: orderId={}", orderId);
-            
-            // 检查订单状态并处理过期订单
-            // 这里可以添加更精确的过期处理逻辑
-            orderService.handleExpiredOrders();
-            
-            log.info("订单过期处理完成: orderId={}", orderId);
+            orderService.expireOrder(orderId);
         } catch (Exception e) {
             log.error("处理订单过期消息失败: orderId={}", orderId, e);
-            // 这里可以添加重试逻辑或者发送到死信队列
+            // 抛出异常由RocketMQ按重试策略重新投递，超过重试次数进入死信队列
+            throw e;
         }
     }
-}
\ No newline at end of file
+}
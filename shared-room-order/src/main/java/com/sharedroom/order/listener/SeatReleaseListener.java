@@ -0,0 +1,34 @@
+package com.sharedroom.order.listener;
+
+import com.sharedroom.order.expire.SeatReleaseMessage;
+import com.sharedroom.order.expire.SeatReleaser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 座位释放消息监听器
+ * 释放失败时抛出异常由RocketMQ按重试策略重新投递，超过重试次数进入死信队列
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@RocketMQMessageListener(
+        topic = SeatReleaser.TOPIC,
+        consumerGroup = "order-seat-release-consumer-group"
+)
+public class SeatReleaseListener implements RocketMQListener<SeatReleaseMessage> {
+
+    private final SeatReleaser seatReleaser;
+
+    @Override
+    public void onMessage(SeatReleaseMessage message) {
+        if (message.getOrderIds() == null || message.getOrderIds().isEmpty()) {
+            return;
+        }
+        int released = seatReleaser.release(message.getOrderIds());
+        log.debug("已取消订单的座位已释放: orders={}, released={}", message.getOrderIds().size(), released);
+    }
+}
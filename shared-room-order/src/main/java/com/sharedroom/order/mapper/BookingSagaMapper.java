@@ -0,0 +1,48 @@
+package com.sharedroom.order.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sharedroom.order.entity.BookingSaga;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单预订Saga Mapper接口
+ */
+@Mapper
+public interface BookingSagaMapper extends BaseMapper<BookingSaga> {
+
+    /**
+     * 按预期状态推进Saga状态，受影响行数为0表示已被其他线程或实例推进
+     */
+    @Update("UPDATE tb_booking_saga SET status = #{status}, last_error = #{lastError}, update_time = NOW() " +
+            "WHERE id = #{id} AND status = #{expectStatus}")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expectStatus") int expectStatus,
+                            @Param("status") int status,
+                            @Param("lastError") String lastError);
+
+    /**
+     * 进入补偿，已确认的Saga不再补偿
+     */
+    @Update("UPDATE tb_booking_saga SET status = 4, last_error = #{lastError}, update_time = NOW() " +
+            "WHERE id = #{id} AND status IN (1, 2, 4)")
+    int markCompensating(@Param("id") Long id, @Param("lastError") String lastError);
+
+    /**
+     * 记录恢复任务的一次重试
+     */
+    @Update("UPDATE tb_booking_saga SET retry_count = retry_count + 1, update_time = NOW() WHERE id = #{id}")
+    int incrementRetry(@Param("id") Long id);
+
+    /**
+     * 查询长时间未推进的Saga(占用中、待确认、补偿中)
+     */
+    @Select("SELECT * FROM tb_booking_saga WHERE status IN (1, 2, 4) AND update_time < #{before} " +
+            "ORDER BY update_time LIMIT #{limit}")
+    List<BookingSaga> selectStale(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -40,6 +40,42 @@ public interface OrderMapper extends BaseMapper<Order> {
     @Select("SELECT * FROM `order` WHERE status = 1 AND create_time < #{expireTime} AND deleted = 0")
     List<Order> selectExpiredOrders(@Param("expireTime") LocalDateTime expireTime);
 
+    /**
+     * 按主键游标分块读取并锁定超时未支付的订单，只取释放座位所需的列
+     */
+    @Select("SELECT id, seat_id, start_time, end_time FROM `order` " +
+            "WHERE status = 1 AND create_time < #{expireTime} AND id > #{lastId} AND deleted = 0 " +
+            "ORDER BY id LIMIT #{limit} FOR UPDATE")
+    List<Order> selectExpiredChunkForUpdate(@Param("expireTime") LocalDateTime expireTime,
+                                            @Param("lastId") Long lastId,
+                                            @Param("limit") int limit);
+
+    /**
+     * 批量取消已锁定的超时订单
+     */
+    @Update("<script>UPDATE `order` SET status = 5, cancel_reason = #{cancelReason}, cancel_time = NOW(), update_time = NOW() " +
+            "WHERE status = 1 AND deleted = 0 AND id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int cancelExpiredOrders(@Param("orderIds") List<Long> orderIds, @Param("cancelReason") String cancelReason);
+
+    /**
+     * 查询订单占用的座位与时段，用于释放座位
+     */
+    @Select("<script>SELECT id, seat_id, start_time, end_time FROM `order` WHERE id IN " +
+            "<foreach collection='orderIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Order> selectSeatsByIds(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * 取消单个超时未支付的订单，仅在订单仍待支付且已到期时生效，重复执行不会重复取消
+     */
+    @Update("UPDATE `order` SET status = 5, cancel_reason = #{cancelReason}, cancel_time = NOW(), update_time = NOW() " +
+            "WHERE id = #{orderId} AND status = 1 AND create_time < #{expireTime} AND deleted = 0")
+    int expireOrder(@Param("orderId") Long orderId,
+                    @Param("expireTime") LocalDateTime expireTime,
+                    @Param("cancelReason") String cancelReason);
+
     /**
      * 更新订单状态
      */
@@ -58,6 +94,20 @@ public interface OrderMapper extends BaseMapper<Order> {
                          @Param("payTime") LocalDateTime payTime,
                          @Param("payTransactionId") String payTransactionId);
 
+    /**
+     * 支付待支付订单，Saga预订的订单需占用已确认才能支付，未确认的占用可能到期释放或被补偿；
+     * 支付流水号写入pay_no，支付服务据此识别重复回调
+     */
+    @Update("UPDATE `order` SET status = 2, " +
+            "pay_type = CASE #{payMethod} WHEN 'alipay' THEN 1 WHEN 'wechat' THEN 2 WHEN 'balance' THEN 3 ELSE pay_type END, " +
+            "pay_time = #{payTime}, pay_no = #{payTransactionId}, update_time = NOW() " +
+            "WHERE id = #{orderId} AND status = 1 AND deleted = 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM tb_booking_saga WHERE order_id = #{orderId} AND status <> 3)")
+    int payPendingOrder(@Param("orderId") Long orderId,
+                        @Param("payMethod") String payMethod,
+                        @Param("payTime") LocalDateTime payTime,
+                        @Param("payTransactionId") String payTransactionId);
+
     /**
      * 根据订单号查询订单
      */
@@ -0,0 +1,66 @@
+package com.sharedroom.order.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sharedroom.order.entity.OutboxEvent;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 发件箱事件Mapper接口
+ */
+@Mapper
+public interface OutboxEventMapper extends BaseMapper<OutboxEvent> {
+
+    /**
+     * 认领一批可发送的事件，认领到期前其他实例不会重复认领
+     */
+    @Update("UPDATE tb_outbox_event SET claim_token = #{claimToken}, claim_expire_time = #{claimExpireTime} " +
+            "WHERE status = 0 AND next_retry_time <= NOW() " +
+            "AND (claim_expire_time IS NULL OR claim_expire_time < NOW()) " +
+            "ORDER BY id LIMIT #{limit}")
+    int claim(@Param("claimToken") String claimToken,
+              @Param("claimExpireTime") LocalDateTime claimExpireTime,
+              @Param("limit") int limit);
+
+    /**
+     * 查询本批认领的事件
+     */
+    @Select("SELECT * FROM tb_outbox_event WHERE claim_token = #{claimToken} AND status = 0 ORDER BY id")
+    List<OutboxEvent> selectClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * 批量标记已发送
+     */
+    @Update("<script>UPDATE tb_outbox_event SET status = 1, sent_time = NOW(), claim_token = NULL, claim_expire_time = NULL " +
+            "WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markSent(@Param("ids") List<Long> ids);
+
+    /**
+     * 批量记录发送失败并推迟下次发送
+     */
+    @Update("<script>UPDATE tb_outbox_event SET retry_count = retry_count + 1, next_retry_time = #{nextRetryTime}, " +
+            "claim_token = NULL, claim_expire_time = NULL WHERE id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int markFailed(@Param("ids") List<Long> ids, @Param("nextRetryTime") LocalDateTime nextRetryTime);
+
+    /**
+     * 删除早于指定时间发送的事件
+     */
+    @Delete("DELETE FROM tb_outbox_event WHERE status = 1 AND sent_time < #{before} LIMIT #{limit}")
+    int deleteSent(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 待发送事件数
+     */
+    @Select("SELECT COUNT(*) FROM tb_outbox_event WHERE status = 0")
+    long countPending();
+}
@@ -0,0 +1,65 @@
+package com.sharedroom.order.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * RocketMQ延时等级表
+ * 按剩余时长选取不超过它的最大等级，需与broker配置messageDelayLevel一致
+ */
+@Component
+public class DelayLevels {
+
+    @Value("${order.expire-delay-levels:1s 5s 10s 30s 1m 2m 3m 4m 5m 6m 7m 8m 9m 10m 20m 30m 1h 2h}")
+    private String delayLevels;
+
+    /**
+     * 各延时等级对应的毫秒数，下标+1即等级
+     */
+    private long[] levelMillis;
+
+    @PostConstruct
+    public void init() {
+        String[] levels = delayLevels.trim().split("\\s+");
+        levelMillis = new long[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            levelMillis[i] = parseMillis(levels[i]);
+        }
+    }
+
+    /**
+     * 不超过剩余时长的最大延时等级，0表示无需延时
+     */
+    public int levelFor(long remainingMillis) {
+        int level = 0;
+        for (int i = 0; i < levelMillis.length && levelMillis[i] <= remainingMillis; i++) {
+            level = i + 1;
+        }
+        return level;
+    }
+
+    /**
+     * 在指定时间投递所需的延时等级
+     */
+    public int levelAt(long deliverAtMillis) {
+        return levelFor(deliverAtMillis - System.currentTimeMillis());
+    }
+
+    private static long parseMillis(String level) {
+        long value = Long.parseLong(level.substring(0, level.length() - 1));
+        switch (level.charAt(level.length() - 1)) {
+            case 's':
+                return value * 1000L;
+            case 'm':
+                return value * 60_000L;
+            case 'h':
+                return value * 3_600_000L;
+            case 'd':
+                return value * 86_400_000L;
+            default:
+                throw new IllegalArgumentException("无效的延时等级: " + level);
+        }
+    }
+}
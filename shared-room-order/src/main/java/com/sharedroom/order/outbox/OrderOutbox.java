@@ -0,0 +1,202 @@
+package com.sharedroom.order.outbox;
+
+import com.alibaba.fastjson.JSON;
+import com.sharedroom.order.entity.OutboxEvent;
+import com.sharedroom.order.mapper.OutboxEventMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.client.producer.SendCallback;
+import org.apache.rocketmq.client.producer.SendResult;
+import org.apache.rocketmq.spring.core.RocketMQTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 订单事件发件箱
+ * 事件与订单在同一本地事务中写入tb_outbox_event，请求线程不再等待Broker；
+ * 中转任务按批认领待发送事件，异步并发发送后按批标记已发送，失败的按次数退避重发。
+ * 认领带租约，实例宕机后其认领的事件在租约到期后由其他实例重发，投递语义为至少一次，消费者需幂等
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    private final OutboxEventMapper outboxEventMapper;
+    private final RocketMQTemplate rocketMQTemplate;
+    private final DelayLevels delayLevels;
+
+    /**
+     * 每批认领的事件数
+     */
+    @Value("${order.outbox.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 认领租约(秒)，需大于一批事件的发送耗时
+     */
+    @Value("${order.outbox.claim-seconds:30}")
+    private long claimSeconds;
+
+    /**
+     * 已发送事件的保留时长(小时)
+     */
+    @Value("${order.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${rocketmq.producer.send-message-timeout:3000}")
+    private long sendTimeout;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastRelayMillis;
+
+    /**
+     * 写入待发送事件，需在业务数据所在的本地事务中调用
+     *
+     * @param deliverAt 最早投递时间(毫秒时间戳)，为空表示立即投递
+     */
+    public void append(String topic, Object bizKey, Object payload, Long deliverAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setTopic(topic);
+        event.setBizKey(String.valueOf(bizKey));
+        event.setPayload(JSON.toJSONString(payload));
+        event.setDeliverAt(deliverAt);
+        event.setStatus(OutboxEvent.STATUS_PENDING);
+        event.setRetryCount(0);
+        LocalDateTime now = LocalDateTime.now();
+        event.setNextRetryTime(now);
+        event.setCreateTime(now);
+        outboxEventMapper.insert(event);
+        appended.incrementAndGet();
+    }
+
+    /**
+     * 中转待发送事件，取满一批时继续下一批
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval:200}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed >= batchSize);
+        } catch (Exception e) {
+            log.error("发件箱中转失败", e);
+        }
+    }
+
+    /**
+     * 认领并发送一批事件
+     *
+     * @return 本批事件数
+     */
+    private int relayBatch() throws InterruptedException {
+        String claimToken = UUID.randomUUID().toString();
+        if (outboxEventMapper.claim(claimToken, LocalDateTime.now().plusSeconds(claimSeconds), batchSize) == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventMapper.selectClaimed(claimToken);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        Queue<Long> sentIds = new ConcurrentLinkedQueue<>();
+        Queue<OutboxEvent> failedEvents = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(events.size());
+        for (OutboxEvent event : events) {
+            int delayLevel = event.getDeliverAt() == null ? 0 : delayLevels.levelAt(event.getDeliverAt());
+            try {
+                rocketMQTemplate.asyncSend(event.getTopic(), MessageBuilder.withPayload(event.getPayload()).build(),
+                        new SendCallback() {
+                            @Override
+                            public void onSuccess(SendResult sendResult) {
+                                sentIds.add(event.getId());
+                                latch.countDown();
+                            }
+
+                            @Override
+                            public void onException(Throwable e) {
+                                log.warn("发件箱事件发送失败: id={}, topic={}, error={}", event.getId(), event.getTopic(), e.getMessage());
+                                failedEvents.add(event);
+                                latch.countDown();
+                            }
+                        }, sendTimeout, delayLevel);
+            } catch (Exception e) {
+                log.warn("发件箱事件发送失败: id={}, topic={}, error={}", event.getId(), event.getTopic(), e.getMessage());
+                failedEvents.add(event);
+                latch.countDown();
+            }
+        }
+        // 超时未回调的事件不做标记，租约到期后重新认领
+        latch.await(sendTimeout * 2, TimeUnit.MILLISECONDS);
+
+        if (!sentIds.isEmpty()) {
+            outboxEventMapper.markSent(new ArrayList<>(sentIds));
+            published.addAndGet(sentIds.size());
+        }
+        if (!failedEvents.isEmpty()) {
+            List<Long> ids = new ArrayList<>(failedEvents.size());
+            int maxRetry = 0;
+            for (OutboxEvent event : failedEvents) {
+                ids.add(event.getId());
+                maxRetry = Math.max(maxRetry, event.getRetryCount());
+            }
+            long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(maxRetry, 16));
+            outboxEventMapper.markFailed(ids, LocalDateTime.now().plusSeconds(backoff));
+            failed.addAndGet(ids.size());
+        }
+        batches.incrementAndGet();
+        lastRelayMillis = System.currentTimeMillis() - start;
+        return events.size();
+    }
+
+    /**
+     * 清理过期的已发送事件
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.cleanup-interval:600000}")
+    public void cleanup() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+            int deleted;
+            do {
+                deleted = outboxEventMapper.deleteSent(before, 1000);
+            } while (deleted >= 1000);
+        } catch (Exception e) {
+            log.warn("清理已发送的发件箱事件失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 写入、发送、失败次数与积压数
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("appended", appended.get());
+        stats.put("published", published.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        stats.put("lastRelayMillis", lastRelayMillis);
+        stats.put("pending", outboxEventMapper.countPending());
+        return stats;
+    }
+}
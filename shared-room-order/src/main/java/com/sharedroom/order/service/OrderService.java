@@ -7,6 +7,7 @@ import com.sharedroom.order.dto.CreateOrderDTO;
 import com.sharedroom.order.vo.OrderVO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 订单服务接口
@@ -59,9 +60,31 @@ public interface OrderService extends IService<Order> {
     List<OrderVO> getUserOrders(Long userId, Integer status);
 
     /**
-     * 处理超时未支付的订单
+     * 分块清扫超时未支付的订单
+     *
+     * @return 本次清扫的统计
      */
-    void handleExpiredOrders();
+    Map<String, Object> handleExpiredOrders();
+
+    /**
+     * 超时订单清扫的累计统计
+     */
+    Map<String, Object> getExpireSweepStats();
+
+    /**
+     * 当前预订流程与Saga统计
+     */
+    Map<String, Object> getBookingStats();
+
+    /**
+     * 发件箱中转统计
+     */
+    Map<String, Object> getOutboxStats();
+
+    /**
+     * 处理单个订单的超时，未到期时按剩余时长重新安排
+     */
+    void expireOrder(Long orderId);
 
     /**
      * 检查用户在指定时间段是否有冲突订单
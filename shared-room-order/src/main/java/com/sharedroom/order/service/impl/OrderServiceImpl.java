@@ -5,27 +5,35 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sharedroom.common.entity.Order;
 import com.sharedroom.common.exception.BusinessException;
-import com.sharedroom.common.result.Result;
 import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.common.utils.PageUtils;
 import com.sharedroom.common.utils.UserContext;
+import com.sharedroom.order.booking.SagaBookingFlow;
+import com.sharedroom.order.booking.SeataBookingFlow;
+import com.sharedroom.order.convert.OrderConverter;
 import com.sharedroom.order.dto.CreateOrderDTO;
+import com.sharedroom.order.expire.OrderExpireScheduler;
+import com.sharedroom.order.expire.OrderExpireSweeper;
+import com.sharedroom.order.expire.SeatReleaser;
 import com.sharedroom.order.feign.SeatFeignClient;
 import com.sharedroom.order.mapper.OrderMapper;
+import com.sharedroom.order.outbox.OrderOutbox;
 import com.sharedroom.order.service.OrderService;
 import com.sharedroom.order.vo.OrderVO;
-import io.seata.spring.annotation.GlobalTransactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.rocketmq.spring.core.RocketMQTemplate;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -38,12 +46,29 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
 
     private final OrderMapper orderMapper;
     private final SeatFeignClient seatFeignClient;
-    private final RocketMQTemplate rocketMQTemplate;
+    private final OrderExpireScheduler orderExpireScheduler;
+    private final OrderExpireSweeper orderExpireSweeper;
+    private final SeatReleaser seatReleaser;
+    private final SeataBookingFlow seataBookingFlow;
+    private final SagaBookingFlow sagaBookingFlow;
+    private final OrderOutbox orderOutbox;
 
     private static final int ORDER_EXPIRE_MINUTES = 15; // 订单过期时间15分钟
+    private static final String BOOKING_MODE_SAGA = "saga";
+
+    /**
+     * 是否按时段预订座位(开启后由座位服务校验座位与用户的时段冲突)
+     */
+    @Value("${order.seat-slot-mode:false}")
+    private boolean seatSlotMode;
+
+    /**
+     * 预订流程 seata-Seata AT全局事务 saga-本地Saga表协调的座位临时占用
+     */
+    @Value("${order.booking-mode:seata}")
+    private String bookingMode;
 
     @Override
-    @GlobalTransactional(rollbackFor = Exception.class)
     public OrderVO createOrder(CreateOrderDTO createOrderDTO) {
         Long userId = UserContext.getUserId();
         if (userId == null) {
@@ -53,38 +78,16 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         // 1. 验证时间参数
         validateOrderTime(createOrderDTO);
 
-        // 2. 检查用户是否有冲突订单
-        if (hasConflictOrder(userId, createOrderDTO.getStartTime(), createOrderDTO.getEndTime())) {
-            throw new BusinessException(ResultCode.ORDER_TIME_CONFLICT);
-        }
-
-        // 3. 检查座位是否可用
-        Result<Boolean> seatResult = seatFeignClient.checkSeatAvailable(createOrderDTO.getSeatId());
-        if (!seatResult.isSuccess() || !Boolean.TRUE.equals(seatResult.getData())) {
-            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        // 2. 锁定座位并创建订单，时段预订固定走Seata流程
+        Order order = buildOrder(createOrderDTO, userId);
+        if (BOOKING_MODE_SAGA.equals(bookingMode) && !seatSlotMode) {
+            sagaBookingFlow.book(order);
+        } else {
+            seataBookingFlow.book(order);
         }
 
-        // 4. 预订座位
-        Result<Boolean> reserveResult = seatFeignClient.reserveSeat(createOrderDTO.getSeatId());
-        if (!reserveResult.isSuccess() || !Boolean.TRUE.equals(reserveResult.getData())) {
-            throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
-        }
-
-        try {
-            // 5. 创建订单
-            Order order = buildOrder(createOrderDTO, userId);
-            this.save(order);
-
-            // 6. 发送延时消息，处理订单超时
-            sendOrderExpireMessage(order.getId());
-
-            log.info("订单创建成功: orderId={}, userId={}, seatId={}", order.getId(), userId, createOrderDTO.getSeatId());
-            return convertToVO(order);
-        } catch (Exception e) {
-            // 如果订单创建失败，释放座位
-            seatFeignClient.releaseSeat(createOrderDTO.getSeatId());
-            throw e;
-        }
+        log.info("订单创建成功: orderId={}, userId={}, seatId={}, mode={}", order.getId(), userId, createOrderDTO.getSeatId(), bookingMode);
+        return convertToVO(order);
     }
 
     @Override
@@ -115,7 +118,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         boolean updated = this.updateById(order);
         if (updated) {
             // 释放座位
-            seatFeignClient.releaseSeat(order.getSeatId());
+            releaseSeat(order);
             log.info("订单取消成功: orderId={}, userId={}", orderId, userId);
         }
         
@@ -140,14 +143,14 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             throw new BusinessException(ResultCode.ORDER_EXPIRED);
         }
 
-        // 更新支付信息
-        int updated = orderMapper.updatePaymentInfo(orderId, 2, payMethod, LocalDateTime.now(), payTransactionId);
-        if (updated > 0) {
-            log.info("订单支付成功: orderId={}, payMethod={}", orderId, payMethod);
-            return true;
+        // 更新支付信息，条件更新保证订单仍待支付且座位占用已确认
+        int updated = orderMapper.payPendingOrder(orderId, payMethod, LocalDateTime.now(), payTransactionId);
+        if (updated == 0) {
+            // 订单已被取消、过期，或Saga占用未确认(补偿中)，由支付服务退款
+            throw new BusinessException(ResultCode.ORDER_STATUS_ERROR);
         }
-        
-        return false;
+        log.info("订单支付成功: orderId={}, payMethod={}", orderId, payMethod);
+        return true;
     }
 
     @Override
@@ -167,7 +170,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         boolean updated = orderMapper.updateOrderStatus(orderId, 4) > 0;
         if (updated) {
             // 释放座位
-            seatFeignClient.releaseSeat(order.getSeatId());
+            releaseSeat(order);
             log.info("订单完成: orderId={}", orderId);
         }
         
@@ -191,7 +194,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         boolean updated = orderMapper.updateOrderStatus(orderId, 6) > 0;
         if (updated) {
             // 释放座位
-            seatFeignClient.releaseSeat(order.getSeatId());
+            releaseSeat(order);
             log.info("订单退款成功: orderId={}, refundReason={}", orderId, refundReason);
         }
         
@@ -231,14 +234,8 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         Page<Order> orderPage = this.page(page, wrapper);
         
         // 转换为VO
-        Page<OrderVO> voPage = new Page<>();
-        BeanUtils.copyProperties(orderPage, voPage);
-        List<OrderVO> voList = orderPage.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
-        voPage.setRecords(voList);
-        
-        return voPage;
+        LocalDateTime now = LocalDateTime.now();
+        return PageUtils.convert(orderPage, order -> OrderConverter.toVO(order, ORDER_EXPIRE_MINUTES, now));
     }
 
     @Override
@@ -249,27 +246,57 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
                 .orderByDesc(Order::getCreateTime);
         
         List<Order> orders = this.list(wrapper);
-        return orders.stream().map(this::convertToVO).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        return orders.stream()
+                .map(order -> OrderConverter.toVO(order, ORDER_EXPIRE_MINUTES, now))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<String, Object> handleExpiredOrders() {
+        return orderExpireSweeper.sweep();
+    }
+
+    @Override
+    public Map<String, Object> getExpireSweepStats() {
+        return orderExpireSweeper.getStats();
+    }
+
+    @Override
+    public Map<String, Object> getBookingStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", BOOKING_MODE_SAGA.equals(bookingMode) && !seatSlotMode ? BOOKING_MODE_SAGA : "seata");
+        stats.put("saga", sagaBookingFlow.getStats());
+        return stats;
+    }
+
+    @Override
+    public Map<String, Object> getOutboxStats() {
+        return orderOutbox.getStats();
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public void handleExpiredOrders() {
-        LocalDateTime expireTime = LocalDateTime.now().minusMinutes(ORDER_EXPIRE_MINUTES);
-        List<Order> expiredOrders = orderMapper.selectExpiredOrders(expireTime);
-        
-        for (Order order : expiredOrders) {
-            // 取消过期订单
-            order.setStatus(5); // 已取消
-            order.setCancelReason("订单超时未支付");
-            order.setCancelTime(LocalDateTime.now());
-            order.setUpdateTime(LocalDateTime.now());
-            this.updateById(order);
-            
-            // 释放座位
-            seatFeignClient.releaseSeat(order.getSeatId());
-            
-            log.info("处理过期订单: orderId={}", order.getId());
+    public void expireOrder(Long orderId) {
+        Order order = this.getById(orderId);
+        if (order == null || order.getStatus() != 1) {
+            // 订单已支付、已取消或创建事务已回滚
+            return;
+        }
+
+        // 以订单创建时间为准，消息提前到达时按剩余时长重新安排
+        LocalDateTime dueTime = order.getCreateTime().plusMinutes(ORDER_EXPIRE_MINUTES);
+        LocalDateTime now = LocalDateTime.now();
+        if (dueTime.isAfter(now)) {
+            orderExpireScheduler.schedule(orderId, dueTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            return;
+        }
+
+        // 条件更新保证与支付、取消及重复投递并发时只取消一次；
+        // 座位释放与取消在同一事务中写入发件箱，提交后异步释放，失败时由消息重投重试
+        if (orderMapper.expireOrder(orderId, now.minusMinutes(ORDER_EXPIRE_MINUTES), "订单超时未支付") > 0) {
+            seatReleaser.append(Collections.singletonList(orderId));
+            log.info("处理过期订单: orderId={}", orderId);
         }
     }
 
@@ -332,6 +359,21 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         createOrderDTO.setDuration((int) hours);
     }
 
+    /**
+     * 释放订单占用的座位
+     */
+    private void releaseSeat(Order order) {
+        releaseSeat(order.getSeatId(), order.getStartTime(), order.getEndTime());
+    }
+
+    private void releaseSeat(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (seatSlotMode) {
+            seatFeignClient.releaseSeatSlot(seatId, startTime, endTime);
+        } else {
+            seatFeignClient.releaseSeat(seatId);
+        }
+    }
+
     /**
      * 构建订单对象
      */
@@ -345,14 +387,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         order.setDuration(createOrderDTO.getDuration());
         order.setStatus(1); // 待支付
         order.setRemark(createOrderDTO.getRemark());
-        
-        // 这里应该根据座位价格计算订单金额
-        // 暂时设置固定价格
-        BigDecimal hourlyPrice = new BigDecimal("10.00");
-        BigDecimal totalAmount = hourlyPrice.multiply(new BigDecimal(createOrderDTO.getDuration()));
-        order.setTotalAmount(totalAmount);
-        order.setActualAmount(totalAmount);
-        
+        // 订单金额与自习室在预订座位后按座位服务返回的价格计算
         return order;
     }
 
@@ -371,55 +406,10 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         return order.getCreateTime().plusMinutes(ORDER_EXPIRE_MINUTES).isBefore(LocalDateTime.now());
     }
 
-    /**
-     * 发送订单过期消息
-     */
-    private void sendOrderExpireMessage(Long orderId) {
-        try {
-            // 发送延时消息，15分钟后处理订单过期
-            rocketMQTemplate.syncSend("order-expire-topic", orderId);
-        } catch (Exception e) {
-            log.error("发送订单过期消息失败: orderId={}", orderId, e);
-        }
-    }
-
     /**
      * 转换为VO对象
      */
     private OrderVO convertToVO(Order order) {
-        OrderVO vo = new OrderVO();
-        BeanUtils.copyProperties(order, vo);
-        
-        // 设置状态名称
-        vo.setStatusName(getOrderStatusName(order.getStatus()));
-        
-        // 设置操作权限
-        vo.setCanCancel(order.getStatus() == 1 || order.getStatus() == 2);
-        vo.setCanRefund(order.getStatus() == 2);
-        
-        // 计算剩余支付时间
-        if (order.getStatus() == 1) {
-            LocalDateTime expireTime = order.getCreateTime().plusMinutes(ORDER_EXPIRE_MINUTES);
-            Duration remaining = Duration.between(LocalDateTime.now(), expireTime);
-            vo.setRemainingPayTime(Math.max(0, remaining.toMinutes()));
-        }
-        
-        return vo;
-    }
-
-    /**
-     * 获取订单状态名称
-     */
-    private String getOrderStatusName(Integer status) {
-        if (status == null) return "未知";
-        switch (status) {
-            case 1: return "待支付";
-            case 2: return "已支付";
-            case 3: return "使用中";
-            case 4: return "已完成";
-            case 5: return "已取消";
-            case 6: return "已退款";
-            default: return "未知";
-        }
+        return OrderConverter.toVO(order, ORDER_EXPIRE_MINUTES, LocalDateTime.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.sharedroom.order.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 座位简要信息VO(座位服务预订成功后返回，用于订单计价)
+ */
+@Data
+public class SeatBriefVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 座位ID
+     */
+    private Long id;
+
+    /**
+     * 座位编号
+     */
+    private String seatNumber;
+
+    /**
+     * 自习室ID
+     */
+    private Long studyRoomId;
+
+    /**
+     * 自习室名称
+     */
+    private String studyRoomName;
+
+    /**
+     * 价格(元/小时)
+     */
+    private BigDecimal price;
+}
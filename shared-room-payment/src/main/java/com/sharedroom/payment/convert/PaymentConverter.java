@@ -0,0 +1,84 @@
+package com.sharedroom.payment.convert;
+
+import com.sharedroom.common.entity.Payment;
+import com.sharedroom.common.utils.LabelUtils;
+import com.sharedroom.payment.vo.PaymentVO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 支付实体与VO转换
+ * 逐字段赋值，不经反射拷贝；实体或VO增删字段时需同步修改
+ */
+public final class PaymentConverter {
+
+    private static final int STATUS_PENDING = 1;
+    private static final int STATUS_PAID = 2;
+
+    private static final String PAY_METHOD_ALIPAY = "alipay";
+
+    /**
+     * 支付状态名称，下标为支付状态
+     */
+    private static final String[] PAYMENT_STATUS_NAMES = {null, "待支付", "已支付", "支付失败", "已退款", "已取消"};
+
+    private PaymentConverter() {
+    }
+
+    /**
+     * 转换为VO对象
+     *
+     * @param payment       支付记录
+     * @param expireMinutes 待支付记录的支付时限(分钟)
+     * @param now           当前时间，列表转换时取一次即可
+     */
+    public static PaymentVO toVO(Payment payment, int expireMinutes, LocalDateTime now) {
+        PaymentVO vo = new PaymentVO();
+        vo.setId(payment.getId());
+        vo.setTransactionId(payment.getTransactionId());
+        vo.setThirdPartyTransactionId(payment.getThirdPartyTransactionId());
+        vo.setOrderId(payment.getOrderId());
+        vo.setUserId(payment.getUserId());
+        vo.setAmount(payment.getAmount());
+        vo.setPayMethod(payment.getPayMethod());
+        vo.setStatus(payment.getStatus());
+        vo.setDescription(payment.getDescription());
+        vo.setPaidTime(payment.getPaidTime());
+        vo.setQrCodeUrl(payment.getQrCodeUrl());
+        vo.setPayUrl(payment.getPayUrl());
+        vo.setCreateTime(payment.getCreateTime());
+        vo.setUpdateTime(payment.getUpdateTime());
+
+        // 设置支付方式名称与状态名称
+        Integer status = payment.getStatus();
+        vo.setPayMethodName(payMethodName(payment.getPayMethod()));
+        vo.setStatusName(paymentStatusName(status));
+
+        // 设置操作权限
+        boolean pending = status != null && status == STATUS_PENDING;
+        vo.setCanCancel(pending);
+        vo.setCanRefund(status != null && status == STATUS_PAID);
+
+        // 计算剩余支付时间
+        if (pending && payment.getCreateTime() != null) {
+            LocalDateTime expireTime = payment.getCreateTime().plusMinutes(expireMinutes);
+            vo.setRemainingPayTime(Math.max(0, Duration.between(now, expireTime).toMinutes()));
+        }
+        return vo;
+    }
+
+    /**
+     * 获取支付方式名称
+     */
+    public static String payMethodName(String payMethod) {
+        return PAY_METHOD_ALIPAY.equalsIgnoreCase(payMethod) ? "支付宝" : LabelUtils.UNKNOWN;
+    }
+
+    /**
+     * 获取支付状态名称
+     */
+    public static String paymentStatusName(Integer status) {
+        return LabelUtils.label(PAYMENT_STATUS_NAMES, status);
+    }
+}
@@ -16,7 +16,9 @@ import com.sharedroom.common.entity.Payment;
 import com.sharedroom.common.exception.BusinessException;
 import com.sharedroom.common.result.Result;
 import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.common.utils.PageUtils;
 import com.sharedroom.common.utils.UserContext;
+import com.sharedroom.payment.convert.PaymentConverter;
 import com.sharedroom.payment.dto.PaymentDTO;
 import com.sharedroom.payment.feign.OrderFeignClient;
 import com.sharedroom.payment.mapper.PaymentMapper;
@@ -27,7 +29,6 @@ import lombok.RequiredArgsConstructor;
 import org.apache.rocketmq.spring.core.RocketMQTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
@@ -167,18 +168,13 @@ public class PaymentServiceImpl extends ServiceImpl<PaymentMapper, Payment> impl
             // 5. 处理支付结果
             if ("TRADE_SUCCESS".equals(tradeStatus) || "TRADE_FINISHED".equals(tradeStatus)) {
                 // 支付成功
-                if (payment.getStatus().equals(1)) { // 只处理待支付状态的订单
+                if (payment.getStatus().equals(1)) { // 待支付：记录支付成功
                     paymentMapper.updatePaymentSuccess(payment.getId(), tradeNo, LocalDateTime.now(), LocalDateTime.now());
-                    
-                    // 通知订单服务更新订单状态
-                    orderFeignClient.payOrder(payment.getOrderId(), "alipay", outTradeNo);
-                    
-                    // 发送支付成功消息
-                    sendPaymentSuccessMessage(payment.getId());
-                    
-                    log.info("支付宝支付成功: paymentId={}, tradeNo={}", payment.getId(), tradeNo);
+                } else if (!payment.getStatus().equals(2)) {
+                    return true;
                 }
-                return true;
+                // 已记录支付成功的重复回调同样通知订单服务，覆盖上次通知失败的情况
+                return notifyOrderPaid(payment, outTradeNo, tradeNo);
             }
             
             return true;
@@ -210,7 +206,10 @@ public class PaymentServiceImpl extends ServiceImpl<PaymentMapper, Payment> impl
     @Override
     public List<PaymentVO> getPaymentsByOrderId(Long orderId) {
         List<Payment> payments = paymentMapper.selectByOrderId(orderId);
-        return payments.stream().map(this::convertToVO).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        return payments.stream()
+                .map(payment -> PaymentConverter.toVO(payment, PAYMENT_EXPIRE_MINUTES, now))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -271,14 +270,8 @@ public class PaymentServiceImpl extends ServiceImpl<PaymentMapper, Payment> impl
         Page<Payment> paymentPage = this.page(page, wrapper);
         
         // 转换为VO
-        Page<PaymentVO> voPage = new Page<>();
-        BeanUtils.copyProperties(paymentPage, voPage);
-        List<PaymentVO> voList = paymentPage.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
-        voPage.setRecords(voList);
-        
-        return voPage;
+        LocalDateTime now = LocalDateTime.now();
+        return PageUtils.convert(paymentPage, payment -> PaymentConverter.toVO(payment, PAYMENT_EXPIRE_MINUTES, now));
     }
 
     @Override
@@ -443,6 +436,46 @@ public class PaymentServiceImpl extends ServiceImpl<PaymentMapper, Payment> impl
                 + String.format("%04d", (int)(Math.random() * 10000));
     }
 
+    /**
+     * 通知订单服务订单已支付
+     * 订单明确拒绝支付(状态错误、已过期)时支付记录标记为退款；其他错误(超时、死锁、事务异常等)
+     * 保持支付成功状态并返回false，由支付宝重发回调重试
+     *
+     * @return 是否向支付宝确认回调已处理
+     */
+    private boolean notifyOrderPaid(Payment payment, String outTradeNo, String tradeNo) {
+        Result<Boolean> payResult = orderFeignClient.payOrder(payment.getOrderId(), "alipay", outTradeNo);
+        if (payResult.isSuccess()) {
+            // 发送支付成功消息
+            sendPaymentSuccessMessage(payment.getId());
+            log.info("支付宝支付成功: paymentId={}, tradeNo={}", payment.getId(), tradeNo);
+            return true;
+        }
+
+        Integer code = payResult.getCode();
+        if (!ResultCode.ORDER_STATUS_ERROR.getCode().equals(code) && !ResultCode.ORDER_EXPIRED.getCode().equals(code)) {
+            log.warn("通知订单支付失败，等待支付宝重发回调: paymentId={}, orderId={}, code={}, reason={}",
+                    payment.getId(), payment.getOrderId(), code, payResult.getMessage());
+            return false;
+        }
+
+        // 状态错误也可能是上次通知已更新订单但响应丢失，以订单上的支付流水号为准
+        Result<OrderVO> orderResult = orderFeignClient.getOrderById(payment.getOrderId());
+        if (!orderResult.isSuccess() || orderResult.getData() == null) {
+            log.warn("查询订单失败，等待支付宝重发回调: paymentId={}, orderId={}", payment.getId(), payment.getOrderId());
+            return false;
+        }
+        if (outTradeNo.equals(orderResult.getData().getPayTransactionId())) {
+            return true;
+        }
+
+        // 订单已取消、已过期或座位占用未确认；第三方退款接口尚未接入，款项需人工退回
+        log.error("订单拒绝支付，支付记录标记为退款，需人工退款: paymentId={}, orderId={}, amount={}, reason={}",
+                payment.getId(), payment.getOrderId(), payment.getAmount(), payResult.getMessage());
+        refundPayment(outTradeNo, payment.getAmount(), "订单不可支付: " + payResult.getMessage());
+        return true;
+    }
+
     /**
      * 发送支付成功消息
      */
@@ -458,52 +491,6 @@ public class PaymentServiceImpl extends ServiceImpl<PaymentMapper, Payment> impl
      * 转换为VO对象
      */
     private PaymentVO convertToVO(Payment payment) {
-        PaymentVO vo = new PaymentVO();
-        BeanUtils.copyProperties(payment, vo);
-        
-        // 设置支付方式名称
-        vo.setPayMethodName(getPayMethodName(payment.getPayMethod()));
-        
-        // 设置状态名称
-        vo.setStatusName(getPaymentStatusName(payment.getStatus()));
-        
-        // 设置操作权限
-        vo.setCanCancel(payment.getStatus() == 1);
-        vo.setCanRefund(payment.getStatus() == 2);
-        
-        // 计算剩余支付时间
-        if (payment.getStatus() == 1) {
-            LocalDateTime expireTime = payment.getCreateTime().plusMinutes(PAYMENT_EXPIRE_MINUTES);
-            long remainingMinutes = java.time.Duration.between(LocalDateTime.now(), expireTime).toMinutes();
-            vo.setRemainingPayTime(Math.max(0, remainingMinutes));
-        }
-        
-        return vo;
-    }
-
-    /**
-     * 获取支付方式名称
-     */
-    private String getPayMethodName(String payMethod) {
-        if (payMethod == null) return "未知";
-        switch (payMethod.toLowerCase()) {
-            case "alipay": return "支付宝";
-            default: return "未知";
-        }
-    }
-
-    /**
-     * 获取支付状态名称
-     */
-    private String getPaymentStatusName(Integer status) {
-        if (status == null) return "未知";
-        switch (status) {
-            case 1: return "待支付";
-            case 2: return "已支付";
-            case 3: return "支付失败";
-            case 4: return "已退款";
-            case 5: return "已取消";
-            default: return "未知";
-        }
+        return PaymentConverter.toVO(payment, PAYMENT_EXPIRE_MINUTES, LocalDateTime.now());
     }
 }
\ No newline at end of file
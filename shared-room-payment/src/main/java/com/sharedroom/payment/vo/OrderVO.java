@@ -82,6 +82,11 @@ public class OrderVO implements Serializable {
         this.userId = userId;
     }
 
+    /**
+     * 支付流水号
+     */
+    private String payTransactionId;
+
     /**
      * 订单状态名称
      */
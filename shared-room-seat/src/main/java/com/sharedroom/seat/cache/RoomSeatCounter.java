@@ -0,0 +1,342 @@
+package com.sharedroom.seat.cache;
+
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.mapper.SeatMapper;
+import com.sharedroom.seat.mapper.StudyRoomMapper;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 自习室座位计数
+ * 可预订座位数保存在Redis哈希中，座位状态变更时按前后状态原子增减，增减与记脏在同一管道中发出；
+ * 变更的自习室记入脏集合，由定时任务批量回写tb_study_room.available_seats；
+ * 对账任务按座位表重新统计，修复漏记或并发造成的偏差
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomSeatCounter implements ApplicationRunner {
+
+    public static final String AVAILABLE_KEY = "seat:room:available";
+    public static final String TOTAL_KEY = "seat:room:total";
+    private static final String DIRTY_KEY = "seat:room:dirty";
+    private static final String RECONCILE_LOCK_KEY = "seat:room:reconcile_lock";
+    private static final Duration RECONCILE_LOCK_TTL = Duration.ofMinutes(5);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECONCILE_SCRIPT = loadReconcileScript();
+
+    private final SeatMapper seatMapper;
+    private final StudyRoomMapper studyRoomMapper;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 每次回写的自习室数上限
+     */
+    @Value("${seat.room-counter.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private final AtomicLong increments = new AtomicLong();
+    private final AtomicLong recounts = new AtomicLong();
+    private final AtomicLong flushedRooms = new AtomicLong();
+    private final AtomicLong repairedRooms = new AtomicLong();
+    private volatile LocalDateTime lastReconcileTime;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(TOTAL_KEY))) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            log.error("自习室座位计数初始化失败，等待定时对账", e);
+        }
+    }
+
+    /**
+     * 座位状态变更后调整所在自习室的可预订计数
+     *
+     * @param previousStatus 变更前状态，未知时按数据库重新统计该自习室
+     */
+    public void onStatusChanged(Long seatId, Integer previousStatus, Integer status) {
+        Long studyRoomId = findStudyRoomId(seatId);
+        if (studyRoomId == null) {
+            return;
+        }
+        try {
+            if (previousStatus == null) {
+                recount(studyRoomId);
+                return;
+            }
+            int delta = (status != null && status == 1 ? 1 : 0) - (previousStatus == 1 ? 1 : 0);
+            if (delta == 0) {
+                return;
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForHash().increment(AVAILABLE_KEY, String.valueOf(studyRoomId), delta);
+                    ops.opsForSet().add(DIRTY_KEY, studyRoomId);
+                    return null;
+                }
+            });
+            increments.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("更新自习室座位计数失败，等待对账修复: seatId={}, error={}", seatId, e.getMessage());
+        }
+    }
+
+    /**
+     * 按数据库重新统计单个自习室
+     */
+    public void recount(Long studyRoomId) {
+        RoomSeatCounterVO counter = seatMapper.countOfStudyRoom(studyRoomId);
+        String field = String.valueOf(studyRoomId);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForHash().put(AVAILABLE_KEY, field, counter.getAvailable());
+                ops.opsForHash().put(TOTAL_KEY, field, counter.getTotal());
+                ops.opsForSet().add(DIRTY_KEY, studyRoomId);
+                return null;
+            }
+        });
+        recounts.incrementAndGet();
+    }
+
+    /**
+     * 批量查询自习室座位计数，Redis中缺失的自习室按数据库统计
+     */
+    public List<RoomSeatCounterVO> getCounters(List<Long> studyRoomIds) {
+        List<Object> fields = studyRoomIds.stream().map(String::valueOf).collect(Collectors.toList());
+        List<Object> available = redisTemplate.opsForHash().multiGet(AVAILABLE_KEY, fields);
+        List<Object> total = redisTemplate.opsForHash().multiGet(TOTAL_KEY, fields);
+        List<RoomSeatCounterVO> result = new ArrayList<>(studyRoomIds.size());
+        for (int i = 0; i < studyRoomIds.size(); i++) {
+            if (available.get(i) == null || total.get(i) == null) {
+                result.add(seatMapper.countOfStudyRoom(studyRoomIds.get(i)));
+                continue;
+            }
+            RoomSeatCounterVO counter = new RoomSeatCounterVO();
+            counter.setStudyRoomId(studyRoomIds.get(i));
+            counter.setAvailable(toInt(available.get(i)));
+            counter.setTotal(toInt(total.get(i)));
+            result.add(counter);
+        }
+        return result;
+    }
+
+    /**
+     * 将计数有变化的自习室批量回写数据库，多实例通过SPOP分摊，同一自习室只由一个实例回写
+     */
+    @Scheduled(fixedDelayString = "${seat.room-counter.flush-interval:5000}")
+    public void flush() {
+        List<Object> members;
+        try {
+            members = redisTemplate.opsForSet().pop(DIRTY_KEY, flushBatchSize);
+        } catch (Exception e) {
+            log.warn("读取待回写自习室失败: error={}", e.getMessage());
+            return;
+        }
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        List<Long> studyRoomIds = members.stream().map(m -> Long.valueOf(String.valueOf(m))).collect(Collectors.toList());
+        List<Object> fields = studyRoomIds.stream().map(String::valueOf).collect(Collectors.toList());
+        List<Object> values = redisTemplate.opsForHash().multiGet(AVAILABLE_KEY, fields);
+        List<RoomSeatCounterVO> counters = new ArrayList<>(studyRoomIds.size());
+        for (int i = 0; i < studyRoomIds.size(); i++) {
+            if (values.get(i) == null) {
+                continue;
+            }
+            RoomSeatCounterVO counter = new RoomSeatCounterVO();
+            counter.setStudyRoomId(studyRoomIds.get(i));
+            counter.setAvailable(Math.max(toInt(values.get(i)), 0));
+            counters.add(counter);
+        }
+        if (counters.isEmpty()) {
+            return;
+        }
+        try {
+            studyRoomMapper.batchUpdateAvailableSeats(counters);
+            flushedRooms.addAndGet(counters.size());
+        } catch (Exception e) {
+            // 放回脏集合，下次重试
+            redisTemplate.opsForSet().add(DIRTY_KEY, members.toArray());
+            log.error("回写自习室可预订座位数失败: rooms={}", counters.size(), e);
+        }
+    }
+
+    /**
+     * 定时对账
+     */
+    @Scheduled(fixedDelayString = "${seat.room-counter.reconcile-interval:600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("自习室座位计数对账失败", e);
+        }
+    }
+
+    /**
+     * 按座位表重新统计全部自习室，修复Redis计数与tb_study_room中的偏差
+     * 统计前先读取Redis快照，写回时比较快照，对账期间计数被增量修改过的自习室留到下次对账
+     */
+    public Map<String, Object> reconcile() {
+        if (!tryLockReconcile()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("skipped", true);
+            return result;
+        }
+        try {
+            return doReconcile();
+        } finally {
+            unlockReconcile();
+        }
+    }
+
+    private Map<String, Object> doReconcile() {
+        long start = System.currentTimeMillis();
+        Map<Object, Object> snapshot = redisTemplate.opsForHash().entries(AVAILABLE_KEY);
+        List<RoomSeatCounterVO> counters = seatMapper.countByStudyRoom();
+
+        // 座位已全部删除的自习室归零
+        Map<Long, RoomSeatCounterVO> byRoom = new HashMap<>();
+        counters.forEach(counter -> byRoom.put(counter.getStudyRoomId(), counter));
+        for (Object field : snapshot.keySet()) {
+            Long studyRoomId = Long.valueOf(String.valueOf(field));
+            if (!byRoom.containsKey(studyRoomId)) {
+                RoomSeatCounterVO counter = new RoomSeatCounterVO();
+                counter.setStudyRoomId(studyRoomId);
+                counter.setAvailable(0);
+                counter.setTotal(0);
+                byRoom.put(studyRoomId, counter);
+            }
+        }
+
+        int drifted = 0;
+        Object[] args = new Object[byRoom.size() * 4];
+        int i = 0;
+        for (RoomSeatCounterVO counter : byRoom.values()) {
+            Object current = snapshot.get(String.valueOf(counter.getStudyRoomId()));
+            int expected = current != null ? toInt(current) : -1;
+            if (expected != counter.getAvailable()) {
+                drifted++;
+            }
+            args[i++] = counter.getStudyRoomId();
+            args[i++] = expected;
+            args[i++] = counter.getAvailable();
+            args[i++] = counter.getTotal();
+        }
+
+        long repaired = 0;
+        long skipped = 0;
+        if (args.length > 0) {
+            List<?> scriptResult = redisTemplate.execute(RECONCILE_SCRIPT, Arrays.asList(AVAILABLE_KEY, TOTAL_KEY), args);
+            if (scriptResult != null && scriptResult.size() == 2) {
+                repaired = ((Number) scriptResult.get(0)).longValue();
+                skipped = ((Number) scriptResult.get(1)).longValue();
+            }
+        }
+
+        List<RoomSeatCounterVO> all = new ArrayList<>(byRoom.values());
+        for (int from = 0; from < all.size(); from += flushBatchSize) {
+            studyRoomMapper.batchUpdateSeatCounters(all.subList(from, Math.min(from + flushBatchSize, all.size())));
+        }
+        repairedRooms.addAndGet(repaired);
+        lastReconcileTime = LocalDateTime.now();
+
+        long cost = System.currentTimeMillis() - start;
+        if (drifted > 0) {
+            log.warn("自习室座位计数对账: rooms={}, drifted={}, repaired={}, skipped={}, cost={}ms",
+                    all.size(), drifted, repaired, skipped, cost);
+        } else {
+            log.info("自习室座位计数对账完成: rooms={}, cost={}ms", all.size(), cost);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rooms", all.size());
+        result.put("drifted", drifted);
+        result.put("repaired", repaired);
+        result.put("skipped", skipped);
+        result.put("cost", cost);
+        return result;
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rooms", redisTemplate.opsForHash().size(AVAILABLE_KEY));
+        stats.put("pendingFlush", redisTemplate.opsForSet().size(DIRTY_KEY));
+        stats.put("increments", increments.get());
+        stats.put("recounts", recounts.get());
+        stats.put("flushedRooms", flushedRooms.get());
+        stats.put("repairedRooms", repairedRooms.get());
+        stats.put("lastReconcileTime", lastReconcileTime);
+        return stats;
+    }
+
+    private Long findStudyRoomId(Long seatId) {
+        Seat seat = seatAvailabilityIndex.getSeat(seatId);
+        if (seat == null) {
+            seat = seatMapper.selectById(seatId);
+        }
+        return seat != null ? seat.getStudyRoomId() : null;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(String.valueOf(value));
+    }
+
+    private boolean tryLockReconcile() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, SeatEventPublisher.NODE_ID, RECONCILE_LOCK_TTL);
+        return Boolean.TRUE.equals(locked);
+    }
+
+    private void unlockReconcile() {
+        if (SeatEventPublisher.NODE_ID.equals(redisTemplate.opsForValue().get(RECONCILE_LOCK_KEY))) {
+            redisTemplate.delete(RECONCILE_LOCK_KEY);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> loadReconcileScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("lua/room_counter_reconcile.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
+}
@@ -0,0 +1,308 @@
+package com.sharedroom.seat.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sharedroom.seat.vo.SeatVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * 座位详情二级缓存
+ * L1为本地Caffeine有界缓存，L2为Redis共享缓存，均未命中时回源数据库；
+ * 座位变更时删除L2并通过座位事件频道通知各实例清除L1。
+ * 回源与回填之间若发生变更，回填可能把旧值写回：本实例按清除版本号放弃回填，
+ * 其他实例写回L2的旧值由延迟二次删除清理
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatDetailCache {
+
+    private static final String SEAT_DETAIL_PREFIX = "seat:detail:";
+
+    /**
+     * 清除版本号分段数，座位ID按取模落到分段上
+     */
+    private static final int EVICT_STRIPES = 1024;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${seat.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${seat.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${seat.cache.local.ttl-seconds:300}")
+    private long localTtlSeconds;
+
+    @Value("${seat.cache.redis.ttl-seconds:1800}")
+    private long redisTtlSeconds;
+
+    @Value("${seat.cache.redis.second-delete-delay-ms:1000}")
+    private long secondDeleteDelayMs;
+
+    private Cache<Long, SeatVO> localCache;
+
+    /**
+     * 分段清除版本号，回源前记录、回填前比对，期间被清除则放弃回填
+     */
+    private final AtomicLongArray evictVersions = new AtomicLongArray(EVICT_STRIPES);
+
+    private ScheduledExecutorService secondDeleter;
+
+    /**
+     * 启动预热期间被清除的座位，未在预热时为null
+     */
+    private volatile Set<Long> evictedDuringWarm;
+
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong redisMisses = new AtomicLong();
+    private final AtomicLong redisErrors = new AtomicLong();
+    private final AtomicLong redisEvictions = new AtomicLong();
+    private final AtomicLong localInvalidations = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong staleFillSkips = new AtomicLong();
+    private final AtomicLong secondDeletes = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        secondDeleter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-detail-second-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        secondDeleter.shutdownNow();
+    }
+
+    /**
+     * 读取座位详情，依次查询L1、L2，均未命中时调用loader回源并回填两级缓存；
+     * 读取期间该座位被清除时只返回结果不回填，L2只在键不存在时写入，不覆盖其他实例的回填
+     *
+     * @return loader返回null时返回null且不缓存
+     */
+    public SeatVO get(Long seatId, Function<Long, SeatVO> loader) {
+        if (!enabled) {
+            return loader.apply(seatId);
+        }
+        SeatVO vo = localCache.getIfPresent(seatId);
+        if (vo != null) {
+            return vo;
+        }
+
+        int stripe = stripeOf(seatId);
+        long version = evictVersions.get(stripe);
+        boolean loaded = false;
+        vo = getFromRedis(seatId);
+        if (vo == null) {
+            loads.incrementAndGet();
+            vo = loader.apply(seatId);
+            if (vo == null) {
+                return null;
+            }
+            loaded = true;
+        }
+        if (evictVersions.get(stripe) != version) {
+            staleFillSkips.incrementAndGet();
+            return vo;
+        }
+        if (loaded) {
+            putToRedisIfAbsent(seatId, vo);
+        }
+        localCache.put(seatId, vo);
+        return vo;
+    }
+
+    /**
+     * 开始启动预热，此后被清除的座位在预热结束时再次清除
+     */
+    public void beginWarm() {
+        evictedDuringWarm = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * 启动预热：批量写入L1，写满容量后不再写入，避免预热数据互相淘汰；
+     * 不写入L2，预热读到的详情可能早于其他实例的变更，写入共享缓存会覆盖其他实例的删除。
+     * 预热期间已被清除的座位不再写入
+     *
+     * @return 写入L1的条数
+     */
+    public int warm(List<SeatVO> vos) {
+        if (!enabled || vos.isEmpty()) {
+            return 0;
+        }
+        Set<Long> evicted = evictedDuringWarm;
+        int local = 0;
+        for (SeatVO vo : vos) {
+            if (localCache.estimatedSize() >= localMaxSize) {
+                break;
+            }
+            if (evicted != null && evicted.contains(vo.getId())) {
+                continue;
+            }
+            localCache.put(vo.getId(), vo);
+            local++;
+        }
+        return local;
+    }
+
+    /**
+     * 结束启动预热，清除预热期间发生变更的座位，覆盖检查与写入之间的并发变更
+     */
+    public void endWarm() {
+        Set<Long> evicted = evictedDuringWarm;
+        evictedDuringWarm = null;
+        if (evicted != null && !evicted.isEmpty()) {
+            localCache.invalidateAll(evicted);
+        }
+    }
+
+    /**
+     * 座位变更后清除两级缓存，其他实例的L1由座位变更事件清除；
+     * 延迟后再删除一次L2，清理变更期间其他实例回源写回的旧值
+     */
+    public void evict(Long seatId) {
+        if (!enabled) {
+            return;
+        }
+        evictLocal(seatId);
+        deleteFromRedis(seatId);
+        if (secondDeleteDelayMs > 0) {
+            try {
+                secondDeleter.schedule(() -> {
+                    deleteFromRedis(seatId);
+                    secondDeletes.incrementAndGet();
+                }, secondDeleteDelayMs, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.warn("提交座位详情缓存延迟删除失败: seatId={}, error={}", seatId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 清除本实例L1缓存(收到其他实例的变更事件时调用)
+     */
+    public void evictLocal(Long seatId) {
+        evictVersions.incrementAndGet(stripeOf(seatId));
+        Set<Long> evicted = evictedDuringWarm;
+        if (evicted != null) {
+            evicted.add(seatId);
+        }
+        if (localCache != null) {
+            localCache.invalidate(seatId);
+            localInvalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * 清空本实例L1缓存
+     */
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 各级缓存命中、未命中与淘汰统计
+     */
+    public Map<String, Object> getStats() {
+        CacheStats localStats = localCache.stats();
+        Map<String, Object> local = new LinkedHashMap<>();
+        local.put("size", localCache.estimatedSize());
+        local.put("maxSize", localMaxSize);
+        local.put("ttlSeconds", localTtlSeconds);
+        local.put("hits", localStats.hitCount());
+        local.put("misses", localStats.missCount());
+        local.put("evictions", localStats.evictionCount());
+        local.put("invalidations", localInvalidations.get());
+        local.put("hitRate", localStats.hitRate());
+
+        long redisRequests = redisHits.get() + redisMisses.get();
+        Map<String, Object> redis = new LinkedHashMap<>();
+        redis.put("ttlSeconds", redisTtlSeconds);
+        redis.put("hits", redisHits.get());
+        redis.put("misses", redisMisses.get());
+        redis.put("evictions", redisEvictions.get());
+        redis.put("secondDeleteDelayMs", secondDeleteDelayMs);
+        redis.put("secondDeletes", secondDeletes.get());
+        redis.put("errors", redisErrors.get());
+        redis.put("hitRate", redisRequests == 0 ? 0 : (double) redisHits.get() / redisRequests);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("local", local);
+        stats.put("redis", redis);
+        stats.put("dbLoads", loads.get());
+        stats.put("staleFillSkips", staleFillSkips.get());
+        return stats;
+    }
+
+    private SeatVO getFromRedis(Long seatId) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(SEAT_DETAIL_PREFIX + seatId);
+            if (json == null) {
+                redisMisses.incrementAndGet();
+                return null;
+            }
+            redisHits.incrementAndGet();
+            return objectMapper.readValue(json, SeatVO.class);
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("读取座位详情缓存失败: seatId={}, error={}", seatId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putToRedisIfAbsent(Long seatId, SeatVO vo) {
+        try {
+            stringRedisTemplate.opsForValue().setIfAbsent(SEAT_DETAIL_PREFIX + seatId,
+                    objectMapper.writeValueAsString(vo), redisTtlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("写入座位详情缓存失败: seatId={}, error={}", seatId, e.getMessage());
+        }
+    }
+
+    private void deleteFromRedis(Long seatId) {
+        try {
+            stringRedisTemplate.delete(SEAT_DETAIL_PREFIX + seatId);
+            redisEvictions.incrementAndGet();
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("删除座位详情缓存失败: seatId={}, error={}", seatId, e.getMessage());
+        }
+    }
+
+    private static int stripeOf(Long seatId) {
+        return (int) Math.floorMod(seatId, (long) EVICT_STRIPES);
+    }
+}
@@ -0,0 +1,205 @@
+package com.sharedroom.seat.cache;
+
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.mapper.SeatMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 座位状态缓存(seat:status:{id})读取
+ * 缓存缺失时同一实例内对同一座位只执行一次数据库查询(单飞合并)，
+ * 热点键按XFetch算法在过期前概率性提前刷新，不存在的座位缓存空值防止穿透
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatStatusCache {
+
+    public static final String SEAT_STATUS_PREFIX = "seat:status:";
+
+    /**
+     * 不存在座位的空值标记
+     */
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * 回填脚本中表示读取时缓存不存在
+     */
+    private static final int ABSENT = -2;
+
+    private final SeatMapper seatMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 回源回填的过期时间，预订/释放写入的状态仍使用各自的过期时间
+     */
+    @Value("${seat.status-cache.fill-ttl-seconds:300}")
+    private long fillTtlSeconds;
+
+    /**
+     * 空值缓存过期时间
+     */
+    @Value("${seat.status-cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    /**
+     * XFetch提前刷新系数，越大越早刷新，0表示关闭
+     */
+    @Value("${seat.status-cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    private final Map<Long, CompletableFuture<Integer>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * 最近回源耗时(毫秒，指数加权平均)
+     */
+    private volatile double loadMillis = 1.0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong executedLoads = new AtomicLong();
+    private final AtomicLong coalescedLoads = new AtomicLong();
+    private final AtomicLong earlyRefreshes = new AtomicLong();
+    private final AtomicLong redisErrors = new AtomicLong();
+
+    /**
+     * 获取座位状态
+     *
+     * @return 座位不存在时返回null
+     */
+    public Integer getStatus(Long seatId) {
+        String key = SEAT_STATUS_PREFIX + seatId;
+        Object cached;
+        long ttlMillis;
+        try {
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForValue().get(key);
+                    ops.getExpire(key, TimeUnit.MILLISECONDS);
+                    return null;
+                }
+            });
+            cached = results.get(0);
+            ttlMillis = results.get(1) instanceof Number ? ((Number) results.get(1)).longValue() : -1;
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("读取座位状态缓存失败，直接查询数据库: seatId={}, error={}", seatId, e.getMessage());
+            return load(seatId, null, false);
+        }
+
+        if (cached == null) {
+            misses.incrementAndGet();
+            return load(seatId, ABSENT, true);
+        }
+        int status = ((Number) cached).intValue();
+        if (shouldRefreshEarly(ttlMillis)) {
+            earlyRefreshes.incrementAndGet();
+            return load(seatId, status, true);
+        }
+        if (status == NOT_FOUND) {
+            negativeHits.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return status;
+    }
+
+    /**
+     * 缓存与并发合并统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("negativeHits", negativeHits.get());
+        stats.put("executedLoads", executedLoads.get());
+        stats.put("coalescedLoads", coalescedLoads.get());
+        stats.put("earlyRefreshes", earlyRefreshes.get());
+        stats.put("redisErrors", redisErrors.get());
+        stats.put("inflight", inflight.size());
+        stats.put("avgLoadMillis", loadMillis);
+        return stats;
+    }
+
+    /**
+     * XFetch：剩余有效期小于 -回源耗时*beta*ln(random) 时提前刷新，
+     * 访问越频繁越可能在过期前由单个请求完成刷新
+     */
+    private boolean shouldRefreshEarly(long ttlMillis) {
+        if (earlyRefreshBeta <= 0 || ttlMillis < 0) {
+            return false;
+        }
+        double gap = -loadMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= ttlMillis;
+    }
+
+    /**
+     * 单飞回源：同一座位并发的回源请求合并为一次数据库查询
+     *
+     * @param observed 读取时观察到的缓存值，用于条件回填
+     */
+    private Integer load(Long seatId, Integer observed, boolean fill) {
+        CompletableFuture<Integer> mine = new CompletableFuture<>();
+        CompletableFuture<Integer> running = inflight.putIfAbsent(seatId, mine);
+        if (running != null) {
+            coalescedLoads.incrementAndGet();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            executedLoads.incrementAndGet();
+            long start = System.nanoTime();
+            Seat seat = seatMapper.selectById(seatId);
+            Integer status = seat != null ? seat.getStatus() : null;
+            loadMillis = loadMillis * 0.8 + (System.nanoTime() - start) / 1_000_000.0 * 0.2;
+
+            if (fill) {
+                fill(seatId, observed, status);
+            }
+            mine.complete(status);
+            return status;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(seatId, mine);
+        }
+    }
+
+    private void fill(Long seatId, Integer observed, Integer status) {
+        try {
+            int value = status != null ? status : NOT_FOUND;
+            long ttl = status != null ? fillTtlSeconds : negativeTtlSeconds;
+            redisTemplate.execute(SeatStatusScripts.FILL, Collections.singletonList(SEAT_STATUS_PREFIX + seatId),
+                    observed, value, ttl);
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("回填座位状态缓存失败: seatId={}, error={}", seatId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sharedroom.seat.cache;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * 座位状态缓存相关的Redis脚本
+ */
+public final class SeatStatusScripts {
+
+    /**
+     * 座位状态比较并设置，用于无锁预订模式
+     */
+    public static final RedisScript<Long> CAS = load("lua/seat_status_cas.lua");
+
+    /**
+     * 批量座位状态比较并设置，全部满足才整体设置，用于批量预订
+     */
+    public static final RedisScript<Long> BATCH_CAS = load("lua/seat_status_batch_cas.lua");
+
+    /**
+     * 座位状态条件回填，用于回源后写缓存
+     */
+    public static final RedisScript<Long> FILL = load("lua/seat_status_fill.lua");
+
+    private SeatStatusScripts() {
+    }
+
+    private static RedisScript<Long> load(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource(path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
@@ -0,0 +1,65 @@
+package com.sharedroom.seat.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sharedroom.seat.mapper.StudyRoomMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * 自习室名称本地缓存
+ * 名称很少变更，按过期时间刷新；不存在的自习室缓存空串，避免重复回源
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyRoomNameCache {
+
+    private final StudyRoomMapper studyRoomMapper;
+
+    @Value("${seat.cache.room-name.max-size:10000}")
+    private long maxSize;
+
+    @Value("${seat.cache.room-name.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Long, String> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 查询自习室名称
+     *
+     * @return 自习室不存在或查询失败时返回null
+     */
+    public String get(Long studyRoomId) {
+        if (studyRoomId == null) {
+            return null;
+        }
+        String name = cache.getIfPresent(studyRoomId);
+        if (name == null) {
+            try {
+                name = studyRoomMapper.selectNameById(studyRoomId);
+            } catch (Exception e) {
+                log.warn("查询自习室名称失败: studyRoomId={}, error={}", studyRoomId, e.getMessage());
+                return null;
+            }
+            if (name == null) {
+                name = "";
+            }
+            cache.put(studyRoomId, name);
+        }
+        return name.isEmpty() ? null : name;
+    }
+}
@@ -1,9 +1,13 @@
 package com.sharedroom.seat.config;
 
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.listener.SeatEventListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -29,4 +33,16 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * 座位变更事件订阅
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       SeatEventListener seatEventListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(seatEventListener, new ChannelTopic(SeatEventPublisher.CHANNEL));
+        return container;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sharedroom.seat.config;
 
+import com.sharedroom.seat.interceptor.InternalOnlyInterceptor;
 import com.sharedroom.seat.interceptor.UserInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -14,19 +15,33 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final UserInterceptor userInterceptor;
+    private final InternalOnlyInterceptor internalOnlyInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // 座位临时占用与批量预订、释放仅供订单服务调用
+        registry.addInterceptor(internalOnlyInterceptor)
+                .addPathPatterns("/api/seat/hold/**", "/api/seat/reserve/batch", "/api/seat/release/batch");
+
         registry.addInterceptor(userInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns(
                         "/api/seat/page",
+                        "/api/seat/page/cursor",
                         "/api/seat/*/",
                         "/api/seat/available/*",
                         "/api/seat/nearby",
+                        "/api/seat/nearest",
                         "/api/seat/search",
+                        "/api/seat/search/facet",
+                        "/api/seat/adjacent",
                         "/api/seat/popular",
+                        "/api/seat/room/counters",
+                        "/api/seat/heatmap",
+                        "/api/seat/stream/*",
                         "/api/seat/available/check/*",
+                        "/api/seat/slot/check/*",
+                        "/api/seat/slot/available/*",
                         "/actuator/**",
                         "/error"
                 );
@@ -0,0 +1,51 @@
+package com.sharedroom.seat.controller;
+
+import com.sharedroom.common.result.Result;
+import com.sharedroom.seat.cache.SeatDetailCache;
+import com.sharedroom.seat.cache.SeatStatusCache;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 座位缓存管理控制器(管理员接口)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/seat/cache")
+@RequiredArgsConstructor
+public class SeatCacheController {
+
+    private final SeatDetailCache seatDetailCache;
+    private final SeatEventPublisher seatEventPublisher;
+    private final SeatStatusCache seatStatusCache;
+
+    /**
+     * 获取座位详情缓存各级命中统计
+     */
+    @GetMapping("/stats")
+    public Result<Map<String, Object>> getStats() {
+        return Result.success(seatDetailCache.getStats());
+    }
+
+    /**
+     * 获取座位状态缓存统计(含合并回源与实际回源次数)
+     */
+    @GetMapping("/status/stats")
+    public Result<Map<String, Object>> getStatusStats() {
+        return Result.success(seatStatusCache.getStats());
+    }
+
+    /**
+     * 清除指定座位的详情缓存(含其他实例的本地缓存)
+     */
+    @DeleteMapping("/{seatId}")
+    public Result<Boolean> evict(@PathVariable Long seatId) {
+        seatDetailCache.evict(seatId);
+        seatEventPublisher.publishCacheEvict(seatId);
+        return Result.success("缓存清除成功", true);
+    }
+}
@@ -1,19 +1,37 @@
 package com.sharedroom.seat.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sharedroom.common.result.Result;
 import com.sharedroom.common.utils.UserContext;
 import com.sharedroom.seat.dto.SeatSearchDTO;
 import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.hold.SeatHoldManager;
+import com.sharedroom.seat.index.RoomHeatmapSnapshot;
 import com.sharedroom.seat.service.SeatService;
+import com.sharedroom.seat.stream.SeatStateStream;
+import com.sharedroom.seat.vo.CursorPageVO;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
+import com.sharedroom.seat.vo.SeatBlockVO;
+import com.sharedroom.seat.vo.SeatBriefVO;
+import com.sharedroom.seat.vo.SeatFacetResultVO;
 import com.sharedroom.seat.vo.SeatVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 座位控制器
@@ -25,6 +43,9 @@ import java.util.List;
 public class SeatController {
 
     private final SeatService seatService;
+    private final RoomHeatmapSnapshot roomHeatmapSnapshot;
+    private final SeatStateStream seatStateStream;
+    private final SeatHoldManager seatHoldManager;
 
     /**
      * 分页查询座位列表
@@ -41,6 +62,21 @@ public class SeatController {
         return Result.success(result);
     }
 
+    /**
+     * 游标分页查询座位列表(深分页不退化)
+     */
+    @PostMapping("/page/cursor")
+    public Result<CursorPageVO<SeatVO>> getSeatCursorPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "10") Integer size,
+                                                         @RequestParam(defaultValue = "false") Boolean withTotal,
+                                                         @RequestBody(required = false) SeatSearchDTO searchDTO) {
+        if (searchDTO == null) {
+            searchDTO = new SeatSearchDTO();
+        }
+        CursorPageVO<SeatVO> result = seatService.getSeatCursorPage(cursor, size, withTotal, searchDTO);
+        return Result.success(result);
+    }
+
     /**
      * 根据座位ID获取座位详情
      */
@@ -59,6 +95,14 @@ public class SeatController {
         return Result.success(seats);
     }
 
+    /**
+     * 订阅自习室座位状态推送(SSE)，先推送snapshot事件，之后推送delta事件
+     */
+    @GetMapping(value = "/stream/{studyRoomId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatStates(@PathVariable Long studyRoomId) {
+        return seatStateStream.subscribe(studyRoomId);
+    }
+
     /**
      * 地理位置搜索附近座位
      */
@@ -70,6 +114,17 @@ public class SeatController {
         return Result.success(seats);
     }
 
+    /**
+     * 搜索最近的k个自习室内的可用座位
+     */
+    @GetMapping("/nearest")
+    public Result<List<SeatVO>> searchNearestSeats(@RequestParam BigDecimal longitude,
+                                                  @RequestParam BigDecimal latitude,
+                                                  @RequestParam(defaultValue = "10") Integer k) {
+        List<SeatVO> seats = seatService.searchNearestSeats(longitude, latitude, k);
+        return Result.success(seats);
+    }
+
     /**
      * 根据座位类型和价格范围搜索座位
      */
@@ -81,6 +136,29 @@ public class SeatController {
         return Result.success(seats);
     }
 
+    /**
+     * 分面搜索座位(返回各筛选项的命中计数)
+     */
+    @PostMapping("/search/facet")
+    public Result<SeatFacetResultVO> searchSeatFacets(@RequestParam(defaultValue = "1") Integer current,
+                                                     @RequestParam(defaultValue = "10") Integer size,
+                                                     @RequestBody(required = false) SeatSearchDTO searchDTO) {
+        if (searchDTO == null) {
+            searchDTO = new SeatSearchDTO();
+        }
+        return Result.success(seatService.searchSeatFacets(current, size, searchDTO));
+    }
+
+    /**
+     * 查找相邻的空闲座位块(如4人同行且需要电源)，搜索条件需指定自习室
+     */
+    @PostMapping("/adjacent")
+    public Result<List<SeatBlockVO>> findAdjacentSeats(@RequestParam Integer size,
+                                                      @RequestParam(defaultValue = "5") Integer limit,
+                                                      @RequestBody SeatSearchDTO searchDTO) {
+        return Result.success(seatService.findAdjacentSeats(searchDTO, size, limit));
+    }
+
     /**
      * 预订座位
      */
@@ -99,6 +177,23 @@ public class SeatController {
         }
     }
 
+    /**
+     * 预订座位并返回计价所需的座位信息，订单服务一次调用完成校验与预订
+     */
+    @PostMapping("/reserve/{seatId}/describe")
+    public Result<SeatBriefVO> reserveSeatAndDescribe(@PathVariable Long seatId,
+                                                      @RequestParam(required = false) Long userId) {
+        // 网关请求以请求头中的用户为准，服务间调用时使用参数传入的用户ID
+        Long currentUserId = UserContext.getUserId();
+        if (currentUserId == null) {
+            currentUserId = userId;
+        }
+        if (currentUserId == null) {
+            return Result.error("用户未登录");
+        }
+        return Result.success("座位预订成功", seatService.reserveSeatAndDescribe(seatId, currentUserId));
+    }
+
     /**
      * 释放座位
      */
@@ -112,6 +207,67 @@ public class SeatController {
         }
     }
 
+    /**
+     * 批量预订座位，全部成功或全部失败(仅限服务间调用，用户由调用方传入)
+     */
+    @PostMapping("/reserve/batch")
+    public Result<Boolean> reserveSeats(@RequestBody List<Long> seatIds,
+                                        @RequestParam Long userId) {
+        boolean success = seatService.reserveSeats(seatIds, userId);
+        if (success) {
+            return Result.success("座位批量预订成功", true);
+        } else {
+            return Result.error("座位批量预订失败");
+        }
+    }
+
+    /**
+     * 批量释放座位，返回实际释放的座位数(仅限服务间调用)
+     */
+    @PostMapping("/release/batch")
+    public Result<Integer> releaseSeats(@RequestBody List<Long> seatIds) {
+        return Result.success(seatService.releaseSeats(seatIds));
+    }
+
+    /**
+     * 临时占用座位并返回计价所需的座位信息，到期未确认自动释放(订单预订Saga使用，仅限服务间调用)
+     */
+    @PostMapping("/hold/{seatId}")
+    public Result<SeatBriefVO> holdSeat(@PathVariable Long seatId,
+                                        @RequestParam Long holdId,
+                                        @RequestParam Long userId,
+                                        @RequestParam long ttlSeconds) {
+        return Result.success("座位占用成功", seatHoldManager.hold(seatId, userId, holdId, ttlSeconds));
+    }
+
+    /**
+     * 确认座位占用，返回false表示占用已到期释放
+     */
+    @PostMapping("/hold/{seatId}/confirm")
+    public Result<Boolean> confirmSeatHold(@PathVariable Long seatId,
+                                           @RequestParam Long holdId,
+                                           @RequestParam Long userId) {
+        return Result.success(seatHoldManager.confirm(seatId, holdId, userId));
+    }
+
+    /**
+     * 取消座位占用并释放座位，返回是否释放了座位
+     */
+    @PostMapping("/hold/{seatId}/cancel")
+    public Result<Boolean> cancelSeatHold(@PathVariable Long seatId,
+                                          @RequestParam Long holdId,
+                                          @RequestParam Long userId) {
+        return Result.success(seatHoldManager.cancel(seatId, holdId, userId));
+    }
+
+    /**
+     * 座位占用统计
+     */
+    @GetMapping("/hold/stats")
+    public Result<Map<String, Object>> getSeatHoldStats() {
+        return Result.success(seatHoldManager.getStats());
+    }
+
     /**
      * 检查座位是否可用
      */
@@ -121,12 +277,59 @@ public class SeatController {
         return Result.success(available);
     }
 
+    /**
+     * 批量查询自习室可预订座位数与总座位数(用于自习室列表展示)
+     */
+    @GetMapping("/room/counters")
+    public Result<List<RoomSeatCounterVO>> getRoomSeatCounters(@RequestParam List<Long> studyRoomIds) {
+        return Result.success(seatService.getRoomSeatCounters(studyRoomIds));
+    }
+
+    /**
+     * 获取全部自习室占用热力图快照
+     * 响应体为预先序列化的快照，携带ETag；客户端或网关携带If-None-Match轮询时，内容未变化直接返回304
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<byte[]> getRoomHeatmap(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws JsonProcessingException {
+        RoomHeatmapSnapshot.Snapshot snapshot = roomHeatmapSnapshot.get();
+        if (etagMatches(ifNoneMatch, snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
+    }
+
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 获取热门座位推荐
      */
     @GetMapping("/popular")
-    public Result<List<SeatVO>> getPopularSeats(@RequestParam(defaultValue = "10") Integer limit) {
-        List<SeatVO> seats = seatService.getPopularSeats(limit);
+    public Result<List<SeatVO>> getPopularSeats(@RequestParam(defaultValue = "10") Integer limit,
+                                                @RequestParam(required = false) Long studyRoomId,
+                                                @RequestParam(required = false) String city) {
+        List<SeatVO> seats = seatService.getPopularSeats(limit, studyRoomId, city);
         return Result.success(seats);
     }
 
@@ -143,4 +346,64 @@ public class SeatController {
             return Result.error("座位状态更新失败");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 预订座位时段
+     */
+    @PostMapping("/slot/reserve/{seatId}")
+    public Result<Boolean> reserveSeatSlot(@PathVariable Long seatId,
+                                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+                                           @RequestParam(required = false) Long userId) {
+        // 网关请求以请求头中的用户为准，服务间调用时使用参数传入的用户ID
+        Long currentUserId = UserContext.getUserId();
+        if (currentUserId == null) {
+            currentUserId = userId;
+        }
+        if (currentUserId == null) {
+            return Result.error("用户未登录");
+        }
+
+        boolean success = seatService.reserveSeatSlot(seatId, currentUserId, startTime, endTime);
+        if (success) {
+            return Result.success("座位时段预订成功", true);
+        } else {
+            return Result.error("座位时段预订失败");
+        }
+    }
+
+    /**
+     * 释放座位时段
+     */
+    @PostMapping("/slot/release/{seatId}")
+    public Result<Boolean> releaseSeatSlot(@PathVariable Long seatId,
+                                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                           @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+        boolean success = seatService.releaseSeatSlot(seatId, startTime, endTime);
+        if (success) {
+            return Result.success("座位时段释放成功", true);
+        } else {
+            return Result.error("座位时段释放失败");
+        }
+    }
+
+    /**
+     * 检查座位时段是否可预订
+     */
+    @GetMapping("/slot/check/{seatId}")
+    public Result<Boolean> checkSeatSlotAvailable(@PathVariable Long seatId,
+                                                  @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                                  @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+        return Result.success(seatService.isSeatSlotAvailable(seatId, startTime, endTime));
+    }
+
+    /**
+     * 查询自习室在指定时段内可预订的座位
+     */
+    @GetMapping("/slot/available/{studyRoomId}")
+    public Result<List<SeatVO>> getAvailableSeatsBySlot(@PathVariable Long studyRoomId,
+                                                        @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+                                                        @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+        return Result.success(seatService.getAvailableSeatsBySlot(studyRoomId, startTime, endTime));
+    }
+}
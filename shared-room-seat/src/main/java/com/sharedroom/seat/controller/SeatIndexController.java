@@ -0,0 +1,160 @@
+package com.sharedroom.seat.controller;
+
+import com.sharedroom.common.result.Result;
+import com.sharedroom.seat.cache.RoomSeatCounter;
+import com.sharedroom.seat.index.RoomHeatmapSnapshot;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.index.SeatPopularityRanking;
+import com.sharedroom.seat.index.SeatSearchIndex;
+import com.sharedroom.seat.index.StudyRoomGeoIndex;
+import com.sharedroom.seat.index.StudyRoomGeoRedisIndex;
+import com.sharedroom.seat.stream.SeatStateStream;
+import com.sharedroom.seat.warmup.SeatWarmup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 座位索引管理控制器(管理员接口)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/seat/index")
+@RequiredArgsConstructor
+public class SeatIndexController {
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final StudyRoomGeoIndex studyRoomGeoIndex;
+    private final StudyRoomGeoRedisIndex studyRoomGeoRedisIndex;
+    private final SeatSearchIndex seatSearchIndex;
+    private final SeatPopularityRanking seatPopularityRanking;
+    private final RoomSeatCounter roomSeatCounter;
+    private final RoomHeatmapSnapshot roomHeatmapSnapshot;
+    private final SeatStateStream seatStateStream;
+    private final SeatWarmup seatWarmup;
+
+    /**
+     * 获取座位可用性索引统计(含各自习室内存占用)
+     */
+    @GetMapping("/stats")
+    public Result<Map<String, Object>> getStats() {
+        return Result.success(seatAvailabilityIndex.getStats());
+    }
+
+    /**
+     * 重建座位可用性索引，不传自习室ID时全量重建
+     */
+    @PostMapping("/rebuild")
+    public Result<Map<String, Object>> rebuild(@RequestParam(required = false) Long studyRoomId) {
+        Map<String, Object> result = studyRoomId != null
+                ? seatAvailabilityIndex.rebuildRoom(studyRoomId)
+                : seatAvailabilityIndex.rebuild();
+        return Result.success("索引重建成功", result);
+    }
+
+    /**
+     * 校验自习室索引与数据库是否一致
+     */
+    @GetMapping("/check/{studyRoomId}")
+    public Result<Map<String, Object>> check(@PathVariable Long studyRoomId) {
+        return Result.success(seatAvailabilityIndex.check(studyRoomId));
+    }
+
+    /**
+     * 获取自习室地理索引统计(含平均候选数与查询耗时)
+     */
+    @GetMapping("/geo/stats")
+    public Result<Map<String, Object>> getGeoStats() {
+        return Result.success(studyRoomGeoIndex.getStats());
+    }
+
+    /**
+     * 全量重建自习室地理索引
+     */
+    @PostMapping("/geo/rebuild")
+    public Result<Map<String, Object>> rebuildGeo() {
+        return Result.success("索引重建成功", studyRoomGeoIndex.rebuild());
+    }
+
+    /**
+     * 获取自习室Redis GEO集合统计
+     */
+    @GetMapping("/geo/redis/stats")
+    public Result<Map<String, Object>> getGeoRedisStats() {
+        return Result.success(studyRoomGeoRedisIndex.getStats());
+    }
+
+    /**
+     * 全量同步自习室Redis GEO集合
+     */
+    @PostMapping("/geo/redis/sync")
+    public Result<Map<String, Object>> syncGeoRedis() {
+        return Result.success("同步成功", studyRoomGeoRedisIndex.fullSync());
+    }
+
+    /**
+     * 全量重建座位分面搜索索引
+     */
+    @PostMapping("/search/rebuild")
+    public Result<Map<String, Object>> rebuildSearch() {
+        return Result.success("索引重建成功", seatSearchIndex.rebuild());
+    }
+
+    /**
+     * 获取热门座位排行榜统计
+     */
+    @GetMapping("/rank/stats")
+    public Result<Map<String, Object>> getRankStats() {
+        return Result.success(seatPopularityRanking.getStats());
+    }
+
+    /**
+     * 全量重建热门座位排行榜
+     */
+    @PostMapping("/rank/rebuild")
+    public Result<Map<String, Object>> rebuildRank() {
+        return Result.success("排行榜重建成功", seatPopularityRanking.rebuild());
+    }
+
+    /**
+     * 获取自习室座位计数统计
+     */
+    @GetMapping("/room-counter/stats")
+    public Result<Map<String, Object>> getRoomCounterStats() {
+        return Result.success(roomSeatCounter.getStats());
+    }
+
+    /**
+     * 按座位表对账自习室座位计数
+     */
+    @PostMapping("/room-counter/reconcile")
+    public Result<Map<String, Object>> reconcileRoomCounter() {
+        return Result.success("对账完成", roomSeatCounter.reconcile());
+    }
+
+    /**
+     * 获取自习室热力图快照统计
+     */
+    @GetMapping("/heatmap/stats")
+    public Result<Map<String, Object>> getHeatmapStats() {
+        return Result.success(roomHeatmapSnapshot.getStats());
+    }
+
+    /**
+     * 获取座位状态推送统计
+     */
+    @GetMapping("/stream/stats")
+    public Result<Map<String, Object>> getStreamStats() {
+        return Result.success(seatStateStream.getStats());
+    }
+
+    /**
+     * 获取启动预热状态、耗时与加载行数
+     */
+    @GetMapping("/warmup/stats")
+    public Result<Map<String, Object>> getWarmupStats() {
+        return Result.success(seatWarmup.getStats());
+    }
+}
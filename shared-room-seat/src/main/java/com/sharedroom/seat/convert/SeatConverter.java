@@ -0,0 +1,124 @@
+package com.sharedroom.seat.convert;
+
+import com.sharedroom.common.utils.LabelUtils;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.vo.SeatBriefVO;
+import com.sharedroom.seat.vo.SeatVO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 座位实体与VO转换
+ * 逐字段赋值，不经反射拷贝；实体或VO增删字段时需同步修改
+ */
+public final class SeatConverter {
+
+    /**
+     * 座位类型名称，下标为座位类型
+     */
+    private static final String[] SEAT_TYPE_NAMES = {null, "普通座位", "靠窗座位", "VIP座位"};
+
+    /**
+     * 座位状态名称，下标为座位状态
+     */
+    private static final String[] SEAT_STATUS_NAMES = {"维护中", "可预订", "已预订", "使用中"};
+
+    private SeatConverter() {
+    }
+
+    /**
+     * 转换为VO对象
+     */
+    public static SeatVO toVO(Seat seat) {
+        SeatVO vo = new SeatVO();
+        vo.setId(seat.getId());
+        vo.setSeatNumber(seat.getSeatNumber());
+        vo.setStudyRoomId(seat.getStudyRoomId());
+        vo.setSeatType(seat.getSeatType());
+        vo.setSeatTypeName(seatTypeName(seat.getSeatType()));
+        vo.setStatus(seat.getStatus());
+        vo.setStatusName(seatStatusName(seat.getStatus()));
+        vo.setPrice(seat.getPrice());
+        vo.setDescription(seat.getDescription());
+        vo.setFacilities(seat.getFacilities());
+        vo.setImages(seat.getImages());
+        vo.setLocation(seat.getLocation());
+        vo.setLayoutRow(seat.getLayoutRow());
+        vo.setLayoutCol(seat.getLayoutCol());
+        vo.setIsWindow(seat.getIsWindow());
+        vo.setHasPower(seat.getHasPower());
+        vo.setHasLamp(seat.getHasLamp());
+        vo.setRating(seat.getRating());
+        vo.setReviewCount(seat.getReviewCount());
+        vo.setCreateTime(seat.getCreateTime());
+        vo.setUpdateTime(seat.getUpdateTime());
+        return vo;
+    }
+
+    /**
+     * 转换为简要信息VO
+     */
+    public static SeatBriefVO toBriefVO(Seat seat, String studyRoomName) {
+        SeatBriefVO vo = new SeatBriefVO();
+        vo.setId(seat.getId());
+        vo.setSeatNumber(seat.getSeatNumber());
+        vo.setStudyRoomId(seat.getStudyRoomId());
+        vo.setStudyRoomName(studyRoomName);
+        vo.setPrice(seat.getPrice());
+        return vo;
+    }
+
+    /**
+     * 复制座位实体，供需要独占座位对象的内存索引使用
+     */
+    public static Seat copy(Seat seat) {
+        Seat copy = new Seat();
+        copy.setId(seat.getId());
+        copy.setSeatNumber(seat.getSeatNumber());
+        copy.setStudyRoomId(seat.getStudyRoomId());
+        copy.setSeatType(seat.getSeatType());
+        copy.setStatus(seat.getStatus());
+        copy.setPrice(seat.getPrice());
+        copy.setDescription(seat.getDescription());
+        copy.setFacilities(seat.getFacilities());
+        copy.setImages(seat.getImages());
+        copy.setLocation(seat.getLocation());
+        copy.setLayoutRow(seat.getLayoutRow());
+        copy.setLayoutCol(seat.getLayoutCol());
+        copy.setIsWindow(seat.getIsWindow());
+        copy.setHasPower(seat.getHasPower());
+        copy.setHasLamp(seat.getHasLamp());
+        copy.setRating(seat.getRating());
+        copy.setReviewCount(seat.getReviewCount());
+        copy.setCreateTime(seat.getCreateTime());
+        copy.setUpdateTime(seat.getUpdateTime());
+        copy.setDeleted(seat.getDeleted());
+        return copy;
+    }
+
+    /**
+     * 逐个复制座位实体
+     */
+    public static List<Seat> copyAll(List<Seat> seats) {
+        List<Seat> copies = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            copies.add(copy(seat));
+        }
+        return copies;
+    }
+
+    /**
+     * 获取座位类型名称
+     */
+    public static String seatTypeName(Integer seatType) {
+        return LabelUtils.label(SEAT_TYPE_NAMES, seatType);
+    }
+
+    /**
+     * 获取座位状态名称
+     */
+    public static String seatStatusName(Integer status) {
+        return LabelUtils.label(SEAT_STATUS_NAMES, status);
+    }
+}
@@ -67,6 +67,16 @@ public class Seat implements Serializable {
      */
     private String location;
 
+    /**
+     * 布局行号，与列号共同确定座位在自习室平面中的网格位置
+     */
+    private Integer layoutRow;
+
+    /**
+     * 布局列号，同一行列号相邻的座位即相邻座位，过道处列号留空
+     */
+    private Integer layoutCol;
+
     /**
      * 是否靠窗 0-否 1-是
      */
@@ -0,0 +1,71 @@
+package com.sharedroom.seat.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 座位时段预订实体类
+ */
+@Data
+@TableName("tb_seat_reservation")
+public class SeatReservation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 预订ID
+     */
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 座位ID
+     */
+    private Long seatId;
+
+    /**
+     * 自习室ID
+     */
+    private Long studyRoomId;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 预订开始时间(按时段对齐)
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 预订结束时间(按时段对齐，不含)
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 状态 1-已预订 2-已释放
+     */
+    private Integer status;
+
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updateTime;
+
+    /**
+     * 逻辑删除 0-未删除 1-已删除
+     */
+    @TableLogic
+    private Integer deleted;
+}
@@ -0,0 +1,65 @@
+package com.sharedroom.seat.event;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 座位变更事件
+ * 通过Redis发布订阅在座位服务各实例间同步内存索引
+ */
+@Data
+public class SeatEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 座位状态变更
+     */
+    public static final String TYPE_STATUS = "STATUS";
+
+    /**
+     * 座位时段预订
+     */
+    public static final String TYPE_SLOT_RESERVED = "SLOT_RESERVED";
+
+    /**
+     * 座位时段释放
+     */
+    public static final String TYPE_SLOT_RELEASED = "SLOT_RELEASED";
+
+    /**
+     * 座位详情缓存失效
+     */
+    public static final String TYPE_CACHE_EVICT = "CACHE_EVICT";
+
+    /**
+     * 事件类型
+     */
+    private String type;
+
+    /**
+     * 发布事件的实例标识
+     */
+    private String source;
+
+    /**
+     * 座位ID
+     */
+    private Long seatId;
+
+    /**
+     * 座位状态
+     */
+    private Integer status;
+
+    /**
+     * 时段开始时间(ISO格式)
+     */
+    private String startTime;
+
+    /**
+     * 时段结束时间(ISO格式)
+     */
+    private String endTime;
+}
@@ -0,0 +1,73 @@
+package com.sharedroom.seat.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 座位变更事件发布器
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatEventPublisher {
+
+    /**
+     * 座位变更事件频道
+     */
+    public static final String CHANNEL = "seat:event";
+
+    /**
+     * 当前实例标识，用于忽略自身发布的事件
+     */
+    public static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 发布座位状态变更
+     */
+    public void publishStatus(Long seatId, Integer status) {
+        SeatEvent event = newEvent(SeatEvent.TYPE_STATUS, seatId);
+        event.setStatus(status);
+        publish(event);
+    }
+
+    /**
+     * 发布座位时段变更
+     */
+    public void publishSlot(String type, Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        SeatEvent event = newEvent(type, seatId);
+        event.setStartTime(startTime.toString());
+        event.setEndTime(endTime.toString());
+        publish(event);
+    }
+
+    /**
+     * 发布座位详情缓存失效
+     */
+    public void publishCacheEvict(Long seatId) {
+        publish(newEvent(SeatEvent.TYPE_CACHE_EVICT, seatId));
+    }
+
+    private SeatEvent newEvent(String type, Long seatId) {
+        SeatEvent event = new SeatEvent();
+        event.setType(type);
+        event.setSource(NODE_ID);
+        event.setSeatId(seatId);
+        return event;
+    }
+
+    private void publish(SeatEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event);
+        } catch (Exception e) {
+            // 发布失败不影响主流程，其他实例由索引定时重建修复
+            log.error("发布座位变更事件失败: {}", event, e);
+        }
+    }
+}
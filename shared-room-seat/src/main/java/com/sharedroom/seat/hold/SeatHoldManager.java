@@ -0,0 +1,178 @@
+package com.sharedroom.seat.hold;
+
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.seat.service.SeatService;
+import com.sharedroom.seat.vo.SeatBriefVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 座位临时占用(订单预订Saga的Try阶段)
+ * 占用即按原预订流程将座位置为已预订，同时在Redis有序集合中登记"占用ID:座位ID:用户ID"及到期时间；
+ * 确认与取消都以ZREM的返回值决定唯一胜者，占用成员包含用户ID，只有占用者本人能确认或取消；
+ * 到期未确认的占用由定时任务取消并释放座位，TTL有服务端上限，订单服务宕机时座位最多被占用一个TTL
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatHoldManager {
+
+    private static final String HOLD_KEY = "seat:hold:deadline";
+    private static final String CONFIRMED_PREFIX = "seat:hold:confirmed:";
+    private static final Duration CONFIRMED_TTL = Duration.ofDays(1);
+
+    private final SeatService seatService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 每次回收的到期占用数上限
+     */
+    @Value("${seat.hold.reap-batch-size:100}")
+    private int reapBatchSize;
+
+    /**
+     * 占用TTL上限(秒)，调用方传入更长的TTL时按上限处理
+     */
+    @Value("${seat.hold.max-ttl-seconds:120}")
+    private long maxTtlSeconds;
+
+    private final AtomicLong held = new AtomicLong();
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    /**
+     * 临时占用座位
+     *
+     * @return 计价所需的座位信息
+     */
+    public SeatBriefVO hold(Long seatId, Long userId, Long holdId, long ttlSeconds) {
+        long ttl = Math.max(1L, Math.min(ttlSeconds, maxTtlSeconds));
+        SeatBriefVO seat = seatService.reserveSeatAndDescribe(seatId, userId);
+        try {
+            long deadline = System.currentTimeMillis() + ttl * 1000L;
+            stringRedisTemplate.opsForZSet().add(HOLD_KEY, member(holdId, seatId, userId), deadline);
+        } catch (RuntimeException e) {
+            // 未登记的占用无法到期回收，直接释放座位
+            seatService.releaseSeat(seatId);
+            throw e;
+        }
+        held.incrementAndGet();
+        return seat;
+    }
+
+    /**
+     * 确认占用，座位保持已预订；重复确认返回相同结果
+     *
+     * @return false表示占用已到期、已取消或不属于该用户
+     */
+    public boolean confirm(Long seatId, Long holdId, Long userId) {
+        String member = member(holdId, seatId, userId);
+        Long removed = stringRedisTemplate.opsForZSet().remove(HOLD_KEY, member);
+        if (removed != null && removed > 0) {
+            stringRedisTemplate.opsForValue().set(CONFIRMED_PREFIX + member, "1", CONFIRMED_TTL);
+            confirmed.incrementAndGet();
+            return true;
+        }
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(CONFIRMED_PREFIX + member));
+    }
+
+    /**
+     * 取消占用并释放座位，占用已到期、不存在或不属于该用户时不做处理；
+     * 已确认的占用只会在确认应答丢失后由订单服务补偿取消，此时同样释放座位。
+     * 释放失败时恢复占用登记并抛出异常，由订单服务重试取消
+     *
+     * @return 是否释放了座位
+     */
+    public boolean cancel(Long seatId, Long holdId, Long userId) {
+        String member = member(holdId, seatId, userId);
+        Long removed = stringRedisTemplate.opsForZSet().remove(HOLD_KEY, member);
+        boolean pending = removed != null && removed > 0;
+        if (!pending && !Boolean.TRUE.equals(stringRedisTemplate.delete(CONFIRMED_PREFIX + member))) {
+            return false;
+        }
+        try {
+            releaseOrThrow(seatId);
+        } catch (RuntimeException e) {
+            if (pending) {
+                // 以当前时间重新登记，重试前到期回收也会释放
+                stringRedisTemplate.opsForZSet().add(HOLD_KEY, member, System.currentTimeMillis());
+            } else {
+                stringRedisTemplate.opsForValue().set(CONFIRMED_PREFIX + member, "1", CONFIRMED_TTL);
+            }
+            throw e;
+        }
+        cancelled.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 回收到期未确认的占用，多实例并发执行时由ZREM保证每个占用只释放一次
+     */
+    @Scheduled(fixedDelayString = "${seat.hold.reap-interval:5000}")
+    public void reapExpired() {
+        Set<String> members;
+        try {
+            members = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(HOLD_KEY, 0, System.currentTimeMillis(), 0, reapBatchSize);
+        } catch (Exception e) {
+            log.warn("查询到期座位占用失败: {}", e.getMessage());
+            return;
+        }
+        if (members == null) {
+            return;
+        }
+        for (String member : members) {
+            Long removed = stringRedisTemplate.opsForZSet().remove(HOLD_KEY, member);
+            if (removed == null || removed == 0) {
+                continue;
+            }
+            Long seatId = Long.valueOf(member.split(":")[1]);
+            try {
+                releaseOrThrow(seatId);
+                expired.incrementAndGet();
+                log.info("座位占用到期释放: hold={}", member);
+            } catch (Exception e) {
+                log.error("释放到期占用的座位失败，下次回收时重试: hold={}", member, e);
+                stringRedisTemplate.opsForZSet().add(HOLD_KEY, member, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * 占用数量与累计确认、取消、到期次数
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", stringRedisTemplate.opsForZSet().zCard(HOLD_KEY));
+        stats.put("held", held.get());
+        stats.put("confirmed", confirmed.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("expired", expired.get());
+        return stats;
+    }
+
+    /**
+     * 释放座位；锁模式下获取锁超时releaseSeat返回false而不抛异常，此时座位仍未空闲视为释放失败
+     */
+    private void releaseOrThrow(Long seatId) {
+        if (!seatService.releaseSeat(seatId) && !seatService.isSeatAvailable(seatId)) {
+            throw new BusinessException(ResultCode.SEAT_LOCK_FAILED);
+        }
+    }
+
+    private static String member(Long holdId, Long seatId, Long userId) {
+        return holdId + ":" + seatId + ":" + userId;
+    }
+}
@@ -0,0 +1,168 @@
+package com.sharedroom.seat.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharedroom.common.result.Result;
+import com.sharedroom.seat.mapper.SeatMapper;
+import com.sharedroom.seat.vo.RoomHeatVO;
+import com.sharedroom.seat.vo.RoomHeatmapVO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 自习室占用热力图快照
+ * 定时由座位可用性索引汇总各自习室按类型、状态的座位数，序列化后整体替换为不可变快照；
+ * ETag取自习室数据的摘要，内容不变时沿用旧快照，轮询请求可直接返回304，无需任何序列化
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomHeatmapSnapshot implements ApplicationRunner {
+
+    private static final int STATUS_AVAILABLE = 1;
+    private static final int STATUS_BOOKED = 2;
+    private static final int STATUS_IN_USE = 3;
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatMapper seatMapper;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    private long version;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        scheduledRebuild();
+    }
+
+    /**
+     * 定时重建快照
+     */
+    @Scheduled(fixedDelayString = "${seat.heatmap.refresh-interval:5000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("自习室热力图快照重建失败", e);
+        }
+    }
+
+    /**
+     * 获取当前快照，尚未生成时同步生成一次
+     */
+    public Snapshot get() throws JsonProcessingException {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * 重建快照，内容未变化时返回旧快照
+     */
+    public synchronized Snapshot rebuild() throws JsonProcessingException {
+        Map<Long, int[][]> counts = seatAvailabilityIndex.countByTypeAndStatus();
+        if (counts == null) {
+            // 索引未就绪时按数据库分组统计
+            counts = countFromDatabase();
+        }
+
+        List<RoomHeatVO> rooms = new ArrayList<>(counts.size());
+        new TreeMap<>(counts).forEach((studyRoomId, typeStatus) -> rooms.add(toRoomHeat(studyRoomId, typeStatus)));
+        String etag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(rooms)) + "\"";
+
+        Snapshot current = snapshot;
+        if (current != null && current.getEtag().equals(etag)) {
+            return current;
+        }
+
+        RoomHeatmapVO heatmap = new RoomHeatmapVO();
+        heatmap.setVersion(++version);
+        heatmap.setGeneratedAt(LocalDateTime.now());
+        heatmap.setRooms(rooms);
+        Snapshot rebuilt = new Snapshot(etag, version, rooms.size(), objectMapper.writeValueAsBytes(Result.success(heatmap)));
+        snapshot = rebuilt;
+        log.debug("自习室热力图快照已更新: version={}, rooms={}, bytes={}", version, rooms.size(), rebuilt.getBody().length);
+        return rebuilt;
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current != null ? current.getVersion() : null);
+        stats.put("etag", current != null ? current.getEtag() : null);
+        stats.put("rooms", current != null ? current.getRooms() : null);
+        stats.put("bytes", current != null ? current.getBody().length : null);
+        return stats;
+    }
+
+    private RoomHeatVO toRoomHeat(Long studyRoomId, int[][] typeStatus) {
+        int[] statusCounts = new int[SeatAvailabilityIndex.STATUS_BOUND];
+        Map<Integer, int[]> typeStatusCounts = new TreeMap<>();
+        for (int type = 0; type < typeStatus.length; type++) {
+            int typeTotal = 0;
+            for (int status = 0; status < typeStatus[type].length; status++) {
+                statusCounts[status] += typeStatus[type][status];
+                typeTotal += typeStatus[type][status];
+            }
+            if (typeTotal > 0) {
+                typeStatusCounts.put(type, typeStatus[type]);
+            }
+        }
+        int total = 0;
+        for (int count : statusCounts) {
+            total += count;
+        }
+        RoomHeatVO room = new RoomHeatVO();
+        room.setStudyRoomId(studyRoomId);
+        room.setTotal(total);
+        room.setAvailable(statusCounts[STATUS_AVAILABLE]);
+        room.setOccupancy(total == 0 ? 0 : (statusCounts[STATUS_BOOKED] + statusCounts[STATUS_IN_USE]) * 100 / total);
+        room.setStatusCounts(statusCounts);
+        room.setTypeStatusCounts(typeStatusCounts);
+        return room;
+    }
+
+    private Map<Long, int[][]> countFromDatabase() {
+        Map<Long, int[][]> counts = new HashMap<>();
+        for (Map<String, Object> row : seatMapper.countByStudyRoomTypeAndStatus()) {
+            Long studyRoomId = ((Number) row.get("studyRoomId")).longValue();
+            int seatType = row.get("seatType") != null ? ((Number) row.get("seatType")).intValue() : 0;
+            int status = row.get("status") != null ? ((Number) row.get("status")).intValue() : 0;
+            int type = seatType > 0 && seatType < SeatAvailabilityIndex.SEAT_TYPE_BOUND ? seatType : 0;
+            int statusIndex = status >= 0 && status < SeatAvailabilityIndex.STATUS_BOUND ? status : 0;
+            counts.computeIfAbsent(studyRoomId,
+                    id -> new int[SeatAvailabilityIndex.SEAT_TYPE_BOUND][SeatAvailabilityIndex.STATUS_BOUND])
+                    [type][statusIndex] += ((Number) row.get("seatCount")).intValue();
+        }
+        return counts;
+    }
+
+    /**
+     * 不可变快照：ETag与预先序列化好的响应体
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        private final String etag;
+        private final long version;
+        private final int rooms;
+        private final byte[] body;
+    }
+}
@@ -0,0 +1,695 @@
+package com.sharedroom.seat.index;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sharedroom.seat.convert.SeatConverter;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.mapper.SeatMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 座位可用性内存索引
+ * 按自习室维护座位ID(升序long数组)与状态(byte数组)，启动时全量加载，
+ * 座位状态变更时同步更新，可用性查询无需访问数据库或Redis。
+ * 加载期间状态变更的座位在新索引装入后按数据库重新同步(含评分)，并定时全量重建修复漏收的变更事件。
+ * 索引内的座位对象在写锁内原地修改，对外返回的座位均为读锁内复制的副本
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatAvailabilityIndex implements ApplicationRunner {
+
+    private static final byte STATUS_AVAILABLE = 1;
+
+    /**
+     * 按类型、状态计数时的数组长度，座位类型1-3、状态0-3，超出范围的计入下标0
+     */
+    public static final int SEAT_TYPE_BOUND = 4;
+    public static final int STATUS_BOUND = 4;
+
+    /**
+     * 加载后重新同步变更座位时每次查询的座位数
+     */
+    private static final int RESYNC_BATCH_SIZE = 500;
+
+    private final SeatMapper seatMapper;
+
+    @Value("${seat.index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 自习室ID -> 房间索引
+     */
+    private final Map<Long, RoomSeatIndex> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * 座位ID -> 房间索引的定位表，整体替换保证读取一致
+     */
+    private volatile SeatLocator locator = SeatLocator.EMPTY;
+
+    private volatile boolean ready;
+
+    /**
+     * 加载期间发生状态变更的座位，未在加载时为null
+     */
+    private volatile Set<Long> changedDuringLoad;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("座位可用性索引已禁用");
+            return;
+        }
+        if (ready) {
+            // 已由启动预热加载
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("座位可用性索引加载失败，查询将回退到数据库", e);
+        }
+    }
+
+    /**
+     * 索引是否可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 定时全量重建，修复漏收的座位变更事件
+     */
+    @Scheduled(fixedDelayString = "${seat.index.rebuild-interval:300000}", initialDelayString = "${seat.index.rebuild-interval:300000}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("座位可用性索引定时重建失败", e);
+        }
+    }
+
+    /**
+     * 全量重建索引
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        beginLoad();
+        List<Seat> seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>());
+        load(seats);
+        long cost = System.currentTimeMillis() - start;
+        log.info("座位可用性索引重建完成: rooms={}, seats={}, cost={}ms", rooms.size(), seats.size(), cost);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rooms", rooms.size());
+        result.put("seats", seats.size());
+        result.put("costMillis", cost);
+        return result;
+    }
+
+    /**
+     * 启动预热：使用预热流式读取的座位加载索引，索引禁用时忽略
+     *
+     * @return 是否已加载
+     */
+    public boolean warmUp(List<Seat> seats) {
+        if (!enabled) {
+            return false;
+        }
+        load(seats);
+        log.info("座位可用性索引预热完成: rooms={}, seats={}", rooms.size(), seats.size());
+        return true;
+    }
+
+    /**
+     * 开始加载：此后变更的座位在load装入新索引后按数据库重新同步，需在读取座位数据之前调用
+     */
+    public void beginLoad() {
+        if (enabled) {
+            changedDuringLoad = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    /**
+     * 使用给定的座位数据全量替换索引，随后重新同步beginLoad以来变更的座位
+     */
+    public synchronized void load(List<Seat> seats) {
+        Map<Long, List<Seat>> grouped = seats.stream()
+                .filter(seat -> seat.getStudyRoomId() != null)
+                .collect(Collectors.groupingBy(Seat::getStudyRoomId));
+
+        Map<Long, RoomSeatIndex> rebuilt = new HashMap<>();
+        grouped.forEach((studyRoomId, roomSeats) -> rebuilt.put(studyRoomId, new RoomSeatIndex(studyRoomId, roomSeats)));
+
+        rooms.clear();
+        rooms.putAll(rebuilt);
+        locator = SeatLocator.of(rooms.values());
+        ready = true;
+
+        Set<Long> changed = changedDuringLoad;
+        changedDuringLoad = null;
+        if (changed != null && !changed.isEmpty()) {
+            resync(new ArrayList<>(changed));
+        }
+    }
+
+    /**
+     * 按数据库重新同步座位的状态与评分，失败时等待定时重建修复
+     */
+    private void resync(List<Long> seatIds) {
+        try {
+            for (int from = 0; from < seatIds.size(); from += RESYNC_BATCH_SIZE) {
+                List<Long> batch = seatIds.subList(from, Math.min(from + RESYNC_BATCH_SIZE, seatIds.size()));
+                for (Seat seat : seatMapper.selectBatchIds(batch)) {
+                    RoomSeatIndex room = locator.find(seat.getId());
+                    if (room == null) {
+                        continue;
+                    }
+                    if (seat.getStatus() != null) {
+                        room.updateStatus(seat.getId(), seat.getStatus().byteValue());
+                    }
+                    room.updateRating(seat.getId(), seat.getRating(), seat.getReviewCount());
+                }
+            }
+            log.info("座位可用性索引加载期间变更的座位已重新同步: seats={}", seatIds.size());
+        } catch (Exception e) {
+            log.warn("重新同步加载期间变更的座位失败，等待定时重建修复: seats={}, error={}", seatIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 重建单个自习室的索引
+     */
+    public synchronized Map<String, Object> rebuildRoom(Long studyRoomId) {
+        List<Seat> seats = selectRoomSeats(studyRoomId);
+        if (seats.isEmpty()) {
+            rooms.remove(studyRoomId);
+        } else {
+            rooms.put(studyRoomId, new RoomSeatIndex(studyRoomId, seats));
+        }
+        locator = SeatLocator.of(rooms.values());
+        log.info("自习室座位索引重建完成: studyRoomId={}, seats={}", studyRoomId, seats.size());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("studyRoomId", studyRoomId);
+        result.put("seats", seats.size());
+        return result;
+    }
+
+    /**
+     * 查询座位是否可用
+     *
+     * @return 索引中不存在该座位时返回null，由调用方回退查询
+     */
+    public Boolean isAvailable(Long seatId) {
+        if (!isReady() || seatId == null) {
+            return null;
+        }
+        RoomSeatIndex room = locator.find(seatId);
+        if (room == null) {
+            return null;
+        }
+        int slot = room.slotOf(seatId);
+        return slot >= 0 && room.statusAt(slot) == STATUS_AVAILABLE;
+    }
+
+    /**
+     * 查询座位状态
+     *
+     * @return 索引中不存在该座位时返回null
+     */
+    public Integer getStatus(Long seatId) {
+        if (!isReady() || seatId == null) {
+            return null;
+        }
+        RoomSeatIndex room = locator.find(seatId);
+        if (room == null) {
+            return null;
+        }
+        int slot = room.slotOf(seatId);
+        return slot >= 0 ? (int) room.statusAt(slot) : null;
+    }
+
+    /**
+     * 查询自习室内的可用座位快照
+     *
+     * @return 索引中不存在该自习室时返回null，由调用方回退查询
+     */
+    public List<Seat> getAvailableSeats(Long studyRoomId) {
+        if (!isReady() || studyRoomId == null) {
+            return null;
+        }
+        RoomSeatIndex room = rooms.get(studyRoomId);
+        if (room == null) {
+            return null;
+        }
+        return room.availableSeats();
+    }
+
+    /**
+     * 查询自习室内全部座位快照
+     *
+     * @return 索引中不存在该自习室时返回null，由调用方回退查询
+     */
+    public List<Seat> getRoomSeats(Long studyRoomId) {
+        if (!isReady() || studyRoomId == null) {
+            return null;
+        }
+        RoomSeatIndex room = rooms.get(studyRoomId);
+        return room != null ? room.allSeats() : null;
+    }
+
+    /**
+     * 在自习室布局中查找相邻的空闲座位块，基于索引中的实时状态
+     *
+     * @param filter 座位属性筛选条件
+     * @return 索引中不存在该自习室时返回null，由调用方回退查询；自习室未配置布局时返回空列表
+     */
+    public List<SeatBlock> findAdjacentBlocks(Long studyRoomId, int size, Predicate<Seat> filter, int limit) {
+        if (!isReady() || studyRoomId == null) {
+            return null;
+        }
+        RoomSeatIndex room = rooms.get(studyRoomId);
+        return room != null ? room.findBlocks(filter, size, limit) : null;
+    }
+
+    /**
+     * 基于给定座位列表查找相邻的空闲座位块，用于索引未就绪时的回退
+     */
+    public static List<SeatBlock> findAdjacentBlocks(List<Seat> roomSeats, int size, Predicate<Seat> filter, int limit) {
+        return new RoomSeatIndex(null, roomSeats).findBlocks(filter, size, limit);
+    }
+
+    /**
+     * 按自习室统计各座位类型下各状态的座位数
+     *
+     * @return 自习室ID -> [座位类型][状态]计数，索引未就绪时返回null
+     */
+    public Map<Long, int[][]> countByTypeAndStatus() {
+        if (!isReady()) {
+            return null;
+        }
+        Map<Long, int[][]> result = new HashMap<>(rooms.size() * 2);
+        rooms.forEach((studyRoomId, room) -> result.put(studyRoomId, room.countByTypeAndStatus()));
+        return result;
+    }
+
+    /**
+     * 座位状态变更后同步索引
+     *
+     * @return 索引中记录的变更前状态，索引未就绪或座位不在索引中时返回null
+     */
+    public Integer updateStatus(Long seatId, Integer status) {
+        recordChange(seatId);
+        if (!isReady() || seatId == null || status == null) {
+            return null;
+        }
+        RoomSeatIndex room = locator.find(seatId);
+        if (room == null) {
+            log.debug("座位不在索引中，忽略状态同步: seatId={}", seatId);
+            return null;
+        }
+        int previous = room.updateStatus(seatId, status.byteValue());
+        return previous >= 0 ? previous : null;
+    }
+
+    /**
+     * 查询座位快照
+     *
+     * @return 索引中不存在该座位时返回null
+     */
+    public Seat getSeat(Long seatId) {
+        if (!isReady() || seatId == null) {
+            return null;
+        }
+        RoomSeatIndex room = locator.find(seatId);
+        if (room == null) {
+            return null;
+        }
+        int slot = room.slotOf(seatId);
+        return slot >= 0 ? room.seatAt(slot) : null;
+    }
+
+    /**
+     * 对比索引与数据库中的座位状态
+     */
+    public Map<String, Object> check(Long studyRoomId) {
+        List<Seat> seats = selectRoomSeats(studyRoomId);
+        RoomSeatIndex room = rooms.get(studyRoomId);
+
+        List<Long> mismatched = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Seat seat : seats) {
+            int slot = room != null ? room.slotOf(seat.getId()) : -1;
+            if (slot < 0) {
+                missing.add(seat.getId());
+            } else if (seat.getStatus() == null || room.statusAt(slot) != seat.getStatus().byteValue()) {
+                mismatched.add(seat.getId());
+            }
+        }
+        int indexed = room != null ? room.size() : 0;
+        int extra = indexed - (seats.size() - missing.size());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("studyRoomId", studyRoomId);
+        result.put("dbSeats", seats.size());
+        result.put("indexedSeats", indexed);
+        result.put("mismatched", mismatched);
+        result.put("missing", missing);
+        result.put("extra", extra);
+        result.put("consistent", mismatched.isEmpty() && missing.isEmpty() && extra == 0);
+        return result;
+    }
+
+    /**
+     * 索引统计信息，含每个自习室的内存占用估算
+     */
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> roomStats = new ArrayList<>();
+        long totalBytes = locator.estimatedBytes();
+        int totalSeats = 0;
+        for (RoomSeatIndex room : rooms.values()) {
+            long bytes = room.estimatedBytes();
+            totalBytes += bytes;
+            totalSeats += room.size();
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("studyRoomId", room.studyRoomId);
+            item.put("seats", room.size());
+            item.put("available", room.availableCount());
+            item.put("layout", room.layout != null ? room.layout.rowCount() + "x" + room.layout.colCount() : null);
+            item.put("indexBytes", bytes);
+            roomStats.add(item);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("rooms", rooms.size());
+        stats.put("seats", totalSeats);
+        stats.put("locatorBytes", locator.estimatedBytes());
+        stats.put("totalIndexBytes", totalBytes);
+        stats.put("roomStats", roomStats);
+        return stats;
+    }
+
+    private void recordChange(Long seatId) {
+        Set<Long> changed = changedDuringLoad;
+        if (changed != null && seatId != null) {
+            changed.add(seatId);
+        }
+    }
+
+    private List<Seat> selectRoomSeats(Long studyRoomId) {
+        LambdaQueryWrapper<Seat> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Seat::getStudyRoomId, studyRoomId);
+        return seatMapper.selectList(wrapper);
+    }
+
+    /**
+     * 单个自习室的座位索引
+     * 写入持有写锁，读取走StampedLock乐观读，冲突时退化为读锁
+     */
+    static final class RoomSeatIndex {
+
+        final Long studyRoomId;
+        final long[] seatIds;
+        final Seat[] seats;
+        final byte[] statuses;
+        final SeatLayout layout;
+        private final StampedLock lock = new StampedLock();
+        private int availableCount;
+
+        RoomSeatIndex(Long studyRoomId, List<Seat> roomSeats) {
+            List<Seat> sorted = new ArrayList<>(roomSeats);
+            sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            int size = sorted.size();
+            this.studyRoomId = studyRoomId;
+            this.seatIds = new long[size];
+            this.seats = new Seat[size];
+            this.statuses = new byte[size];
+            for (int i = 0; i < size; i++) {
+                Seat seat = sorted.get(i);
+                seatIds[i] = seat.getId();
+                seats[i] = seat;
+                statuses[i] = seat.getStatus() != null ? seat.getStatus().byteValue() : 0;
+                if (statuses[i] == STATUS_AVAILABLE) {
+                    availableCount++;
+                }
+            }
+            this.layout = SeatLayout.build(seats);
+        }
+
+        int size() {
+            return seatIds.length;
+        }
+
+        int slotOf(long seatId) {
+            int slot = Arrays.binarySearch(seatIds, seatId);
+            return slot >= 0 ? slot : -1;
+        }
+
+        byte statusAt(int slot) {
+            long stamp = lock.tryOptimisticRead();
+            byte status = statuses[slot];
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    status = statuses[slot];
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return status;
+        }
+
+        /**
+         * @return 变更前状态，座位不在房间中时返回-1
+         */
+        int updateStatus(long seatId, byte status) {
+            int slot = slotOf(seatId);
+            if (slot < 0) {
+                return -1;
+            }
+            long stamp = lock.writeLock();
+            try {
+                byte old = statuses[slot];
+                if (old == status) {
+                    return old;
+                }
+                statuses[slot] = status;
+                seats[slot].setStatus((int) status);
+                if (old == STATUS_AVAILABLE) {
+                    availableCount--;
+                } else if (status == STATUS_AVAILABLE) {
+                    availableCount++;
+                }
+                return old;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void updateRating(long seatId, BigDecimal rating, Integer reviewCount) {
+            int slot = slotOf(seatId);
+            if (slot < 0) {
+                return;
+            }
+            long stamp = lock.writeLock();
+            try {
+                seats[slot].setRating(rating);
+                seats[slot].setReviewCount(reviewCount);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int availableCount() {
+            long stamp = lock.tryOptimisticRead();
+            int count = availableCount;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    count = availableCount;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return count;
+        }
+
+        Seat seatAt(int slot) {
+            long stamp = lock.readLock();
+            try {
+                return SeatConverter.copy(seats[slot]);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        List<Seat> allSeats() {
+            long stamp = lock.readLock();
+            try {
+                List<Seat> result = new ArrayList<>(seats.length);
+                for (Seat seat : seats) {
+                    result.add(SeatConverter.copy(seat));
+                }
+                return result;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        List<Seat> availableSeats() {
+            long stamp = lock.readLock();
+            try {
+                List<Seat> result = new ArrayList<>(availableCount);
+                for (int i = 0; i < statuses.length; i++) {
+                    if (statuses[i] == STATUS_AVAILABLE) {
+                        result.add(SeatConverter.copy(seats[i]));
+                    }
+                }
+                return result;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int[][] countByTypeAndStatus() {
+            int[][] counts = new int[SEAT_TYPE_BOUND][STATUS_BOUND];
+            long stamp = lock.readLock();
+            try {
+                for (int i = 0; i < statuses.length; i++) {
+                    Integer seatType = seats[i].getSeatType();
+                    int type = seatType != null && seatType > 0 && seatType < SEAT_TYPE_BOUND ? seatType : 0;
+                    int status = statuses[i] >= 0 && statuses[i] < STATUS_BOUND ? statuses[i] : 0;
+                    counts[type][status]++;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            return counts;
+        }
+
+        List<SeatBlock> findBlocks(Predicate<Seat> filter, int size, int limit) {
+            if (layout == null) {
+                return Collections.emptyList();
+            }
+            long stamp = lock.readLock();
+            try {
+                boolean[] eligible = new boolean[statuses.length];
+                for (int i = 0; i < statuses.length; i++) {
+                    eligible[i] = statuses[i] == STATUS_AVAILABLE && filter.test(seats[i]);
+                }
+                List<SeatBlock> result = new ArrayList<>();
+                for (SeatLayout.Block block : layout.findBlocks(eligible, size, limit)) {
+                    List<Seat> blockSeats = new ArrayList<>(block.slots.length);
+                    for (int slot : block.slots) {
+                        blockSeats.add(SeatConverter.copy(seats[slot]));
+                    }
+                    result.add(new SeatBlock(block.shape, blockSeats));
+                }
+                return result;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * 索引结构本身的内存估算(不含座位快照对象)
+         */
+        long estimatedBytes() {
+            return 16 + arrayBytes(seatIds.length, 8) + arrayBytes(seats.length, 4) + arrayBytes(statuses.length, 1)
+                    + (layout != null ? layout.estimatedBytes() : 0);
+        }
+    }
+
+    /**
+     * 座位ID到房间索引的定位表，按座位ID升序存储
+     */
+    static final class SeatLocator {
+
+        static final SeatLocator EMPTY = new SeatLocator(new long[0], new RoomSeatIndex[0]);
+
+        final long[] seatIds;
+        final RoomSeatIndex[] rooms;
+
+        private SeatLocator(long[] seatIds, RoomSeatIndex[] rooms) {
+            this.seatIds = seatIds;
+            this.rooms = rooms;
+        }
+
+        static SeatLocator of(Iterable<RoomSeatIndex> roomIndexes) {
+            List<RoomSeatIndex> list = new ArrayList<>();
+            int total = 0;
+            for (RoomSeatIndex room : roomIndexes) {
+                list.add(room);
+                total += room.size();
+            }
+            long[][] entries = new long[total][];
+            int pos = 0;
+            for (int r = 0; r < list.size(); r++) {
+                for (long seatId : list.get(r).seatIds) {
+                    entries[pos++] = new long[]{seatId, r};
+                }
+            }
+            Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+            long[] ids = new long[total];
+            RoomSeatIndex[] owners = new RoomSeatIndex[total];
+            for (int i = 0; i < total; i++) {
+                ids[i] = entries[i][0];
+                owners[i] = list.get((int) entries[i][1]);
+            }
+            return new SeatLocator(ids, owners);
+        }
+
+        RoomSeatIndex find(long seatId) {
+            int slot = Arrays.binarySearch(seatIds, seatId);
+            return slot >= 0 ? rooms[slot] : null;
+        }
+
+        long estimatedBytes() {
+            return 16 + arrayBytes(seatIds.length, 8) + arrayBytes(rooms.length, 4);
+        }
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        long raw = 16L + (long) length * elementBytes;
+        return (raw + 7) & ~7L;
+    }
+
+    /**
+     * 相邻座位块 row-同一行连续 cluster-网格相连的座位群
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SeatBlock {
+        private final String shape;
+        private final List<Seat> seats;
+    }
+}
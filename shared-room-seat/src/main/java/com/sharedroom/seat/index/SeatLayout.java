@@ -0,0 +1,181 @@
+package com.sharedroom.seat.index;
+
+import com.sharedroom.seat.entity.Seat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 自习室座位布局
+ * 座位按(行号, 列号)落在网格上，同一行列号相差1或同一列行号相差1即视为相邻，
+ * 过道、柱子等位置不分配座位即自然断开。网格为int数组，单元格存放座位在房间索引中的下标
+ */
+final class SeatLayout {
+
+    static final String SHAPE_ROW = "row";
+    static final String SHAPE_CLUSTER = "cluster";
+
+    private static final int EMPTY = -1;
+
+    /**
+     * 网格单元数上限，防止坐标录入错误导致稀疏网格占用过多内存
+     */
+    private static final int MAX_CELLS = 1 << 20;
+
+    private final int rowCount;
+    private final int colCount;
+    private final int[] grid;
+
+    private SeatLayout(int rowCount, int colCount, int[] grid) {
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+        this.grid = grid;
+    }
+
+    /**
+     * 由房间座位构建布局，座位均未配置坐标或网格过大时返回null
+     */
+    static SeatLayout build(Seat[] seats) {
+        int minRow = Integer.MAX_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        int maxCol = Integer.MIN_VALUE;
+        for (Seat seat : seats) {
+            if (seat.getLayoutRow() == null || seat.getLayoutCol() == null) {
+                continue;
+            }
+            minRow = Math.min(minRow, seat.getLayoutRow());
+            minCol = Math.min(minCol, seat.getLayoutCol());
+            maxRow = Math.max(maxRow, seat.getLayoutRow());
+            maxCol = Math.max(maxCol, seat.getLayoutCol());
+        }
+        if (minRow == Integer.MAX_VALUE) {
+            return null;
+        }
+        long cells = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (cells > MAX_CELLS) {
+            return null;
+        }
+        int rowCount = maxRow - minRow + 1;
+        int colCount = maxCol - minCol + 1;
+        int[] grid = new int[(int) cells];
+        Arrays.fill(grid, EMPTY);
+        for (int slot = 0; slot < seats.length; slot++) {
+            Seat seat = seats[slot];
+            if (seat.getLayoutRow() == null || seat.getLayoutCol() == null) {
+                continue;
+            }
+            int cell = (seat.getLayoutRow() - minRow) * colCount + (seat.getLayoutCol() - minCol);
+            // 坐标重复时保留先出现的座位
+            if (grid[cell] == EMPTY) {
+                grid[cell] = slot;
+            }
+        }
+        return new SeatLayout(rowCount, colCount, grid);
+    }
+
+    /**
+     * 查找互不重叠的相邻空闲座位块
+     * 先找同一行连续的座位，不足时再按网格连通找紧凑的座位群，整体为O(网格单元数)
+     *
+     * @param eligible 按座位下标标记是否空闲且满足筛选条件
+     * @param size     每块座位数
+     * @param limit    最多返回的块数
+     * @return 每块为座位下标数组，同行块按列升序
+     */
+    List<Block> findBlocks(boolean[] eligible, int size, int limit) {
+        List<Block> blocks = new ArrayList<>();
+        boolean[] used = new boolean[grid.length];
+
+        for (int row = 0; row < rowCount && blocks.size() < limit; row++) {
+            int run = 0;
+            for (int col = 0; col < colCount && blocks.size() < limit; col++) {
+                int slot = grid[row * colCount + col];
+                run = slot != EMPTY && eligible[slot] ? run + 1 : 0;
+                if (run == size) {
+                    int[] slots = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        int cell = row * colCount + col - size + 1 + i;
+                        slots[i] = grid[cell];
+                        used[cell] = true;
+                    }
+                    blocks.add(new Block(SHAPE_ROW, slots));
+                    run = 0;
+                }
+            }
+        }
+        if (size == 1 || blocks.size() >= limit) {
+            return blocks;
+        }
+
+        // 广度优先从起点向外扩展，得到的座位群尽量紧凑；不足size的连通区域整体标记，不再重复搜索
+        int[] queue = new int[grid.length];
+        boolean[] visited = used.clone();
+        for (int start = 0; start < grid.length && blocks.size() < limit; start++) {
+            if (visited[start] || !isEligible(eligible, start)) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            visited[start] = true;
+            while (head < tail && tail < size) {
+                int cell = queue[head++];
+                int row = cell / colCount;
+                int col = cell % colCount;
+                tail = offer(eligible, visited, queue, tail, size, row > 0 ? cell - colCount : EMPTY);
+                tail = offer(eligible, visited, queue, tail, size, col > 0 ? cell - 1 : EMPTY);
+                tail = offer(eligible, visited, queue, tail, size, col < colCount - 1 ? cell + 1 : EMPTY);
+                tail = offer(eligible, visited, queue, tail, size, row < rowCount - 1 ? cell + colCount : EMPTY);
+            }
+            if (tail == size) {
+                int[] slots = new int[size];
+                for (int i = 0; i < size; i++) {
+                    slots[i] = grid[queue[i]];
+                }
+                blocks.add(new Block(SHAPE_CLUSTER, slots));
+            }
+        }
+        return blocks;
+    }
+
+    private int offer(boolean[] eligible, boolean[] visited, int[] queue, int tail, int size, int cell) {
+        if (tail >= size || cell == EMPTY || visited[cell] || !isEligible(eligible, cell)) {
+            return tail;
+        }
+        visited[cell] = true;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    private boolean isEligible(boolean[] eligible, int cell) {
+        int slot = grid[cell];
+        return slot != EMPTY && eligible[slot];
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    int colCount() {
+        return colCount;
+    }
+
+    long estimatedBytes() {
+        return 24 + 16 + (long) grid.length * 4;
+    }
+
+    /**
+     * 相邻座位块
+     */
+    static final class Block {
+        final String shape;
+        final int[] slots;
+
+        Block(String shape, int[] slots) {
+            this.shape = shape;
+            this.slots = slots;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.sharedroom.seat.index;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sharedroom.common.entity.StudyRoom;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.mapper.SeatMapper;
+import com.sharedroom.seat.mapper.StudyRoomMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 热门座位排行榜
+ * 可用座位按(评分, 评价数)写入Redis有序集合，分全局、自习室、城市三个维度；
+ * 座位状态变更时增量维护，评分与评价数由定时全量重建同步；同一座位在各维度榜单上的写入合并为一次管道往返；
+ * 读取前K名为O(log N + K)，不访问数据库。
+ * 分值编码为 评分(分) * 10^7 + 评价数，评分相同时评价数多者靠前
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatPopularityRanking implements ApplicationRunner {
+
+    public static final String RANK_ALL_KEY = "seat:rank:all";
+    public static final String RANK_ROOM_PREFIX = "seat:rank:room:";
+    public static final String RANK_CITY_PREFIX = "seat:rank:city:";
+    private static final String RANK_KEYS_KEY = "seat:rank:keys";
+    private static final String REBUILD_LOCK_KEY = "seat:rank:rebuild_lock";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(5);
+    private static final String TEMP_SUFFIX = ":rebuilding";
+
+    private static final long REVIEW_COUNT_RADIX = 10_000_000L;
+
+    private final SeatMapper seatMapper;
+    private final StudyRoomMapper studyRoomMapper;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${seat.rank.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 自习室ID -> 城市
+     */
+    private volatile Map<Long, String> roomCities = Collections.emptyMap();
+
+    private volatile boolean ready;
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong updateFailures = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            loadRoomCities();
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(RANK_ALL_KEY))) {
+                ready = true;
+                return;
+            }
+            rebuild();
+        } catch (Exception e) {
+            log.error("热门座位排行榜初始化失败，热门推荐将回退到数据库", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 全量重建：先写入临时键再原子替换，重建期间读请求仍可读到旧榜单
+     */
+    public Map<String, Object> rebuild() {
+        // 城市映射每个实例各自持有，即使未抢到重建锁也需要刷新
+        loadRoomCities();
+        if (!tryLockRebuild()) {
+            // 其他实例正在重建，榜单由其负责
+            ready = true;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("skipped", true);
+            return result;
+        }
+        try {
+            return doRebuild();
+        } finally {
+            unlockRebuild();
+        }
+    }
+
+    private Map<String, Object> doRebuild() {
+        long start = System.currentTimeMillis();
+        List<Seat> seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>()
+                .select(Seat::getId, Seat::getStudyRoomId, Seat::getRating, Seat::getReviewCount)
+                .eq(Seat::getStatus, 1));
+
+        Map<String, Set<ZSetOperations.TypedTuple<Object>>> rankings = new HashMap<>();
+        for (Seat seat : seats) {
+            ZSetOperations.TypedTuple<Object> tuple = ZSetOperations.TypedTuple.of(
+                    String.valueOf(seat.getId()), score(seat.getRating(), seat.getReviewCount()));
+            for (String key : keysOf(seat.getStudyRoomId())) {
+                rankings.computeIfAbsent(key, k -> new HashSet<>()).add(tuple);
+            }
+        }
+
+        for (Map.Entry<String, Set<ZSetOperations.TypedTuple<Object>>> entry : rankings.entrySet()) {
+            String tempKey = entry.getKey() + TEMP_SUFFIX;
+            redisTemplate.delete(tempKey);
+            redisTemplate.opsForZSet().add(tempKey, entry.getValue());
+            redisTemplate.rename(tempKey, entry.getKey());
+        }
+
+        // 清理已没有可用座位的自习室、城市榜单
+        int removed = 0;
+        Set<Object> previousKeys = redisTemplate.opsForSet().members(RANK_KEYS_KEY);
+        if (previousKeys != null) {
+            List<String> stale = new ArrayList<>();
+            for (Object key : previousKeys) {
+                if (!rankings.containsKey(String.valueOf(key))) {
+                    stale.add(String.valueOf(key));
+                }
+            }
+            if (!stale.isEmpty()) {
+                redisTemplate.delete(stale);
+                redisTemplate.opsForSet().remove(RANK_KEYS_KEY, stale.toArray());
+                removed = stale.size();
+            }
+        }
+        if (!rankings.isEmpty()) {
+            redisTemplate.opsForSet().add(RANK_KEYS_KEY, rankings.keySet().toArray());
+        } else {
+            redisTemplate.delete(RANK_ALL_KEY);
+        }
+        ready = true;
+
+        long cost = System.currentTimeMillis() - start;
+        log.info("热门座位排行榜重建完成: seats={}, rankings={}, removed={}, cost={}ms",
+                seats.size(), rankings.size(), removed, cost);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("seats", seats.size());
+        result.put("rankings", rankings.size());
+        result.put("removed", removed);
+        result.put("cost", cost);
+        return result;
+    }
+
+    /**
+     * 定期全量重建，修复增量维护失败造成的偏差
+     */
+    @Scheduled(fixedDelayString = "${seat.rank.rebuild-interval:600000}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("热门座位排行榜定期重建失败", e);
+        }
+    }
+
+    /**
+     * 座位状态变更：可用座位进入榜单，其余状态移出榜单
+     */
+    public void onStatusChanged(Long seatId, Integer status) {
+        if (!isReady()) {
+            return;
+        }
+        Seat seat = seatAvailabilityIndex.getSeat(seatId);
+        if (seat == null) {
+            seat = seatMapper.selectById(seatId);
+        }
+        if (seat == null) {
+            return;
+        }
+        if (status != null && status == 1) {
+            upsert(seat);
+        } else {
+            remove(seat);
+        }
+    }
+
+    private void upsert(Seat seat) {
+        String member = String.valueOf(seat.getId());
+        double score = score(seat.getRating(), seat.getReviewCount());
+        List<String> keys = keysOf(seat.getStudyRoomId());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String key : keys) {
+                        ops.opsForZSet().add(key, member, score);
+                    }
+                    return null;
+                }
+            });
+            updates.incrementAndGet();
+        } catch (Exception e) {
+            updateFailures.incrementAndGet();
+            log.warn("更新热门座位排行榜失败，等待定期重建修复: seatId={}, error={}", seat.getId(), e.getMessage());
+        }
+    }
+
+    private void remove(Seat seat) {
+        String member = String.valueOf(seat.getId());
+        List<String> keys = keysOf(seat.getStudyRoomId());
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String key : keys) {
+                        ops.opsForZSet().remove(key, member);
+                    }
+                    return null;
+                }
+            });
+            updates.incrementAndGet();
+        } catch (Exception e) {
+            updateFailures.incrementAndGet();
+            log.warn("移出热门座位排行榜失败，等待定期重建修复: seatId={}, error={}", seat.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 全局前K名
+     */
+    public List<RankedSeat> topAll(int k) {
+        return top(RANK_ALL_KEY, k);
+    }
+
+    /**
+     * 自习室内前K名
+     */
+    public List<RankedSeat> topOfRoom(Long studyRoomId, int k) {
+        return top(RANK_ROOM_PREFIX + studyRoomId, k);
+    }
+
+    /**
+     * 城市内前K名
+     */
+    public List<RankedSeat> topOfCity(String city, int k) {
+        return top(RANK_CITY_PREFIX + city, k);
+    }
+
+    private List<RankedSeat> top(String key, int k) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, k - 1);
+        List<RankedSeat> seats = new ArrayList<>();
+        if (tuples != null) {
+            for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+                if (tuple.getValue() == null || tuple.getScore() == null) {
+                    continue;
+                }
+                long score = tuple.getScore().longValue();
+                seats.add(new RankedSeat(Long.valueOf(String.valueOf(tuple.getValue())),
+                        BigDecimal.valueOf(score / REVIEW_COUNT_RADIX, 2),
+                        (int) (score % REVIEW_COUNT_RADIX)));
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("seats", isReady() ? redisTemplate.opsForZSet().zCard(RANK_ALL_KEY) : null);
+        stats.put("rankings", isReady() ? redisTemplate.opsForSet().size(RANK_KEYS_KEY) : null);
+        stats.put("cities", new HashSet<>(roomCities.values()).size());
+        stats.put("updates", updates.get());
+        stats.put("updateFailures", updateFailures.get());
+        return stats;
+    }
+
+    private void loadRoomCities() {
+        Map<Long, String> cities = new HashMap<>();
+        for (StudyRoom studyRoom : studyRoomMapper.selectCities()) {
+            if (StringUtils.hasText(studyRoom.getCity())) {
+                cities.put(studyRoom.getId(), studyRoom.getCity());
+            }
+        }
+        roomCities = cities;
+    }
+
+    private List<String> keysOf(Long studyRoomId) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(RANK_ALL_KEY);
+        if (studyRoomId != null) {
+            keys.add(RANK_ROOM_PREFIX + studyRoomId);
+            String city = roomCities.get(studyRoomId);
+            if (city != null) {
+                keys.add(RANK_CITY_PREFIX + city);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 分值编码：评分保留两位小数转为整数分，评价数占低7位
+     */
+    static double score(BigDecimal rating, Integer reviewCount) {
+        long cents = rating != null ? rating.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue() : 0L;
+        long reviews = reviewCount != null ? Math.min(Math.max(reviewCount, 0), REVIEW_COUNT_RADIX - 1) : 0L;
+        return cents * REVIEW_COUNT_RADIX + reviews;
+    }
+
+    private boolean tryLockRebuild() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, SeatEventPublisher.NODE_ID, REBUILD_LOCK_TTL);
+        return Boolean.TRUE.equals(locked);
+    }
+
+    private void unlockRebuild() {
+        if (SeatEventPublisher.NODE_ID.equals(redisTemplate.opsForValue().get(REBUILD_LOCK_KEY))) {
+            redisTemplate.delete(REBUILD_LOCK_KEY);
+        }
+    }
+
+    /**
+     * 榜单条目，评分与评价数由分值解码得到
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class RankedSeat {
+        private final Long seatId;
+        private final BigDecimal rating;
+        private final Integer reviewCount;
+    }
+}
@@ -0,0 +1,503 @@
+package com.sharedroom.seat.index;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sharedroom.seat.dto.SeatSearchDTO;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.mapper.SeatMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 座位分面搜索内存索引
+ * 每个筛选属性值对应一个位图(文档号为座位在快照中的下标)，价格按固定宽度分桶，
+ * 查询时对位图求交集，再一次遍历命中结果同时完成分页与分面计数；
+ * 关键词通过描述与位置的倒排索引(单字+二元组)召回，再按归一化文本的包含关系校验。
+ * 关键词按字面子串匹配，%与_不作通配符(数据库回退查询同样转义)；
+ * 大小写与重音不敏感的比较见fold，与utf8mb4_unicode_ci并非逐字等价
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatSearchIndex implements ApplicationRunner {
+
+    public static final String SORT_PRICE = "price";
+    public static final String SORT_RATING = "rating";
+
+    private final SeatMapper seatMapper;
+
+    @Value("${seat.search.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 价格分桶宽度(元)
+     */
+    @Value("${seat.search.price-bucket:5}")
+    private int priceBucket;
+
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("座位分面搜索索引已禁用");
+            return;
+        }
+        if (snapshot != null) {
+            // 已由启动预热加载
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("座位分面搜索索引加载失败，搜索将回退到数据库", e);
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && snapshot != null;
+    }
+
+    /**
+     * 座位属性变更不频繁，定时全量重建即可；状态变更通过updateStatus增量同步
+     */
+    @Scheduled(fixedDelayString = "${seat.search.rebuild-interval:300000}", initialDelayString = "${seat.search.rebuild-interval:300000}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("座位分面搜索索引定时重建失败", e);
+        }
+    }
+
+    /**
+     * 全量重建
+     */
+    public synchronized Map<String, Object> rebuild() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!enabled) {
+            return result;
+        }
+        long start = System.currentTimeMillis();
+        List<Seat> seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>());
+        snapshot = new Snapshot(seats, priceBucket);
+        long cost = System.currentTimeMillis() - start;
+        log.info("座位分面搜索索引重建完成: seats={}, terms={}, cost={}ms", seats.size(), snapshot.postings.size(), cost);
+
+        result.put("seats", seats.size());
+        result.put("terms", snapshot.postings.size());
+        result.put("costMillis", cost);
+        return result;
+    }
+
+    /**
+     * 启动预热：使用预热流式读取的座位副本，不与可用性索引共享座位对象，索引禁用时忽略
+     *
+     * @return 是否已加载
+     */
+    public synchronized boolean warmUp(List<Seat> seats) {
+        if (!enabled) {
+            return false;
+        }
+        snapshot = new Snapshot(seats, priceBucket);
+        log.info("座位分面搜索索引预热完成: seats={}, terms={}", seats.size(), snapshot.postings.size());
+        return true;
+    }
+
+    /**
+     * 座位状态变更后同步状态位图
+     */
+    public void updateStatus(Long seatId, Integer status) {
+        Snapshot current = snapshot;
+        if (current != null && seatId != null && status != null) {
+            current.updateStatus(seatId, status);
+        }
+    }
+
+    /**
+     * 分面搜索
+     *
+     * @param offset 跳过的命中条数
+     * @param limit  返回的最大条数
+     */
+    public SearchResult search(SeatSearchDTO searchDTO, int offset, int limit) {
+        return snapshot.search(searchDTO, offset, limit);
+    }
+
+    /**
+     * 搜索结果：当前页座位、命中总数与分面计数
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class SearchResult {
+        private final List<Seat> seats;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facets;
+    }
+
+    /**
+     * 关键词匹配前的文本归一化：兼容分解(全角转半角)、去掉组合附加符号(重音)后统一小写，
+     * 近似utf8mb4_unicode_ci的大小写、重音不敏感比较；
+     * 与该排序规则仍有差异(如ß与ss、忽略字符、连字)，这些情况下索引与数据库回退查询的结果可能不同
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 文本是否按字面包含关键词，双方均经fold归一化
+     *
+     * @param foldedKeyword 已归一化的关键词
+     */
+    public static boolean containsKeyword(String text, String foldedKeyword) {
+        return text != null && fold(text).contains(foldedKeyword);
+    }
+
+    /**
+     * 将文本切分为检索词：归一化后每个非空白字符及相邻两个非空白字符组成的二元组，
+     * 任何包含关键词的文本必然包含关键词的全部检索词，因此召回结果是包含匹配的超集
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (!StringUtils.hasText(text)) {
+            return tokens;
+        }
+        String lower = fold(text);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            tokens.add(String.valueOf(c));
+            if (i + 1 < lower.length() && !Character.isWhitespace(lower.charAt(i + 1))) {
+                tokens.add(lower.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 不可变的索引快照，仅状态位图在读写锁保护下增量修改
+     */
+    private static final class Snapshot {
+
+        private final Seat[] seats;
+        private final Map<Long, Integer> docOfSeat = new HashMap<>();
+
+        /**
+         * 归一化后的描述与位置，关键词校验时直接比较
+         */
+        private final String[] foldedDescriptions;
+        private final String[] foldedLocations;
+        private final byte[] statuses;
+        private final int[] priceBuckets;
+        private final int bucketWidth;
+
+        private final Map<Long, BitSet> byStudyRoom = new HashMap<>();
+        private final Map<Integer, BitSet> bySeatType = new HashMap<>();
+        private final Map<Integer, BitSet> byStatus = new HashMap<>();
+        private final Map<Integer, BitSet> byPriceBucket = new TreeMap<>();
+        private final BitSet window = new BitSet();
+        private final BitSet power = new BitSet();
+        private final BitSet lamp = new BitSet();
+        private final Map<String, BitSet> postings = new HashMap<>();
+
+        /**
+         * 按价格、评分、创建时间升序排列的文档号(同值按ID升序)
+         */
+        private final int[] byPrice;
+        private final int[] byRating;
+        private final int[] byCreateTime;
+
+        private final ReentrantReadWriteLock statusLock = new ReentrantReadWriteLock();
+
+        Snapshot(List<Seat> seatList, int bucketWidth) {
+            this.seats = seatList.toArray(new Seat[0]);
+            this.statuses = new byte[seats.length];
+            this.priceBuckets = new int[seats.length];
+            this.foldedDescriptions = new String[seats.length];
+            this.foldedLocations = new String[seats.length];
+            this.bucketWidth = Math.max(bucketWidth, 1);
+            for (int doc = 0; doc < seats.length; doc++) {
+                Seat seat = seats[doc];
+                docOfSeat.put(seat.getId(), doc);
+                if (seat.getStudyRoomId() != null) {
+                    byStudyRoom.computeIfAbsent(seat.getStudyRoomId(), key -> new BitSet()).set(doc);
+                }
+                if (seat.getSeatType() != null) {
+                    bySeatType.computeIfAbsent(seat.getSeatType(), key -> new BitSet()).set(doc);
+                }
+                int status = seat.getStatus() != null ? seat.getStatus() : -1;
+                statuses[doc] = (byte) status;
+                byStatus.computeIfAbsent(status, key -> new BitSet()).set(doc);
+                priceBuckets[doc] = bucketOf(seat.getPrice());
+                byPriceBucket.computeIfAbsent(priceBuckets[doc], key -> new BitSet()).set(doc);
+                if (isTrue(seat.getIsWindow())) {
+                    window.set(doc);
+                }
+                if (isTrue(seat.getHasPower())) {
+                    power.set(doc);
+                }
+                if (isTrue(seat.getHasLamp())) {
+                    lamp.set(doc);
+                }
+                foldedDescriptions[doc] = fold(seat.getDescription());
+                foldedLocations[doc] = fold(seat.getLocation());
+                Set<String> terms = tokenize(seat.getDescription());
+                terms.addAll(tokenize(seat.getLocation()));
+                for (String term : terms) {
+                    postings.computeIfAbsent(term, key -> new BitSet()).set(doc);
+                }
+            }
+            byPrice = order(Comparator.comparing(seat -> seat.getPrice() != null ? seat.getPrice() : BigDecimal.ZERO));
+            byRating = order(Comparator.comparing(seat -> seat.getRating() != null ? seat.getRating() : BigDecimal.ZERO));
+            byCreateTime = order(Comparator.comparing(seat -> seat.getCreateTime() != null ? seat.getCreateTime() : LocalDateTime.MIN));
+        }
+
+        void updateStatus(Long seatId, int status) {
+            Integer doc = docOfSeat.get(seatId);
+            if (doc == null) {
+                return;
+            }
+            statusLock.writeLock().lock();
+            try {
+                BitSet previous = byStatus.get((int) statuses[doc]);
+                if (previous != null) {
+                    previous.clear(doc);
+                }
+                byStatus.computeIfAbsent(status, key -> new BitSet()).set(doc);
+                statuses[doc] = (byte) status;
+            } finally {
+                statusLock.writeLock().unlock();
+            }
+        }
+
+        SearchResult search(SeatSearchDTO dto, int offset, int limit) {
+            BitSet matches = new BitSet(seats.length);
+            matches.set(0, seats.length);
+            and(matches, dto.getStudyRoomId() == null ? null : byStudyRoom.get(dto.getStudyRoomId()), dto.getStudyRoomId() != null);
+            and(matches, dto.getSeatType() == null ? null : bySeatType.get(dto.getSeatType()), dto.getSeatType() != null);
+            flag(matches, window, dto.getIsWindow());
+            flag(matches, power, dto.getHasPower());
+            flag(matches, lamp, dto.getHasLamp());
+            if (dto.getMinPrice() != null || dto.getMaxPrice() != null) {
+                matches.and(priceRange(dto.getMinPrice(), dto.getMaxPrice()));
+            }
+            if (StringUtils.hasText(dto.getKeyword())) {
+                matchKeyword(matches, dto.getKeyword());
+            }
+
+            statusLock.readLock().lock();
+            try {
+                if (dto.getStatus() != null) {
+                    and(matches, byStatus.get(dto.getStatus()), true);
+                }
+                return collect(matches, dto, offset, limit);
+            } finally {
+                statusLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * 一次遍历命中结果：按排序顺序截取当前页，同时累计各分面计数
+         */
+        private SearchResult collect(BitSet matches, SeatSearchDTO dto, int offset, int limit) {
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            Map<String, Integer> seatTypeFacet = new TreeMap<>();
+            Map<String, Integer> statusFacet = new TreeMap<>();
+            Map<String, Integer> windowFacet = new TreeMap<>();
+            Map<String, Integer> powerFacet = new TreeMap<>();
+            Map<String, Integer> lampFacet = new TreeMap<>();
+            Map<Integer, Integer> priceCounts = new TreeMap<>();
+
+            boolean asc = "asc".equalsIgnoreCase(dto.getSortOrder());
+            int[] order = orderOf(dto.getSortBy());
+            List<Seat> page = new ArrayList<>(Math.max(limit, 0));
+            int total = 0;
+            for (int i = 0; i < order.length; i++) {
+                int doc = order[asc ? i : order.length - 1 - i];
+                if (!matches.get(doc)) {
+                    continue;
+                }
+                if (total >= offset && page.size() < limit) {
+                    page.add(seats[doc]);
+                }
+                total++;
+
+                Seat seat = seats[doc];
+                increment(seatTypeFacet, String.valueOf(seat.getSeatType()));
+                increment(statusFacet, String.valueOf(statuses[doc]));
+                increment(windowFacet, window.get(doc) ? "1" : "0");
+                increment(powerFacet, power.get(doc) ? "1" : "0");
+                increment(lampFacet, lamp.get(doc) ? "1" : "0");
+                priceCounts.merge(priceBuckets[doc], 1, Integer::sum);
+            }
+
+            Map<String, Integer> priceFacet = new LinkedHashMap<>();
+            priceCounts.forEach((bucket, count) -> priceFacet.put(
+                    bucket * bucketWidth + "-" + (bucket + 1) * bucketWidth, count));
+            facets.put("seatType", seatTypeFacet);
+            facets.put("status", statusFacet);
+            facets.put("isWindow", windowFacet);
+            facets.put("hasPower", powerFacet);
+            facets.put("hasLamp", lampFacet);
+            facets.put("price", priceFacet);
+            return new SearchResult(page, total, facets);
+        }
+
+        /**
+         * 价格区间位图：完整覆盖的分桶直接合并，两端的分桶逐条比较价格
+         */
+        private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+            int fromBucket = minPrice != null ? bucketOf(minPrice) : Integer.MIN_VALUE;
+            int toBucket = maxPrice != null ? bucketOf(maxPrice) : Integer.MAX_VALUE;
+            BitSet result = new BitSet(seats.length);
+            for (Map.Entry<Integer, BitSet> entry : byPriceBucket.entrySet()) {
+                int bucket = entry.getKey();
+                if (bucket < fromBucket || bucket > toBucket) {
+                    continue;
+                }
+                if (bucket > fromBucket && bucket < toBucket) {
+                    result.or(entry.getValue());
+                    continue;
+                }
+                BitSet edge = entry.getValue();
+                for (int doc = edge.nextSetBit(0); doc >= 0; doc = edge.nextSetBit(doc + 1)) {
+                    BigDecimal price = seats[doc].getPrice();
+                    if (price != null
+                            && (minPrice == null || price.compareTo(minPrice) >= 0)
+                            && (maxPrice == null || price.compareTo(maxPrice) <= 0)) {
+                        result.set(doc);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 关键词：各检索词倒排位图求交集召回候选，再校验描述或位置包含关键词
+         */
+        private void matchKeyword(BitSet matches, String keyword) {
+            for (String term : tokenize(keyword)) {
+                BitSet posting = postings.get(term);
+                if (posting == null) {
+                    matches.clear();
+                    return;
+                }
+                matches.and(posting);
+            }
+            String folded = fold(keyword);
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                if (!contains(foldedDescriptions[doc], folded) && !contains(foldedLocations[doc], folded)) {
+                    matches.clear(doc);
+                }
+            }
+        }
+
+        private int[] orderOf(String sortBy) {
+            if (SORT_PRICE.equals(sortBy)) {
+                return byPrice;
+            }
+            if (SORT_RATING.equals(sortBy)) {
+                return byRating;
+            }
+            return byCreateTime;
+        }
+
+        private int[] order(Comparator<Seat> comparator) {
+            Integer[] docs = new Integer[seats.length];
+            for (int i = 0; i < docs.length; i++) {
+                docs[i] = i;
+            }
+            Comparator<Seat> withId = comparator.thenComparing(Seat::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+            Arrays.sort(docs, (a, b) -> withId.compare(seats[a], seats[b]));
+            int[] result = new int[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                result[i] = docs[i];
+            }
+            return result;
+        }
+
+        private int bucketOf(BigDecimal price) {
+            return price == null ? 0 : price.intValue() / bucketWidth;
+        }
+
+        private static void and(BitSet matches, BitSet filter, boolean required) {
+            if (!required) {
+                return;
+            }
+            if (filter == null) {
+                matches.clear();
+            } else {
+                matches.and(filter);
+            }
+        }
+
+        private static void flag(BitSet matches, BitSet flagged, Integer expected) {
+            if (expected == null) {
+                return;
+            }
+            if (expected == 1) {
+                matches.and(flagged);
+            } else {
+                matches.andNot(flagged);
+            }
+        }
+
+        private static boolean contains(String foldedText, String foldedKeyword) {
+            return foldedText != null && foldedText.contains(foldedKeyword);
+        }
+
+        private static boolean isTrue(Integer value) {
+            return value != null && value == 1;
+        }
+
+        private static void increment(Map<String, Integer> counts, String key) {
+            counts.merge(key, 1, Integer::sum);
+        }
+    }
+}
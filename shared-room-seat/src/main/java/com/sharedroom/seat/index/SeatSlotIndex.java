@@ -0,0 +1,199 @@
+package com.sharedroom.seat.index;
+
+import com.sharedroom.seat.entity.SeatReservation;
+import com.sharedroom.seat.mapper.SeatReservationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 座位时段内存索引
+ * 每个座位按天维护96个15分钟时段的位图(两个long)，
+ * 用于在微秒级判断某座位某时段是否空闲
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatSlotIndex implements ApplicationRunner {
+
+    /**
+     * 时段粒度(分钟)
+     */
+    public static final int SLOT_MINUTES = 15;
+
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final SeatReservationMapper seatReservationMapper;
+
+    /**
+     * 座位ID -> 座位时段位图
+     */
+    private final Map<Long, SeatSlots> seats = new ConcurrentHashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("座位时段索引加载失败", e);
+        }
+    }
+
+    /**
+     * 从预订表重新加载未结束的预订
+     */
+    public synchronized void reload() {
+        List<SeatReservation> reservations = seatReservationMapper.selectActiveReservations(LocalDateTime.now());
+        seats.clear();
+        for (SeatReservation reservation : reservations) {
+            mark(reservation.getSeatId(), reservation.getStartTime(), reservation.getEndTime());
+        }
+        log.info("座位时段索引加载完成: reservations={}, seats={}", reservations.size(), seats.size());
+    }
+
+    /**
+     * 将开始时间向下对齐到时段边界
+     */
+    public static LocalDateTime floorToSlot(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % SLOT_MINUTES);
+    }
+
+    /**
+     * 将结束时间向上对齐到时段边界
+     */
+    public static LocalDateTime ceilToSlot(LocalDateTime time) {
+        LocalDateTime floor = floorToSlot(time);
+        return floor.equals(time) ? floor : floor.plusMinutes(SLOT_MINUTES);
+    }
+
+    /**
+     * 座位在[startTime, endTime)内是否空闲
+     */
+    public boolean isFree(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        SeatSlots slots = seats.get(seatId);
+        return slots == null || slots.isFree(toSlot(floorToSlot(startTime)), toSlot(ceilToSlot(endTime)));
+    }
+
+    /**
+     * 标记座位时段为已占用
+     */
+    public void mark(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        long fromSlot = toSlot(floorToSlot(startTime));
+        long toSlot = toSlot(ceilToSlot(endTime));
+        seats.compute(seatId, (id, slots) -> {
+            SeatSlots target = slots != null ? slots : new SeatSlots();
+            target.set(fromSlot, toSlot, true);
+            return target;
+        });
+    }
+
+    /**
+     * 清除座位时段占用
+     */
+    public void clear(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        SeatSlots slots = seats.get(seatId);
+        if (slots != null) {
+            slots.set(toSlot(floorToSlot(startTime)), toSlot(ceilToSlot(endTime)), false);
+        }
+    }
+
+    /**
+     * 每天凌晨清理已过去日期的位图
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    public void purgeExpired() {
+        purgeBefore(LocalDate.now());
+    }
+
+    /**
+     * 清理指定日期之前的位图
+     */
+    public void purgeBefore(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        for (Long seatId : seats.keySet()) {
+            seats.computeIfPresent(seatId, (id, slots) -> {
+                slots.purgeBefore(epochDay);
+                return slots.isEmpty() ? null : slots;
+            });
+        }
+    }
+
+    /**
+     * 已加载时段位图的座位数
+     */
+    public int size() {
+        return seats.size();
+    }
+
+    private static long toSlot(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * SLOTS_PER_DAY
+                + (time.getHour() * 60L + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /**
+     * 单个座位的时段位图，按天分块
+     */
+    static final class SeatSlots {
+
+        private final Map<Long, long[]> days = new HashMap<>();
+
+        synchronized boolean isFree(long fromSlot, long toSlot) {
+            for (long slot = fromSlot; slot < toSlot; slot++) {
+                long[] bits = days.get(slot / SLOTS_PER_DAY);
+                if (bits != null) {
+                    int bit = (int) (slot % SLOTS_PER_DAY);
+                    if ((bits[bit >>> 6] & (1L << (bit & 63))) != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        synchronized void set(long fromSlot, long toSlot, boolean occupied) {
+            for (long slot = fromSlot; slot < toSlot; slot++) {
+                long day = slot / SLOTS_PER_DAY;
+                long[] bits = days.get(day);
+                if (bits == null) {
+                    if (!occupied) {
+                        continue;
+                    }
+                    bits = new long[(SLOTS_PER_DAY + 63) / 64];
+                    days.put(day, bits);
+                }
+                int bit = (int) (slot % SLOTS_PER_DAY);
+                if (occupied) {
+                    bits[bit >>> 6] |= 1L << (bit & 63);
+                } else {
+                    bits[bit >>> 6] &= ~(1L << (bit & 63));
+                }
+            }
+        }
+
+        synchronized void purgeBefore(long epochDay) {
+            Iterator<Long> iterator = days.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() < epochDay) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return days.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.sharedroom.seat.index;
+
+import com.sharedroom.common.entity.StudyRoom;
+import com.sharedroom.seat.mapper.StudyRoomMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 自习室地理网格索引
+ * 按经纬度将自习室划分到固定大小的网格中，半径查询只扫描外接矩形覆盖的网格，
+ * k近邻查询按环逐层向外扩展，避免每次附近搜索都对数据库做全表距离计算
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyRoomGeoIndex implements ApplicationRunner {
+
+    private static final double EARTH_RADIUS_METERS = 6371008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private final StudyRoomMapper studyRoomMapper;
+
+    /**
+     * 网格边长(度)，默认0.01度约1.1公里
+     */
+    @Value("${seat.geo.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    /**
+     * k近邻查询最多扩展的环数
+     */
+    @Value("${seat.geo.max-rings:200}")
+    private int maxRings;
+
+    /**
+     * 自习室ID -> 位置
+     */
+    private final Map<Long, RoomPoint> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * 网格编号 -> 网格内自习室ID
+     */
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * 增量刷新水位(已同步到的最大更新时间)
+     */
+    private volatile LocalDateTime watermark;
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong candidates = new AtomicLong();
+    private final AtomicLong queryNanos = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (ready) {
+            // 已由启动预热加载
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("自习室地理索引加载失败，附近搜索将回退到数据库", e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全量重建
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        rooms.clear();
+        cells.clear();
+        LocalDateTime[] maxUpdateTime = new LocalDateTime[1];
+        studyRoomMapper.scanLocations(context -> {
+            StudyRoom studyRoom = context.getResultObject();
+            put(studyRoom);
+            maxUpdateTime[0] = later(maxUpdateTime[0], studyRoom.getUpdateTime());
+        });
+        watermark = maxUpdateTime[0] != null ? maxUpdateTime[0] : LocalDateTime.now();
+        ready = true;
+        long cost = System.currentTimeMillis() - start;
+        log.info("自习室地理索引重建完成: rooms={}, cells={}, cost={}ms", rooms.size(), cells.size(), cost);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rooms", rooms.size());
+        result.put("cells", cells.size());
+        result.put("cost", cost);
+        return result;
+    }
+
+    /**
+     * 按更新时间增量刷新新增、移动和删除的自习室
+     */
+    @Scheduled(fixedDelayString = "${seat.geo.refresh-interval:30000}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            List<StudyRoom> changed = studyRoomMapper.selectLocationsUpdatedSince(watermark);
+            LocalDateTime maxUpdateTime = watermark;
+            for (StudyRoom studyRoom : changed) {
+                if (studyRoom.getDeleted() != null && studyRoom.getDeleted() == 1) {
+                    remove(studyRoom.getId());
+                } else {
+                    put(studyRoom);
+                }
+                maxUpdateTime = later(maxUpdateTime, studyRoom.getUpdateTime());
+            }
+            watermark = maxUpdateTime;
+            if (!changed.isEmpty()) {
+                log.debug("自习室地理索引增量刷新: changed={}", changed.size());
+            }
+        } catch (Exception e) {
+            log.error("自习室地理索引增量刷新失败", e);
+        }
+    }
+
+    /**
+     * 新增或移动自习室
+     */
+    public void put(StudyRoom studyRoom) {
+        if (studyRoom.getLongitude() == null || studyRoom.getLatitude() == null) {
+            remove(studyRoom.getId());
+            return;
+        }
+        RoomPoint point = new RoomPoint(studyRoom.getId(),
+                studyRoom.getLongitude().doubleValue(), studyRoom.getLatitude().doubleValue());
+        long cell = cellOf(point.longitude, point.latitude);
+        RoomPoint previous = rooms.put(point.roomId, point);
+        if (previous != null) {
+            long previousCell = cellOf(previous.longitude, previous.latitude);
+            if (previousCell != cell) {
+                removeFromCell(previousCell, point.roomId);
+            }
+        }
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(point.roomId);
+    }
+
+    /**
+     * 移除自习室
+     */
+    public void remove(Long roomId) {
+        RoomPoint previous = rooms.remove(roomId);
+        if (previous != null) {
+            removeFromCell(cellOf(previous.longitude, previous.latitude), roomId);
+        }
+    }
+
+    /**
+     * 查询半径范围内的自习室，按距离升序
+     */
+    public List<RoomDistance> searchRadius(double longitude, double latitude, double radiusMeters) {
+        long start = System.nanoTime();
+        int latSpan = (int) Math.ceil(radiusMeters / METERS_PER_DEGREE / cellDegrees);
+        int lngSpan = (int) Math.ceil(radiusMeters / (METERS_PER_DEGREE * lngScale(latitude)) / cellDegrees);
+        int centerLat = index(latitude);
+        int centerLng = index(longitude);
+
+        List<RoomDistance> result = new ArrayList<>();
+        int scanned = 0;
+        if ((long) (2 * latSpan + 1) * (2 * lngSpan + 1) > cells.size()) {
+            // 覆盖的网格数多于非空网格数时直接扫描全部自习室
+            for (RoomPoint point : rooms.values()) {
+                scanned++;
+                addIfWithin(result, point, longitude, latitude, radiusMeters);
+            }
+        } else {
+            for (int lat = centerLat - latSpan; lat <= centerLat + latSpan; lat++) {
+                for (int lng = centerLng - lngSpan; lng <= centerLng + lngSpan; lng++) {
+                    scanned += scanCell(result, cellKey(lat, lng), longitude, latitude, radiusMeters);
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(RoomDistance::getDistance));
+        record(scanned, start);
+        return result;
+    }
+
+    /**
+     * 查询最近的k个自习室，按距离升序
+     */
+    public List<RoomDistance> searchNearest(double longitude, double latitude, int k) {
+        long start = System.nanoTime();
+        int centerLat = index(latitude);
+        int centerLng = index(longitude);
+        // 一个网格在经纬两个方向上的最短边长(米)，用于判断外层环是否还可能更近
+        double cellMeters = cellDegrees * METERS_PER_DEGREE * Math.min(1.0, lngScale(latitude));
+
+        List<RoomDistance> found = new ArrayList<>();
+        int scanned = 0;
+        int scannedRooms = 0;
+        for (int ring = 0; ring <= maxRings && scannedRooms < rooms.size(); ring++) {
+            for (int lat = centerLat - ring; lat <= centerLat + ring; lat++) {
+                for (int lng = centerLng - ring; lng <= centerLng + ring; lng++) {
+                    if (Math.abs(lat - centerLat) != ring && Math.abs(lng - centerLng) != ring) {
+                        continue;
+                    }
+                    int count = scanCell(found, cellKey(lat, lng), longitude, latitude, Double.MAX_VALUE);
+                    scanned += count;
+                    scannedRooms += count;
+                }
+            }
+            if (found.size() >= k) {
+                found.sort(Comparator.comparingDouble(RoomDistance::getDistance));
+                // 第ring+1环及以外的点距离至少为ring*cellMeters
+                if (found.get(k - 1).getDistance() <= ring * cellMeters) {
+                    break;
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(RoomDistance::getDistance));
+        record(scanned, start);
+        return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+    }
+
+    /**
+     * 索引统计，含平均候选数与平均查询耗时
+     */
+    public Map<String, Object> getStats() {
+        long queryCount = queries.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("rooms", rooms.size());
+        stats.put("cells", cells.size());
+        stats.put("cellDegrees", cellDegrees);
+        stats.put("watermark", watermark);
+        stats.put("queries", queryCount);
+        stats.put("avgCandidates", queryCount == 0 ? 0 : (double) candidates.get() / queryCount);
+        stats.put("avgLatencyMicros", queryCount == 0 ? 0 : (double) queryNanos.get() / queryCount / 1000);
+        return stats;
+    }
+
+    private int scanCell(List<RoomDistance> result, long cell, double longitude, double latitude, double radiusMeters) {
+        Set<Long> roomIds = cells.get(cell);
+        if (roomIds == null) {
+            return 0;
+        }
+        int scanned = 0;
+        for (Long roomId : roomIds) {
+            RoomPoint point = rooms.get(roomId);
+            if (point != null) {
+                scanned++;
+                addIfWithin(result, point, longitude, latitude, radiusMeters);
+            }
+        }
+        return scanned;
+    }
+
+    private void addIfWithin(List<RoomDistance> result, RoomPoint point, double longitude, double latitude, double radiusMeters) {
+        double distance = distance(longitude, latitude, point.longitude, point.latitude);
+        if (distance <= radiusMeters) {
+            result.add(new RoomDistance(point.roomId, distance));
+        }
+    }
+
+    private void removeFromCell(long cell, Long roomId) {
+        cells.computeIfPresent(cell, (key, roomIds) -> {
+            roomIds.remove(roomId);
+            return roomIds.isEmpty() ? null : roomIds;
+        });
+    }
+
+    private void record(int scanned, long startNanos) {
+        queries.incrementAndGet();
+        candidates.addAndGet(scanned);
+        queryNanos.addAndGet(System.nanoTime() - startNanos);
+    }
+
+    private long cellOf(double longitude, double latitude) {
+        return cellKey(index(latitude), index(longitude));
+    }
+
+    private int index(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    private static double lngScale(double latitude) {
+        return Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    /**
+     * 球面距离(米)
+     */
+    public static double distance(double lng1, double lat1, double lng2, double lat2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static final class RoomPoint {
+        private final Long roomId;
+        private final double longitude;
+        private final double latitude;
+
+        private RoomPoint(Long roomId, double longitude, double latitude) {
+            this.roomId = roomId;
+            this.longitude = longitude;
+            this.latitude = latitude;
+        }
+    }
+
+    /**
+     * 自习室及其到查询点的距离
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class RoomDistance {
+        private final Long roomId;
+        private final double distance;
+    }
+}
@@ -0,0 +1,242 @@
+package com.sharedroom.seat.index;
+
+import com.sharedroom.common.entity.StudyRoom;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.mapper.StudyRoomMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于Redis GEO的自习室位置索引
+ * 自习室坐标镜像到Redis GEO集合，多个座位服务实例共享同一份空间索引；
+ * 同步任务按更新时间水位增量同步新增、移动和删除，水位保存在Redis中，任一实例均可接续
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyRoomGeoRedisIndex implements ApplicationRunner {
+
+    public static final String GEO_KEY = "seat:geo:study_room";
+    private static final String WATERMARK_KEY = "seat:geo:study_room:watermark";
+    private static final String SYNC_LOCK_KEY = "seat:geo:study_room:sync_lock";
+    private static final Duration SYNC_LOCK_TTL = Duration.ofMinutes(1);
+
+    private final StudyRoomMapper studyRoomMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${seat.nearby.mode:grid}")
+    private String nearbyMode;
+
+    private volatile boolean ready;
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong results = new AtomicLong();
+    private final AtomicLong queryNanos = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            fullSync();
+        } catch (Exception e) {
+            log.error("自习室GEO集合同步失败，附近搜索将回退到数据库", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return "redis".equals(nearbyMode);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 全量同步：写入全部自习室坐标并移除数据库中已不存在的成员
+     */
+    public Map<String, Object> fullSync() {
+        if (!tryLockSync()) {
+            // 其他实例正在同步，GEO集合由其负责
+            ready = true;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("skipped", true);
+            return result;
+        }
+        try {
+            return doFullSync();
+        } finally {
+            unlockSync();
+        }
+    }
+
+    private Map<String, Object> doFullSync() {
+        long start = System.currentTimeMillis();
+        List<StudyRoom> studyRooms = studyRoomMapper.selectLocations();
+        Set<Object> alive = new HashSet<>();
+        Map<Object, Point> points = new LinkedHashMap<>();
+        LocalDateTime maxUpdateTime = null;
+        for (StudyRoom studyRoom : studyRooms) {
+            if (studyRoom.getLongitude() != null && studyRoom.getLatitude() != null) {
+                String member = String.valueOf(studyRoom.getId());
+                alive.add(member);
+                points.put(member, new Point(studyRoom.getLongitude().doubleValue(), studyRoom.getLatitude().doubleValue()));
+            }
+            if (studyRoom.getUpdateTime() != null
+                    && (maxUpdateTime == null || studyRoom.getUpdateTime().isAfter(maxUpdateTime))) {
+                maxUpdateTime = studyRoom.getUpdateTime();
+            }
+        }
+        if (!points.isEmpty()) {
+            redisTemplate.opsForGeo().add(GEO_KEY, points);
+        }
+
+        int removed = 0;
+        Set<Object> members = redisTemplate.opsForZSet().range(GEO_KEY, 0, -1);
+        if (members != null) {
+            List<Object> stale = new ArrayList<>();
+            for (Object member : members) {
+                if (!alive.contains(member)) {
+                    stale.add(member);
+                }
+            }
+            if (!stale.isEmpty()) {
+                redisTemplate.opsForZSet().remove(GEO_KEY, stale.toArray());
+                removed = stale.size();
+            }
+        }
+        saveWatermark(maxUpdateTime != null ? maxUpdateTime : LocalDateTime.now());
+        ready = true;
+
+        long cost = System.currentTimeMillis() - start;
+        log.info("自习室GEO集合全量同步完成: rooms={}, removed={}, cost={}ms", points.size(), removed, cost);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rooms", points.size());
+        result.put("removed", removed);
+        result.put("cost", cost);
+        return result;
+    }
+
+    /**
+     * 按水位增量同步新增、移动和删除的自习室
+     */
+    @Scheduled(fixedDelayString = "${seat.geo.refresh-interval:30000}")
+    public void refresh() {
+        if (!isEnabled() || !ready || !tryLockSync()) {
+            return;
+        }
+        try {
+            LocalDateTime watermark = loadWatermark();
+            if (watermark == null) {
+                doFullSync();
+                return;
+            }
+            List<StudyRoom> changed = studyRoomMapper.selectLocationsUpdatedSince(watermark);
+            LocalDateTime maxUpdateTime = watermark;
+            for (StudyRoom studyRoom : changed) {
+                String member = String.valueOf(studyRoom.getId());
+                boolean deleted = studyRoom.getDeleted() != null && studyRoom.getDeleted() == 1;
+                if (deleted || studyRoom.getLongitude() == null || studyRoom.getLatitude() == null) {
+                    redisTemplate.opsForZSet().remove(GEO_KEY, member);
+                } else {
+                    redisTemplate.opsForGeo().add(GEO_KEY,
+                            new Point(studyRoom.getLongitude().doubleValue(), studyRoom.getLatitude().doubleValue()), member);
+                }
+                if (studyRoom.getUpdateTime() != null && studyRoom.getUpdateTime().isAfter(maxUpdateTime)) {
+                    maxUpdateTime = studyRoom.getUpdateTime();
+                }
+            }
+            saveWatermark(maxUpdateTime);
+            if (!changed.isEmpty()) {
+                log.debug("自习室GEO集合增量同步: changed={}", changed.size());
+            }
+        } catch (Exception e) {
+            log.error("自习室GEO集合增量同步失败", e);
+        } finally {
+            unlockSync();
+        }
+    }
+
+    /**
+     * 查询半径范围内的自习室，按距离升序
+     */
+    public List<StudyRoomGeoIndex.RoomDistance> searchRadius(double longitude, double latitude, double radiusMeters) {
+        long start = System.nanoTime();
+        RedisGeoCommands.GeoRadiusCommandArgs args = RedisGeoCommands.GeoRadiusCommandArgs.newGeoRadiusArgs()
+                .includeDistance()
+                .sortAscending();
+        GeoResults<RedisGeoCommands.GeoLocation<Object>> geoResults = redisTemplate.opsForGeo().radius(GEO_KEY,
+                new Circle(new Point(longitude, latitude), new Distance(radiusMeters, RedisGeoCommands.DistanceUnit.METERS)), args);
+
+        List<StudyRoomGeoIndex.RoomDistance> rooms = new ArrayList<>();
+        if (geoResults != null) {
+            for (GeoResult<RedisGeoCommands.GeoLocation<Object>> geoResult : geoResults) {
+                Long roomId = Long.valueOf(String.valueOf(geoResult.getContent().getName()));
+                rooms.add(new StudyRoomGeoIndex.RoomDistance(roomId, geoResult.getDistance().getValue()));
+            }
+        }
+        queries.incrementAndGet();
+        results.addAndGet(rooms.size());
+        queryNanos.addAndGet(System.nanoTime() - start);
+        return rooms;
+    }
+
+    /**
+     * 统计信息，含平均结果数与平均查询耗时(含Redis往返)
+     */
+    public Map<String, Object> getStats() {
+        long queryCount = queries.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("ready", ready);
+        stats.put("rooms", ready ? redisTemplate.opsForZSet().zCard(GEO_KEY) : null);
+        stats.put("watermark", ready ? loadWatermark() : null);
+        stats.put("queries", queryCount);
+        stats.put("avgResults", queryCount == 0 ? 0 : (double) results.get() / queryCount);
+        stats.put("avgLatencyMicros", queryCount == 0 ? 0 : (double) queryNanos.get() / queryCount / 1000);
+        return stats;
+    }
+
+    private boolean tryLockSync() {
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(SYNC_LOCK_KEY, SeatEventPublisher.NODE_ID, SYNC_LOCK_TTL);
+        return Boolean.TRUE.equals(locked);
+    }
+
+    private void unlockSync() {
+        if (SeatEventPublisher.NODE_ID.equals(redisTemplate.opsForValue().get(SYNC_LOCK_KEY))) {
+            redisTemplate.delete(SYNC_LOCK_KEY);
+        }
+    }
+
+    private LocalDateTime loadWatermark() {
+        Object value = redisTemplate.opsForValue().get(WATERMARK_KEY);
+        return value != null ? LocalDateTime.parse(value.toString()) : null;
+    }
+
+    private void saveWatermark(LocalDateTime watermark) {
+        redisTemplate.opsForValue().set(WATERMARK_KEY, watermark.toString());
+    }
+}
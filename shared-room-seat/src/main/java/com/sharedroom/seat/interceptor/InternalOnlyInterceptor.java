@@ -0,0 +1,30 @@
+package com.sharedroom.seat.interceptor;
+
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.ResultCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 服务间接口拦截器
+ * 网关转发的请求都带有用户请求头，带该请求头的请求视为来自外部用户，直接拒绝；
+ * 网关同时拒绝这些路径，此处防止新增路由遗漏
+ */
+@Slf4j
+@Component
+public class InternalOnlyInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (StringUtils.hasText(request.getHeader("X-User-Id"))) {
+            log.warn("拒绝外部请求访问服务间接口: uri={}, userId={}", request.getRequestURI(), request.getHeader("X-User-Id"));
+            throw new BusinessException(ResultCode.FORBIDDEN);
+        }
+        return true;
+    }
+}
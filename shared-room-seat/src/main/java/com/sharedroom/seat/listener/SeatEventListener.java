@@ -0,0 +1,75 @@
+package com.sharedroom.seat.listener;
+
+import com.sharedroom.seat.cache.SeatDetailCache;
+import com.sharedroom.seat.event.SeatEvent;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.index.SeatSearchIndex;
+import com.sharedroom.seat.index.SeatSlotIndex;
+import com.sharedroom.seat.stream.SeatStateStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 座位变更事件监听器
+ * 将其他实例发布的座位变更应用到本实例的内存索引和本地缓存
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatEventListener implements MessageListener {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatSlotIndex seatSlotIndex;
+    private final SeatDetailCache seatDetailCache;
+    private final SeatSearchIndex seatSearchIndex;
+    private final SeatStateStream seatStateStream;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (!(body instanceof SeatEvent)) {
+                return;
+            }
+            SeatEvent event = (SeatEvent) body;
+            if (SeatEventPublisher.NODE_ID.equals(event.getSource())) {
+                return;
+            }
+            apply(event);
+        } catch (Exception e) {
+            log.error("处理座位变更事件失败", e);
+        }
+    }
+
+    private void apply(SeatEvent event) {
+        switch (event.getType()) {
+            case SeatEvent.TYPE_STATUS:
+                seatAvailabilityIndex.updateStatus(event.getSeatId(), event.getStatus());
+                seatSearchIndex.updateStatus(event.getSeatId(), event.getStatus());
+                seatDetailCache.evictLocal(event.getSeatId());
+                seatStateStream.publish(event.getSeatId(), event.getStatus());
+                break;
+            case SeatEvent.TYPE_SLOT_RESERVED:
+                seatSlotIndex.mark(event.getSeatId(),
+                        LocalDateTime.parse(event.getStartTime()), LocalDateTime.parse(event.getEndTime()));
+                break;
+            case SeatEvent.TYPE_SLOT_RELEASED:
+                seatSlotIndex.clear(event.getSeatId(),
+                        LocalDateTime.parse(event.getStartTime()), LocalDateTime.parse(event.getEndTime()));
+                break;
+            case SeatEvent.TYPE_CACHE_EVICT:
+                seatDetailCache.evictLocal(event.getSeatId());
+                break;
+            default:
+                log.warn("未知的座位事件类型: {}", event.getType());
+        }
+    }
+}
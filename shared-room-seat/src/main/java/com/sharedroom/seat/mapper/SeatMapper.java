@@ -2,12 +2,19 @@ package com.sharedroom.seat.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 座位Mapper接口
@@ -34,6 +41,14 @@ public interface SeatMapper extends BaseMapper<Seat> {
                                 @Param("latitude") BigDecimal latitude, 
                                 @Param("radius") Integer radius);
 
+    /**
+     * 查询多个自习室的可预订座位
+     */
+    @Select("<script>SELECT * FROM seat WHERE status = 1 AND deleted = 0 AND study_room_id IN " +
+            "<foreach collection='studyRoomIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<Seat> selectAvailableByStudyRoomIds(@Param("studyRoomIds") List<Long> studyRoomIds);
+
     /**
      * 根据座位类型和价格范围查询座位
      */
@@ -48,6 +63,72 @@ public interface SeatMapper extends BaseMapper<Seat> {
     /**
      * 更新座位状态
      */
-    @Select("UPDATE seat SET status = #{status} WHERE id = #{seatId} AND deleted = 0")
+    @Update("UPDATE seat SET status = #{status}, update_time = NOW() WHERE id = #{seatId} AND deleted = 0")
     int updateSeatStatus(@Param("seatId") Long seatId, @Param("status") Integer status);
-}
\ No newline at end of file
+
+    /**
+     * 按期望状态条件更新座位状态，返回影响行数，0表示状态已被他人修改
+     */
+    @Update("UPDATE seat SET status = #{status}, update_time = NOW() " +
+            "WHERE id = #{seatId} AND status = #{expectedStatus} AND deleted = 0")
+    int compareAndSetStatus(@Param("seatId") Long seatId,
+                            @Param("expectedStatus") Integer expectedStatus,
+                            @Param("status") Integer status);
+
+    /**
+     * 批量按期望状态条件更新座位状态，返回影响行数，小于座位数表示部分座位状态已被他人修改
+     */
+    @Update("<script>UPDATE seat SET status = #{status}, update_time = NOW() " +
+            "WHERE status = #{expectedStatus} AND deleted = 0 AND id IN " +
+            "<foreach collection='seatIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int batchCompareAndSetStatus(@Param("seatIds") List<Long> seatIds,
+                                 @Param("expectedStatus") Integer expectedStatus,
+                                 @Param("status") Integer status);
+
+    /**
+     * 批量更新座位状态
+     */
+    @Update("<script>UPDATE seat SET status = #{status}, update_time = NOW() WHERE deleted = 0 AND id IN " +
+            "<foreach collection='seatIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    int batchUpdateStatus(@Param("seatIds") List<Long> seatIds, @Param("status") Integer status);
+
+    /**
+     * 查询并锁定指定座位中处于已预订或使用中状态的座位ID，需在事务中调用
+     */
+    @Select("<script>SELECT id FROM seat WHERE status IN (2, 3) AND deleted = 0 AND id IN " +
+            "<foreach collection='seatIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            " FOR UPDATE</script>")
+    List<Long> selectOccupiedIdsForUpdate(@Param("seatIds") List<Long> seatIds);
+
+    /**
+     * 按自习室统计可预订座位数与总座位数
+     */
+    @Select("SELECT study_room_id, SUM(CASE WHEN status = 1 THEN 1 ELSE 0 END) AS available, COUNT(*) AS total " +
+            "FROM seat WHERE deleted = 0 GROUP BY study_room_id")
+    List<RoomSeatCounterVO> countByStudyRoom();
+
+    /**
+     * 统计单个自习室的可预订座位数与总座位数
+     */
+    @Select("SELECT #{studyRoomId} AS study_room_id, IFNULL(SUM(CASE WHEN status = 1 THEN 1 ELSE 0 END), 0) AS available, " +
+            "COUNT(*) AS total FROM seat WHERE study_room_id = #{studyRoomId} AND deleted = 0")
+    RoomSeatCounterVO countOfStudyRoom(@Param("studyRoomId") Long studyRoomId);
+
+    /**
+     * 按自习室、座位类型、状态分组统计座位数
+     */
+    @Select("SELECT study_room_id AS studyRoomId, seat_type AS seatType, status, COUNT(*) AS seatCount " +
+            "FROM seat WHERE deleted = 0 GROUP BY study_room_id, seat_type, status")
+    List<Map<String, Object>> countByStudyRoomTypeAndStatus();
+
+    /**
+     * 按ID顺序流式读取全部座位，逐行回调
+     * 需连接参数useCursorFetch=true，MySQL按fetchSize分批返回，驱动不会整体缓存结果集
+     */
+    @Select("SELECT * FROM seat WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(Seat.class)
+    void scanAll(ResultHandler<Seat> handler);
+}
@@ -0,0 +1,51 @@
+package com.sharedroom.seat.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sharedroom.seat.entity.SeatReservation;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 座位时段预订Mapper接口
+ */
+@Mapper
+public interface SeatReservationMapper extends BaseMapper<SeatReservation> {
+
+    /**
+     * 查询未结束的有效预订(用于加载时段索引)
+     */
+    @Select("SELECT * FROM tb_seat_reservation WHERE status = 1 AND end_time > #{now} AND deleted = 0")
+    List<SeatReservation> selectActiveReservations(@Param("now") LocalDateTime now);
+
+    /**
+     * 统计座位在[startTime, endTime)内的有效预订数
+     */
+    @Select("SELECT COUNT(*) FROM tb_seat_reservation WHERE seat_id = #{seatId} " +
+            "AND status = 1 AND start_time < #{endTime} AND end_time > #{startTime} AND deleted = 0")
+    int countSeatOverlap(@Param("seatId") Long seatId,
+                         @Param("startTime") LocalDateTime startTime,
+                         @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 统计用户在[startTime, endTime)内的有效预订数
+     */
+    @Select("SELECT COUNT(*) FROM tb_seat_reservation WHERE user_id = #{userId} " +
+            "AND status = 1 AND start_time < #{endTime} AND end_time > #{startTime} AND deleted = 0")
+    int countUserOverlap(@Param("userId") Long userId,
+                         @Param("startTime") LocalDateTime startTime,
+                         @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 释放座位在指定时段的预订
+     */
+    @Update("UPDATE tb_seat_reservation SET status = 2, update_time = NOW() WHERE seat_id = #{seatId} " +
+            "AND start_time = #{startTime} AND end_time = #{endTime} AND status = 1 AND deleted = 0")
+    int releaseReservation(@Param("seatId") Long seatId,
+                           @Param("startTime") LocalDateTime startTime,
+                           @Param("endTime") LocalDateTime endTime);
+}
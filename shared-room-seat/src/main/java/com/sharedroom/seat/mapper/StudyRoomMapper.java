@@ -0,0 +1,78 @@
+package com.sharedroom.seat.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sharedroom.common.entity.StudyRoom;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 自习室Mapper接口(座位服务只读取位置与名称，仅回写座位计数)
+ */
+@Mapper
+public interface StudyRoomMapper extends BaseMapper<StudyRoom> {
+
+    /**
+     * 查询全部未删除自习室的位置
+     */
+    @Select("SELECT id, longitude, latitude, update_time FROM tb_study_room WHERE deleted = 0")
+    List<StudyRoom> selectLocations();
+
+    /**
+     * 流式读取全部未删除自习室的位置，逐行回调
+     */
+    @Select("SELECT id, longitude, latitude, update_time FROM tb_study_room WHERE deleted = 0")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(StudyRoom.class)
+    void scanLocations(ResultHandler<StudyRoom> handler);
+
+    /**
+     * 查询指定时间之后变更的自习室位置(包含已删除记录，用于增量刷新)
+     */
+    @Select("SELECT id, longitude, latitude, update_time, deleted FROM tb_study_room WHERE update_time >= #{since}")
+    List<StudyRoom> selectLocationsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 查询自习室名称
+     */
+    @Select("SELECT name FROM tb_study_room WHERE id = #{id} AND deleted = 0")
+    String selectNameById(@Param("id") Long id);
+
+    /**
+     * 查询全部未删除自习室所在城市
+     */
+    @Select("SELECT id, city FROM tb_study_room WHERE deleted = 0")
+    List<StudyRoom> selectCities();
+
+    /**
+     * 批量回写可预订座位数
+     * 不更新update_time，避免计数变化触发位置索引的增量同步
+     */
+    @Update("<script>UPDATE tb_study_room SET available_seats = CASE id " +
+            "<foreach collection='counters' item='c'>WHEN #{c.studyRoomId} THEN #{c.available} </foreach>" +
+            "END WHERE id IN " +
+            "<foreach collection='counters' item='c' open='(' separator=',' close=')'>#{c.studyRoomId}</foreach>" +
+            "</script>")
+    int batchUpdateAvailableSeats(@Param("counters") List<RoomSeatCounterVO> counters);
+
+    /**
+     * 批量回写可预订座位数与总座位数，用于对账
+     */
+    @Update("<script>UPDATE tb_study_room SET available_seats = CASE id " +
+            "<foreach collection='counters' item='c'>WHEN #{c.studyRoomId} THEN #{c.available} </foreach>" +
+            "END, total_seats = CASE id " +
+            "<foreach collection='counters' item='c'>WHEN #{c.studyRoomId} THEN #{c.total} </foreach>" +
+            "END WHERE id IN " +
+            "<foreach collection='counters' item='c' open='(' separator=',' close=')'>#{c.studyRoomId}</foreach>" +
+            "</script>")
+    int batchUpdateSeatCounters(@Param("counters") List<RoomSeatCounterVO> counters);
+}
@@ -4,9 +4,15 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.sharedroom.seat.dto.SeatSearchDTO;
 import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.vo.CursorPageVO;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
+import com.sharedroom.seat.vo.SeatBlockVO;
+import com.sharedroom.seat.vo.SeatBriefVO;
+import com.sharedroom.seat.vo.SeatFacetResultVO;
 import com.sharedroom.seat.vo.SeatVO;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +25,23 @@ public interface SeatService extends IService<Seat> {
      */
     Page<SeatVO> getSeatPage(Page<Seat> page, SeatSearchDTO searchDTO);
 
+    /**
+     * 游标分页查询座位列表，按(排序键, ID)定位，不统计总数除非显式要求
+     *
+     * @param cursor 上一页返回的游标，首页为空
+     */
+    CursorPageVO<SeatVO> getSeatCursorPage(String cursor, Integer size, boolean withTotal, SeatSearchDTO searchDTO);
+
+    /**
+     * 分面搜索座位，返回当前页座位及命中结果的分面计数
+     */
+    SeatFacetResultVO searchSeatFacets(Integer current, Integer size, SeatSearchDTO searchDTO);
+
+    /**
+     * 查找自习室内相邻的空闲座位块，座位需满足搜索条件中的属性筛选
+     */
+    List<SeatBlockVO> findAdjacentSeats(SeatSearchDTO searchDTO, Integer size, Integer limit);
+
     /**
      * 根据自习室ID查询可用座位
      */
@@ -29,6 +52,11 @@ public interface SeatService extends IService<Seat> {
      */
     List<SeatVO> searchNearbySeats(BigDecimal longitude, BigDecimal latitude, Integer radius);
 
+    /**
+     * 搜索距离最近的k个自习室内的可用座位
+     */
+    List<SeatVO> searchNearestSeats(BigDecimal longitude, BigDecimal latitude, Integer k);
+
     /**
      * 根据座位ID获取座位详情
      */
@@ -39,11 +67,26 @@ public interface SeatService extends IService<Seat> {
      */
     boolean reserveSeat(Long seatId, Long userId);
 
+    /**
+     * 预订座位并返回计价所需的座位信息，一次调用完成可用性校验与预订
+     */
+    SeatBriefVO reserveSeatAndDescribe(Long seatId, Long userId);
+
     /**
      * 释放座位
      */
     boolean releaseSeat(Long seatId);
 
+    /**
+     * 批量预订座位，全部成功或全部失败
+     */
+    boolean reserveSeats(List<Long> seatIds, Long userId);
+
+    /**
+     * 批量释放座位，返回实际释放的座位数
+     */
+    int releaseSeats(List<Long> seatIds);
+
     /**
      * 检查座位是否可用
      */
@@ -54,6 +97,11 @@ public interface SeatService extends IService<Seat> {
      */
     boolean updateSeatStatus(Long seatId, Integer status);
 
+    /**
+     * 批量查询自习室可预订座位数与总座位数
+     */
+    List<RoomSeatCounterVO> getRoomSeatCounters(List<Long> studyRoomIds);
+
     /**
      * 根据座位类型和价格范围搜索座位
      */
@@ -63,4 +111,29 @@ public interface SeatService extends IService<Seat> {
      * 获取热门座位推荐
      */
     List<SeatVO> getPopularSeats(Integer limit);
-}
\ No newline at end of file
+
+    /**
+     * 获取热门座位推荐，可按自习室或城市限定范围
+     */
+    List<SeatVO> getPopularSeats(Integer limit, Long studyRoomId, String city);
+
+    /**
+     * 预订座位时段[startTime, endTime)，时间按15分钟时段对齐
+     */
+    boolean reserveSeatSlot(Long seatId, Long userId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 释放座位时段
+     */
+    boolean releaseSeatSlot(Long seatId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 检查座位时段是否可预订
+     */
+    boolean isSeatSlotAvailable(Long seatId, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 查询自习室在指定时段内可预订的座位
+     */
+    List<SeatVO> getAvailableSeatsBySlot(Long studyRoomId, LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,93 @@
+package com.sharedroom.seat.service.impl;
+
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.seat.entity.Seat;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 座位游标分页的游标
+ * 记录上一页最后一条记录的(排序键, ID)，编码为URL安全的Base64字符串，
+ * 游标与排序方式绑定，排序方式变化时拒绝使用旧游标
+ */
+@Getter
+final class SeatCursor {
+
+    static final String SORT_PRICE = "price";
+    static final String SORT_RATING = "rating";
+    static final String SORT_CREATE_TIME = "createTime";
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortBy;
+    private final boolean asc;
+    private final String sortValue;
+    private final Long id;
+
+    private SeatCursor(String sortBy, boolean asc, String sortValue, Long id) {
+        this.sortBy = sortBy;
+        this.asc = asc;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * 规范化排序字段，未知字段按创建时间排序(与分页接口一致)
+     */
+    static String normalizeSortBy(String sortBy) {
+        if (SORT_PRICE.equals(sortBy) || SORT_RATING.equals(sortBy)) {
+            return sortBy;
+        }
+        return SORT_CREATE_TIME;
+    }
+
+    /**
+     * 以页内最后一条记录生成下一页游标
+     */
+    static SeatCursor after(String sortBy, boolean asc, Seat last) {
+        Object value;
+        switch (sortBy) {
+            case SORT_PRICE:
+                value = last.getPrice();
+                break;
+            case SORT_RATING:
+                // 与查询中的IFNULL(rating, 0)对应
+                value = last.getRating() != null ? last.getRating() : BigDecimal.ZERO;
+                break;
+            default:
+                value = last.getCreateTime();
+        }
+        String sortValue = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : String.valueOf(value);
+        return new SeatCursor(sortBy, asc, sortValue, last.getId());
+    }
+
+    static SeatCursor decode(String cursor, String sortBy, boolean asc) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !parts[0].equals(sortBy) || Boolean.parseBoolean(parts[1]) != asc) {
+                throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "游标与排序方式不匹配");
+            }
+            return new SeatCursor(parts[0], asc, parts[2], Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "无效的分页游标");
+        }
+    }
+
+    String encode() {
+        String raw = sortBy + SEPARATOR + asc + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 排序键的数据库参数值
+     */
+    Object sortParam() {
+        return SORT_CREATE_TIME.equals(sortBy) ? LocalDateTime.parse(sortValue) : new BigDecimal(sortValue);
+    }
+}
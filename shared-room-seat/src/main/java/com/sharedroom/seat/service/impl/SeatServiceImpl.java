@@ -5,23 +5,55 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sharedroom.common.exception.BusinessException;
 import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.common.utils.PageUtils;
+import com.sharedroom.seat.cache.RoomSeatCounter;
+import com.sharedroom.seat.cache.SeatDetailCache;
+import com.sharedroom.seat.cache.SeatStatusCache;
+import com.sharedroom.seat.cache.SeatStatusScripts;
+import com.sharedroom.seat.cache.StudyRoomNameCache;
+import com.sharedroom.seat.convert.SeatConverter;
 import com.sharedroom.seat.dto.SeatSearchDTO;
 import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.entity.SeatReservation;
+import com.sharedroom.seat.event.SeatEvent;
+import com.sharedroom.seat.event.SeatEventPublisher;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.index.SeatPopularityRanking;
+import com.sharedroom.seat.index.SeatSearchIndex;
+import com.sharedroom.seat.index.SeatSlotIndex;
+import com.sharedroom.seat.index.StudyRoomGeoIndex;
+import com.sharedroom.seat.index.StudyRoomGeoRedisIndex;
 import com.sharedroom.seat.mapper.SeatMapper;
+import com.sharedroom.seat.mapper.SeatReservationMapper;
 import com.sharedroom.seat.service.SeatService;
+import com.sharedroom.seat.stream.SeatStateStream;
+import com.sharedroom.seat.vo.CursorPageVO;
+import com.sharedroom.seat.vo.RoomSeatCounterVO;
+import com.sharedroom.seat.vo.SeatBlockVO;
+import com.sharedroom.seat.vo.SeatBriefVO;
+import com.sharedroom.seat.vo.SeatFacetResultVO;
 import com.sharedroom.seat.vo.SeatVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -35,28 +67,53 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
     private final SeatMapper seatMapper;
     private final RedissonClient redissonClient;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatSlotIndex seatSlotIndex;
+    private final SeatReservationMapper seatReservationMapper;
+    private final SeatEventPublisher seatEventPublisher;
+    private final StudyRoomGeoIndex studyRoomGeoIndex;
+    private final StudyRoomGeoRedisIndex studyRoomGeoRedisIndex;
+    private final SeatDetailCache seatDetailCache;
+    private final SeatStatusCache seatStatusCache;
+    private final SeatSearchIndex seatSearchIndex;
+    private final SeatPopularityRanking seatPopularityRanking;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomSeatCounter roomSeatCounter;
+    private final SeatStateStream seatStateStream;
+    private final StudyRoomNameCache studyRoomNameCache;
 
     private static final String SEAT_LOCK_PREFIX = "seat:lock:";
-    private static final String SEAT_STATUS_PREFIX = "seat:status:";
+    private static final String SEAT_STATUS_PREFIX = SeatStatusCache.SEAT_STATUS_PREFIX;
     private static final int LOCK_WAIT_TIME = 3;
     private static final int LOCK_LEASE_TIME = 10;
+    private static final int STATUS_CACHE_SECONDS = 30 * 60;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_POPULAR_LIMIT = 100;
+    private static final int MAX_BATCH_SEATS = 100;
+    private static final int MAX_BLOCK_SIZE = 20;
+    private static final int MAX_BLOCK_LIMIT = 20;
+
+    private static final String RESERVE_MODE_LUA = "lua";
+    private static final String RESERVE_MODE_DB = "db";
+
+    /**
+     * 座位预订模式 lock-分布式锁 lua-脚本CAS db-数据库条件更新
+     */
+    @Value("${seat.reserve.mode:lock}")
+    private String reserveMode;
+
+    private static final String NEARBY_MODE_SQL = "sql";
+    private static final String NEARBY_MODE_REDIS = "redis";
+
+    /**
+     * 附近搜索模式 grid-内存网格索引 redis-Redis GEO集合 sql-数据库距离计算
+     */
+    @Value("${seat.nearby.mode:grid}")
+    private String nearbyMode;
 
     @Override
     public Page<SeatVO> getSeatPage(Page<Seat> page, SeatSearchDTO searchDTO) {
-        LambdaQueryWrapper<Seat> wrapper = new LambdaQueryWrapper<>();
-        
-        // 构建查询条件
-        wrapper.eq(searchDTO.getStudyRoomId() != null, Seat::getStudyRoomId, searchDTO.getStudyRoomId())
-                .eq(searchDTO.getSeatType() != null, Seat::getSeatType, searchDTO.getSeatType())
-                .eq(searchDTO.getStatus() != null, Seat::getStatus, searchDTO.getStatus())
-                .eq(searchDTO.getIsWindow() != null, Seat::getIsWindow, searchDTO.getIsWindow())
-                .eq(searchDTO.getHasPower() != null, Seat::getHasPower, searchDTO.getHasPower())
-                .eq(searchDTO.getHasLamp() != null, Seat::getHasLamp, searchDTO.getHasLamp())
-                .ge(searchDTO.getMinPrice() != null, Seat::getPrice, searchDTO.getMinPrice())
-                .le(searchDTO.getMaxPrice() != null, Seat::getPrice, searchDTO.getMaxPrice())
-                .like(StringUtils.hasText(searchDTO.getKeyword()), Seat::getDescription, searchDTO.getKeyword())
-                .or()
-                .like(StringUtils.hasText(searchDTO.getKeyword()), Seat::getLocation, searchDTO.getKeyword());
+        LambdaQueryWrapper<Seat> wrapper = buildSearchWrapper(searchDTO);
 
         // 排序
         if (StringUtils.hasText(searchDTO.getSortBy())) {
@@ -78,20 +135,170 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
         Page<Seat> seatPage = this.page(page, wrapper);
         
         // 转换为VO
-        Page<SeatVO> voPage = new Page<>();
-        BeanUtils.copyProperties(seatPage, voPage);
-        List<SeatVO> voList = seatPage.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
-        voPage.setRecords(voList);
-        
-        return voPage;
+        return PageUtils.convert(seatPage, SeatConverter::toVO);
+    }
+
+    @Override
+    public CursorPageVO<SeatVO> getSeatCursorPage(String cursor, Integer size, boolean withTotal, SeatSearchDTO searchDTO) {
+        int limit = size == null || size <= 0 ? 10 : Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        String sortBy = SeatCursor.normalizeSortBy(searchDTO.getSortBy());
+        // 与分页接口一致，仅显式指定asc时升序
+        boolean asc = "asc".equalsIgnoreCase(searchDTO.getSortOrder());
+        String column = getSortColumn(sortBy);
+        String direction = asc ? "ASC" : "DESC";
+
+        LambdaQueryWrapper<Seat> wrapper = buildSearchWrapper(searchDTO);
+        if (StringUtils.hasText(cursor)) {
+            SeatCursor seek = SeatCursor.decode(cursor, sortBy, asc);
+            String op = asc ? ">" : "<";
+            // 先以排序键范围收窄索引扫描，再按(排序键, ID)定位到上一页末尾之后
+            wrapper.apply(column + " " + op + "= {0} AND (" + column + " " + op + " {0} OR id " + op + " {1})",
+                    seek.sortParam(), seek.getId());
+        }
+        wrapper.last("ORDER BY " + column + " " + direction + ", id " + direction + " LIMIT " + (limit + 1));
+        List<Seat> seats = this.list(wrapper);
+
+        boolean hasMore = seats.size() > limit;
+        if (hasMore) {
+            seats = seats.subList(0, limit);
+        }
+        CursorPageVO<SeatVO> result = new CursorPageVO<>();
+        result.setRecords(seats.stream().map(SeatConverter::toVO).collect(Collectors.toList()));
+        result.setSize(limit);
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            result.setNextCursor(SeatCursor.after(sortBy, asc, seats.get(seats.size() - 1)).encode());
+        }
+        if (withTotal) {
+            // 总数仅在显式请求时统计
+            result.setTotal(this.count(buildSearchWrapper(searchDTO)));
+        }
+        return result;
+    }
+
+    @Override
+    public SeatFacetResultVO searchSeatFacets(Integer current, Integer size, SeatSearchDTO searchDTO) {
+        long pageNo = current == null || current <= 0 ? 1 : current;
+        long pageSize = size == null || size <= 0 ? 10 : size;
+        SeatFacetResultVO result = new SeatFacetResultVO();
+        result.setCurrent(pageNo);
+        result.setSize(pageSize);
+
+        if (!seatSearchIndex.isReady()) {
+            // 索引未就绪时回退数据库分页，不返回分面计数
+            Page<SeatVO> page = getSeatPage(new Page<>(pageNo, pageSize), searchDTO);
+            result.setRecords(page.getRecords());
+            result.setTotal(page.getTotal());
+            result.setFacets(Collections.emptyMap());
+            return result;
+        }
+
+        SeatSearchIndex.SearchResult searchResult = seatSearchIndex.search(searchDTO,
+                (int) ((pageNo - 1) * pageSize), (int) pageSize);
+        result.setRecords(searchResult.getSeats().stream().map(SeatConverter::toVO).collect(Collectors.toList()));
+        result.setTotal((long) searchResult.getTotal());
+        result.setFacets(searchResult.getFacets());
+        return result;
+    }
+
+    @Override
+    public List<SeatBlockVO> findAdjacentSeats(SeatSearchDTO searchDTO, Integer size, Integer limit) {
+        if (searchDTO.getStudyRoomId() == null || size == null || size <= 0 || size > MAX_BLOCK_SIZE) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        int blockLimit = limit == null || limit <= 0 ? 5 : Math.min(limit, MAX_BLOCK_LIMIT);
+        Predicate<Seat> filter = buildSeatFilter(searchDTO);
+
+        List<SeatAvailabilityIndex.SeatBlock> blocks = seatAvailabilityIndex.findAdjacentBlocks(
+                searchDTO.getStudyRoomId(), size, filter, blockLimit);
+        if (blocks == null) {
+            // 索引未就绪时按数据库中的可用座位计算
+            List<Seat> seats = seatMapper.selectByStudyRoomIdAndStatus(searchDTO.getStudyRoomId(), 1);
+            blocks = SeatAvailabilityIndex.findAdjacentBlocks(seats, size, filter, blockLimit);
+        }
+
+        List<SeatBlockVO> result = new ArrayList<>(blocks.size());
+        for (SeatAvailabilityIndex.SeatBlock block : blocks) {
+            SeatBlockVO vo = new SeatBlockVO();
+            vo.setShape(block.getShape());
+            vo.setSeats(block.getSeats().stream().map(SeatConverter::toVO).collect(Collectors.toList()));
+            vo.setTotalPrice(block.getSeats().stream()
+                    .map(seat -> seat.getPrice() != null ? seat.getPrice() : BigDecimal.ZERO)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+            result.add(vo);
+        }
+        return result;
+    }
+
+    /**
+     * 按搜索条件构建内存筛选条件，语义与buildSearchWrapper一致(状态由调用方按空闲判断)
+     */
+    private Predicate<Seat> buildSeatFilter(SeatSearchDTO searchDTO) {
+        String keyword = StringUtils.hasText(searchDTO.getKeyword()) ? SeatSearchIndex.fold(searchDTO.getKeyword()) : null;
+        return seat -> (searchDTO.getSeatType() == null || searchDTO.getSeatType().equals(seat.getSeatType()))
+                && (searchDTO.getIsWindow() == null || searchDTO.getIsWindow().equals(seat.getIsWindow()))
+                && (searchDTO.getHasPower() == null || searchDTO.getHasPower().equals(seat.getHasPower()))
+                && (searchDTO.getHasLamp() == null || searchDTO.getHasLamp().equals(seat.getHasLamp()))
+                && (searchDTO.getMinPrice() == null
+                    || seat.getPrice() != null && seat.getPrice().compareTo(searchDTO.getMinPrice()) >= 0)
+                && (searchDTO.getMaxPrice() == null
+                    || seat.getPrice() != null && seat.getPrice().compareTo(searchDTO.getMaxPrice()) <= 0)
+                && (keyword == null
+                    || SeatSearchIndex.containsKeyword(seat.getDescription(), keyword)
+                    || SeatSearchIndex.containsKeyword(seat.getLocation(), keyword));
+    }
+
+    /**
+     * 构建座位搜索条件
+     */
+    private LambdaQueryWrapper<Seat> buildSearchWrapper(SeatSearchDTO searchDTO) {
+        LambdaQueryWrapper<Seat> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(searchDTO.getStudyRoomId() != null, Seat::getStudyRoomId, searchDTO.getStudyRoomId())
+                .eq(searchDTO.getSeatType() != null, Seat::getSeatType, searchDTO.getSeatType())
+                .eq(searchDTO.getStatus() != null, Seat::getStatus, searchDTO.getStatus())
+                .eq(searchDTO.getIsWindow() != null, Seat::getIsWindow, searchDTO.getIsWindow())
+                .eq(searchDTO.getHasPower() != null, Seat::getHasPower, searchDTO.getHasPower())
+                .eq(searchDTO.getHasLamp() != null, Seat::getHasLamp, searchDTO.getHasLamp())
+                .ge(searchDTO.getMinPrice() != null, Seat::getPrice, searchDTO.getMinPrice())
+                .le(searchDTO.getMaxPrice() != null, Seat::getPrice, searchDTO.getMaxPrice())
+                // 关键词条件整体加括号，避免OR越过其他筛选条件；关键词按字面匹配，转义LIKE通配符
+                .and(StringUtils.hasText(searchDTO.getKeyword()), w -> w
+                        .like(Seat::getDescription, escapeLike(searchDTO.getKeyword()))
+                        .or()
+                        .like(Seat::getLocation, escapeLike(searchDTO.getKeyword())));
+        return wrapper;
+    }
+
+    /**
+     * 转义LIKE中的通配符与转义符(MySQL默认转义符为反斜杠)
+     */
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * 游标分页排序字段对应的排序表达式
+     * rating列允许为NULL，NULL与任何值比较都不成立，按0参与定位与排序，与游标中的编码一致
+     */
+    private String getSortColumn(String sortBy) {
+        switch (sortBy) {
+            case SeatCursor.SORT_PRICE:
+                return "price";
+            case SeatCursor.SORT_RATING:
+                return "IFNULL(rating, 0)";
+            default:
+                return "create_time";
+        }
     }
 
     @Override
     public List<SeatVO> getAvailableSeatsByStudyRoomId(Long studyRoomId) {
-        List<Seat> seats = seatMapper.selectByStudyRoomIdAndStatus(studyRoomId, 1);
-        return seats.stream().map(this::convertToVO).collect(Collectors.toList());
+        // 优先从内存索引读取，索引未就绪或无该自习室时回退数据库
+        List<Seat> seats = seatAvailabilityIndex.getAvailableSeats(studyRoomId);
+        if (seats == null) {
+            seats = seatMapper.selectByStudyRoomIdAndStatus(studyRoomId, 1);
+        }
+        return seats.stream().map(SeatConverter::toVO).collect(Collectors.toList());
     }
 
     @Override
@@ -99,21 +306,158 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
         if (radius == null || radius <= 0) {
             radius = 5000; // 默认5公里
         }
+        if (NEARBY_MODE_REDIS.equals(nearbyMode) && studyRoomGeoRedisIndex.isReady()) {
+            try {
+                List<StudyRoomGeoIndex.RoomDistance> rooms = studyRoomGeoRedisIndex.searchRadius(
+                        longitude.doubleValue(), latitude.doubleValue(), radius);
+                return getAvailableSeatsOfRooms(rooms);
+            } catch (Exception e) {
+                log.warn("Redis GEO附近搜索失败，回退数据库: {}", e.getMessage());
+            }
+        } else if (!NEARBY_MODE_SQL.equals(nearbyMode) && !NEARBY_MODE_REDIS.equals(nearbyMode)
+                && studyRoomGeoIndex.isReady()) {
+            List<StudyRoomGeoIndex.RoomDistance> rooms = studyRoomGeoIndex.searchRadius(
+                    longitude.doubleValue(), latitude.doubleValue(), radius);
+            return getAvailableSeatsOfRooms(rooms);
+        }
         List<Seat> seats = seatMapper.selectNearbySeats(longitude, latitude, radius);
-        return seats.stream().map(this::convertToVO).collect(Collectors.toList());
+        return seats.stream().map(SeatConverter::toVO).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SeatVO> searchNearestSeats(BigDecimal longitude, BigDecimal latitude, Integer k) {
+        if (k == null || k <= 0) {
+            k = 10;
+        }
+        if (!studyRoomGeoIndex.isReady()) {
+            // 索引未就绪时按默认半径回退数据库
+            return searchNearbySeats(longitude, latitude, null);
+        }
+        List<StudyRoomGeoIndex.RoomDistance> rooms = studyRoomGeoIndex.searchNearest(
+                longitude.doubleValue(), latitude.doubleValue(), k);
+        return getAvailableSeatsOfRooms(rooms);
+    }
+
+    /**
+     * 按自习室距离顺序获取候选自习室的可用座位，
+     * 优先读取可用性索引，索引中缺失的自习室合并为一次数据库查询
+     */
+    private List<SeatVO> getAvailableSeatsOfRooms(List<StudyRoomGeoIndex.RoomDistance> rooms) {
+        Map<Long, List<Seat>> seatsByRoom = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (StudyRoomGeoIndex.RoomDistance room : rooms) {
+            List<Seat> roomSeats = seatAvailabilityIndex.getAvailableSeats(room.getRoomId());
+            if (roomSeats != null) {
+                seatsByRoom.put(room.getRoomId(), roomSeats);
+            } else {
+                missing.add(room.getRoomId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Seat seat : seatMapper.selectAvailableByStudyRoomIds(missing)) {
+                seatsByRoom.computeIfAbsent(seat.getStudyRoomId(), id -> new ArrayList<>()).add(seat);
+            }
+        }
+
+        List<SeatVO> result = new ArrayList<>();
+        for (StudyRoomGeoIndex.RoomDistance room : rooms) {
+            List<Seat> roomSeats = seatsByRoom.get(room.getRoomId());
+            if (roomSeats != null) {
+                roomSeats.forEach(seat -> result.add(SeatConverter.toVO(seat)));
+            }
+        }
+        return result;
     }
 
     @Override
     public SeatVO getSeatById(Long seatId) {
+        SeatVO vo = seatDetailCache.get(seatId, this::loadSeatVO);
+        if (vo == null) {
+            throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+        }
+        return vo;
+    }
+
+    /**
+     * 座位详情缓存的回源加载，所有经详情缓存读取座位的入口共用，保证缓存内容一致
+     *
+     * @return 座位不存在时返回null
+     */
+    private SeatVO loadSeatVO(Long seatId) {
         Seat seat = this.getById(seatId);
         if (seat == null) {
-            throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+            return null;
         }
-        return convertToVO(seat);
+        SeatVO vo = SeatConverter.toVO(seat);
+        vo.setStudyRoomName(studyRoomNameCache.get(seat.getStudyRoomId()));
+        return vo;
     }
 
     @Override
     public boolean reserveSeat(Long seatId, Long userId) {
+        if (RESERVE_MODE_LUA.equals(reserveMode)) {
+            return reserveSeatByScript(seatId, userId);
+        }
+        if (RESERVE_MODE_DB.equals(reserveMode)) {
+            return reserveSeatByCondition(seatId, userId);
+        }
+        return reserveSeatWithLock(seatId, userId);
+    }
+
+    @Override
+    public SeatBriefVO reserveSeatAndDescribe(Long seatId, Long userId) {
+        // 预订在锁内(或条件更新)校验可用性，无需事先单独检查
+        if (!reserveSeat(seatId, userId)) {
+            throw new BusinessException(ResultCode.SEAT_RESERVE_FAILED);
+        }
+        // 预订已清除座位详情缓存，座位编号、自习室与价格取自内存索引，索引中不存在时回源数据库
+        Seat seat = seatAvailabilityIndex.getSeat(seatId);
+        if (seat == null) {
+            seat = this.getById(seatId);
+        }
+        if (seat == null) {
+            throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+        }
+        return SeatConverter.toBriefVO(seat, studyRoomNameCache.get(seat.getStudyRoomId()));
+    }
+
+    /**
+     * 数据库条件更新预订：UPDATE ... WHERE status = 1，受影响行数决定唯一胜者，
+     * 不依赖Redisson和Redis，适用于单机部署或Redis不可用时
+     */
+    private boolean reserveSeatByCondition(Long seatId, Long userId) {
+        if (seatMapper.compareAndSetStatus(seatId, 1, 2) == 0) {
+            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        }
+        onSeatStatusChanged(seatId, 1, 2);
+        evictSeatStatusQuietly(seatId);
+        log.info("座位预订成功: seatId={}, userId={}", seatId, userId);
+        return true;
+    }
+
+    /**
+     * 删除座位状态缓存，Redis异常时仅记录日志
+     */
+    private void evictSeatStatusQuietly(Long seatId) {
+        try {
+            redisTemplate.delete(SEAT_STATUS_PREFIX + seatId);
+        } catch (Exception e) {
+            log.warn("删除座位状态缓存失败: seatId={}, error={}", seatId, e.getMessage());
+        }
+    }
+
+    private void evictSeatStatusQuietly(List<Long> seatIds) {
+        try {
+            redisTemplate.delete(seatIds.stream().map(id -> SEAT_STATUS_PREFIX + id).collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.warn("批量删除座位状态缓存失败: seatIds={}, error={}", seatIds, e.getMessage());
+        }
+    }
+
+    /**
+     * 分布式锁预订：加锁后检查可用性再更新状态
+     */
+    private boolean reserveSeatWithLock(Long seatId, Long userId) {
         String lockKey = SEAT_LOCK_PREFIX + seatId;
         RLock lock = redissonClient.getLock(lockKey);
         
@@ -121,8 +465,8 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
             // 尝试获取分布式锁
             if (lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
                 try {
-                    // 检查座位是否可用
-                    if (!isSeatAvailable(seatId)) {
+                    // 检查座位是否可用(锁内以Redis/数据库为准，避免多实例间索引滞后)
+                    if (!isSeatAvailableInStore(seatId)) {
                         throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
                     }
                     
@@ -148,8 +492,60 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
         }
     }
 
+    /**
+     * 脚本CAS预订：一次Redis往返原子抢占座位状态，再以条件更新落库，
+     * 数据库条件更新仍是最终裁决，落库失败时撤销Redis中的抢占
+     */
+    private boolean reserveSeatByScript(Long seatId, Long userId) {
+        String statusKey = SEAT_STATUS_PREFIX + seatId;
+        Long claimed = casSeatStatus(statusKey, 1, 2, -1);
+        if (claimed != null && claimed == -1) {
+            // 缓存缺失，携带数据库状态初始化后重试(并发回源合并为一次查询)
+            Integer status = seatStatusCache.getStatus(seatId);
+            if (status == null) {
+                throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+            }
+            claimed = casSeatStatus(statusKey, 1, 2, status);
+        }
+        if (claimed == null || claimed != 1) {
+            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        }
+
+        int updated;
+        try {
+            updated = seatMapper.compareAndSetStatus(seatId, 1, 2);
+        } catch (RuntimeException e) {
+            // 落库失败时撤销缓存中的抢占，否则座位在缓存过期前一直被误判为已预订
+            evictSeatStatusQuietly(seatId);
+            throw e;
+        }
+        if (updated == 0) {
+            // 缓存与数据库不一致，删除缓存，下次按数据库重新初始化
+            redisTemplate.delete(statusKey);
+            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        }
+        onSeatStatusChanged(seatId, 1, 2);
+        log.info("座位预订成功: seatId={}, userId={}", seatId, userId);
+        return true;
+    }
+
+    private Long casSeatStatus(String statusKey, Integer expectedStatus, Integer status, Integer storedStatus) {
+        return redisTemplate.execute(SeatStatusScripts.CAS, Collections.singletonList(statusKey),
+                expectedStatus, status, STATUS_CACHE_SECONDS, storedStatus);
+    }
+
     @Override
     public boolean releaseSeat(Long seatId) {
+        if (RESERVE_MODE_LUA.equals(reserveMode) || RESERVE_MODE_DB.equals(reserveMode)) {
+            // 无锁模式下直接落库并删除缓存，下次预订按数据库重新初始化
+            boolean updated = updateSeatStatus(seatId, 1);
+            if (updated) {
+                evictSeatStatusQuietly(seatId);
+                log.info("座位释放成功: seatId={}", seatId);
+            }
+            return updated;
+        }
+
         String lockKey = SEAT_LOCK_PREFIX + seatId;
         RLock lock = redissonClient.getLock(lockKey);
         
@@ -177,83 +573,406 @@ public class SeatServiceImpl extends ServiceImpl<SeatMapper, Seat> implements Se
         }
     }
 
+    @Override
+    public boolean reserveSeats(List<Long> seatIds, Long userId) {
+        List<Long> ids = normalizeSeatIds(seatIds);
+        if (ids.size() != seatIds.size()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        if (RESERVE_MODE_LUA.equals(reserveMode)) {
+            reserveSeatsByScript(ids);
+        } else if (RESERVE_MODE_DB.equals(reserveMode)) {
+            applyBatchReserve(ids);
+            evictSeatStatusQuietly(ids);
+        } else {
+            reserveSeatsWithLock(ids);
+        }
+        log.info("批量预订座位成功: seatIds={}, userId={}", ids, userId);
+        return true;
+    }
+
+    /**
+     * 分布式锁批量预订：按座位ID升序逐个加锁，全部可用后一次条件更新落库
+     */
+    private void reserveSeatsWithLock(List<Long> seatIds) {
+        List<RLock> locks = lockSeats(seatIds);
+        try {
+            for (Long seatId : seatIds) {
+                if (!isSeatAvailableInStore(seatId)) {
+                    throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+                }
+            }
+            applyBatchReserve(seatIds);
+            evictSeatStatusQuietly(seatIds);
+        } finally {
+            unlockSeats(locks);
+        }
+    }
+
+    /**
+     * 脚本批量预订：一次Redis往返原子抢占全部座位，再以一条多行条件更新落库，
+     * 落库失败时撤销Redis中的抢占
+     */
+    private void reserveSeatsByScript(List<Long> seatIds) {
+        List<String> statusKeys = seatIds.stream().map(id -> SEAT_STATUS_PREFIX + id).collect(Collectors.toList());
+        Long claimed = batchCasSeatStatus(statusKeys, 1, 2, null);
+        if (claimed != null && claimed == -1) {
+            List<Integer> statuses = new ArrayList<>(seatIds.size());
+            for (Long seatId : seatIds) {
+                Integer status = seatStatusCache.getStatus(seatId);
+                if (status == null) {
+                    throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+                }
+                statuses.add(status);
+            }
+            claimed = batchCasSeatStatus(statusKeys, 1, 2, statuses);
+        }
+        if (claimed == null || claimed != 1) {
+            throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+        }
+
+        try {
+            applyBatchReserve(seatIds);
+        } catch (RuntimeException e) {
+            // 缓存与数据库不一致，删除缓存，下次按数据库重新初始化
+            redisTemplate.delete(statusKeys);
+            throw e;
+        }
+    }
+
+    private Long batchCasSeatStatus(List<String> statusKeys, Integer expectedStatus, Integer status, List<Integer> storedStatuses) {
+        Object[] args = new Object[3 + statusKeys.size()];
+        args[0] = expectedStatus;
+        args[1] = status;
+        args[2] = STATUS_CACHE_SECONDS;
+        for (int i = 0; i < statusKeys.size(); i++) {
+            args[3 + i] = storedStatuses != null ? storedStatuses.get(i) : -1;
+        }
+        return redisTemplate.execute(SeatStatusScripts.BATCH_CAS, statusKeys, args);
+    }
+
+    /**
+     * 一条多行条件更新落库，影响行数不足说明部分座位已被占用，整批回滚
+     */
+    private void applyBatchReserve(List<Long> seatIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (seatMapper.batchCompareAndSetStatus(seatIds, 1, 2) != seatIds.size()) {
+                throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+            }
+        });
+        seatIds.forEach(seatId -> onSeatStatusChanged(seatId, 1, 2));
+    }
+
+    @Override
+    public int releaseSeats(List<Long> seatIds) {
+        List<Long> ids = normalizeSeatIds(seatIds);
+        if (RESERVE_MODE_LUA.equals(reserveMode) || RESERVE_MODE_DB.equals(reserveMode)) {
+            return applyBatchRelease(ids);
+        }
+        List<RLock> locks = lockSeats(ids);
+        try {
+            return applyBatchRelease(ids);
+        } finally {
+            unlockSeats(locks);
+        }
+    }
+
+    /**
+     * 锁定仍处于已预订或使用中的座位并一次更新为可预订，维护中的座位保持不变
+     */
+    private int applyBatchRelease(List<Long> seatIds) {
+        List<Long> released = transactionTemplate.execute(status -> {
+            List<Long> occupied = seatMapper.selectOccupiedIdsForUpdate(seatIds);
+            if (!occupied.isEmpty()) {
+                seatMapper.batchUpdateStatus(occupied, 1);
+            }
+            return occupied;
+        });
+        if (released == null || released.isEmpty()) {
+            return 0;
+        }
+        evictSeatStatusQuietly(released);
+        // 释放的座位均处于已预订或使用中，对可预订计数而言两者等价
+        released.forEach(seatId -> onSeatStatusChanged(seatId, 2, 1));
+        log.info("批量释放座位成功: seatIds={}", released);
+        return released.size();
+    }
+
+    /**
+     * 去重并按ID升序排列，校验批量大小
+     */
+    private List<Long> normalizeSeatIds(List<Long> seatIds) {
+        if (seatIds == null || seatIds.isEmpty()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        List<Long> ids = seatIds.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SEATS) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        return ids;
+    }
+
+    /**
+     * 按座位ID升序经联锁一次性加锁，所有批次遵循同一顺序，重叠的批次之间不会互相等待形成死锁；
+     * 等待时间是整批的上限，任一座位加锁失败时联锁释放已持有的锁。
+     * 不指定租期，由看门狗续期，逐个加锁期间先持有的锁不会在批量操作完成前过期
+     */
+    private List<RLock> lockSeats(List<Long> sortedSeatIds) {
+        RLock[] locks = new RLock[sortedSeatIds.size()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = redissonClient.getLock(SEAT_LOCK_PREFIX + sortedSeatIds.get(i));
+        }
+        try {
+            if (!redissonClient.getMultiLock(locks).tryLock(LOCK_WAIT_TIME, -1, TimeUnit.SECONDS)) {
+                throw new BusinessException(ResultCode.SEAT_LOCK_FAILED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SEAT_LOCK_FAILED);
+        }
+        return Arrays.asList(locks);
+    }
+
+    /**
+     * 逆序释放本线程仍持有的锁，批量操作已提交后不因个别锁异常而向调用方报错
+     */
+    private void unlockSeats(List<RLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            RLock lock = locks.get(i);
+            try {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            } catch (Exception e) {
+                log.warn("释放座位锁失败: lock={}, error={}", lock.getName(), e.getMessage());
+            }
+        }
+    }
+
     @Override
     public boolean isSeatAvailable(Long seatId) {
-        // 先从缓存查询
-        String statusKey = SEAT_STATUS_PREFIX + seatId;
-        Object cachedStatus = redisTemplate.opsForValue().get(statusKey);
-        if (cachedStatus != null) {
-            return Integer.valueOf(1).equals(cachedStatus);
+        // 先查内存索引
+        Boolean indexed = seatAvailabilityIndex.isAvailable(seatId);
+        if (indexed != null) {
+            return indexed;
         }
-        
-        // 缓存未命中，查询数据库
-        Seat seat = this.getById(seatId);
-        return seat != null && seat.getStatus() == 1;
+        return isSeatAvailableInStore(seatId);
+    }
+
+    /**
+     * 从Redis缓存或数据库检查座位是否可用
+     */
+    private boolean isSeatAvailableInStore(Long seatId) {
+        if (RESERVE_MODE_DB.equals(reserveMode)) {
+            Seat seat = this.getById(seatId);
+            return seat != null && seat.getStatus() == 1;
+        }
+
+        // 先从缓存查询，缓存未命中时合并并发回源请求
+        Integer status = seatStatusCache.getStatus(seatId);
+        return status != null && status == 1;
     }
 
     @Override
     public boolean updateSeatStatus(Long seatId, Integer status) {
-        return seatMapper.updateSeatStatus(seatId, status) > 0;
+        boolean updated = seatMapper.updateSeatStatus(seatId, status) > 0;
+        if (updated) {
+            onSeatStatusChanged(seatId, status);
+        }
+        return updated;
+    }
+
+    private void onSeatStatusChanged(Long seatId, Integer status) {
+        onSeatStatusChanged(seatId, null, status);
+    }
+
+    /**
+     * 座位状态落库后同步本地索引、详情缓存、自习室计数，推送给本实例的订阅者，并通知其他实例
+     *
+     * @param previousStatus 落库时已确定的变更前状态(如条件更新)，为空时以本地索引记录为准
+     */
+    private void onSeatStatusChanged(Long seatId, Integer previousStatus, Integer status) {
+        Integer indexedStatus = seatAvailabilityIndex.updateStatus(seatId, status);
+        roomSeatCounter.onStatusChanged(seatId, previousStatus != null ? previousStatus : indexedStatus, status);
+        seatSearchIndex.updateStatus(seatId, status);
+        seatPopularityRanking.onStatusChanged(seatId, status);
+        seatDetailCache.evict(seatId);
+        seatStateStream.publish(seatId, status);
+        seatEventPublisher.publishStatus(seatId, status);
+    }
+
+    @Override
+    public List<RoomSeatCounterVO> getRoomSeatCounters(List<Long> studyRoomIds) {
+        List<Long> ids = studyRoomIds == null ? Collections.emptyList()
+                : studyRoomIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SEATS) {
+            throw new BusinessException(ResultCode.PARAM_ERROR);
+        }
+        return roomSeatCounter.getCounters(ids);
     }
 
     @Override
     public List<SeatVO> searchSeatsByTypeAndPrice(Integer seatType, BigDecimal minPrice, BigDecimal maxPrice) {
         List<Seat> seats = seatMapper.selectBySeatTypeAndPriceRange(seatType, minPrice, maxPrice);
-        return seats.stream().map(this::convertToVO).collect(Collectors.toList());
+        return seats.stream().map(SeatConverter::toVO).collect(Collectors.toList());
     }
 
     @Override
     public List<SeatVO> getPopularSeats(Integer limit) {
+        return getPopularSeats(limit, null, null);
+    }
+
+    @Override
+    public List<SeatVO> getPopularSeats(Integer limit, Long studyRoomId, String city) {
+        int k = limit == null || limit <= 0 ? 10 : Math.min(limit, MAX_POPULAR_LIMIT);
+        if (seatPopularityRanking.isReady()) {
+            try {
+                List<SeatPopularityRanking.RankedSeat> ranked;
+                if (studyRoomId != null) {
+                    ranked = seatPopularityRanking.topOfRoom(studyRoomId, k);
+                } else if (StringUtils.hasText(city)) {
+                    ranked = seatPopularityRanking.topOfCity(city, k);
+                } else {
+                    ranked = seatPopularityRanking.topAll(k);
+                }
+                return toRankedSeatVOs(ranked);
+            } catch (Exception e) {
+                log.warn("读取热门座位排行榜失败，回退到数据库: error={}", e.getMessage());
+            }
+        }
+
+        if (studyRoomId == null && StringUtils.hasText(city)) {
+            // 座位表不含城市信息，城市榜单不可用时无法回退
+            return Collections.emptyList();
+        }
         LambdaQueryWrapper<Seat> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(Seat::getStatus, 1)
+                .eq(studyRoomId != null, Seat::getStudyRoomId, studyRoomId)
                 .orderByDesc(Seat::getRating)
-                .orderByDesc(Seat::getReviewCount)
-                .last("LIMIT " + (limit != null ? limit : 10));
-        
-        List<Seat> seats = this.list(wrapper);
-        return seats.stream().map(this::convertToVO).collect(Collectors.toList());
+                .orderByDesc(Seat::getReviewCount);
+        List<Seat> seats = this.page(new Page<>(1, k, false), wrapper).getRecords();
+        return seats.stream().map(SeatConverter::toVO).collect(Collectors.toList());
     }
 
     /**
-     * 转换为VO对象
+     * 榜单条目转为视图对象，座位详情优先取内存索引快照，其次走详情缓存
      */
-    private SeatVO convertToVO(Seat seat) {
-        SeatVO vo = new SeatVO();
-        BeanUtils.copyProperties(seat, vo);
-        
-        // 设置座位类型名称
-        vo.setSeatTypeName(getSeatTypeName(seat.getSeatType()));
-        
-        // 设置座位状态名称
-        vo.setStatusName(getSeatStatusName(seat.getStatus()));
-        
-        return vo;
+    private List<SeatVO> toRankedSeatVOs(List<SeatPopularityRanking.RankedSeat> ranked) {
+        List<SeatVO> result = new ArrayList<>(ranked.size());
+        for (SeatPopularityRanking.RankedSeat rankedSeat : ranked) {
+            Seat seat = seatAvailabilityIndex.getSeat(rankedSeat.getSeatId());
+            if (seat != null) {
+                // 其他实例上的评价不会同步到本地快照，评分以榜单为准
+                SeatVO vo = SeatConverter.toVO(seat);
+                vo.setStudyRoomName(studyRoomNameCache.get(seat.getStudyRoomId()));
+                vo.setRating(rankedSeat.getRating());
+                vo.setReviewCount(rankedSeat.getReviewCount());
+                result.add(vo);
+                continue;
+            }
+            SeatVO vo = seatDetailCache.get(rankedSeat.getSeatId(), this::loadSeatVO);
+            if (vo != null) {
+                result.add(vo);
+            }
+        }
+        return result;
     }
 
-    /**
-     * 获取座位类型名称
-     */
-    private String getSeatTypeName(Integer seatType) {
-        if (seatType == null) return "未知";
-        switch (seatType) {
-            case 1: return "普通座位";
-            case 2: return "靠窗座位";
-            case 3: return "VIP座位";
-            default: return "未知";
+    @Override
+    public boolean reserveSeatSlot(Long seatId, Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime start = SeatSlotIndex.floorToSlot(startTime);
+        LocalDateTime end = SeatSlotIndex.ceilToSlot(endTime);
+        if (!start.isBefore(end)) {
+            throw new BusinessException(ResultCode.ORDER_END_TIME_ERROR);
+        }
+
+        // 内存时段索引快速失败，避免热门座位上的无效加锁
+        if (!seatSlotIndex.isFree(seatId, start, end)) {
+            throw new BusinessException(ResultCode.SEAT_BOOKING_CONFLICT);
+        }
+
+        String lockKey = SEAT_LOCK_PREFIX + seatId;
+        RLock lock = redissonClient.getLock(lockKey);
+        try {
+            if (!lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS)) {
+                throw new BusinessException(ResultCode.SEAT_LOCK_FAILED);
+            }
+            try {
+                Seat seat = this.getById(seatId);
+                if (seat == null) {
+                    throw new BusinessException(ResultCode.SEAT_NOT_FOUND);
+                }
+                if (seat.getStatus() == null || seat.getStatus() == 0) {
+                    throw new BusinessException(ResultCode.SEAT_NOT_AVAILABLE);
+                }
+
+                // 锁内以预订表为准，防止多实例索引滞后导致重复预订
+                if (seatReservationMapper.countSeatOverlap(seatId, start, end) > 0) {
+                    seatSlotIndex.mark(seatId, start, end);
+                    throw new BusinessException(ResultCode.SEAT_BOOKING_CONFLICT);
+                }
+                if (userId != null && seatReservationMapper.countUserOverlap(userId, start, end) > 0) {
+                    throw new BusinessException(ResultCode.ORDER_TIME_CONFLICT);
+                }
+
+                SeatReservation reservation = new SeatReservation();
+                reservation.setSeatId(seatId);
+                reservation.setStudyRoomId(seat.getStudyRoomId());
+                reservation.setUserId(userId);
+                reservation.setStartTime(start);
+                reservation.setEndTime(end);
+                reservation.setStatus(1);
+                seatReservationMapper.insert(reservation);
+
+                seatSlotIndex.mark(seatId, start, end);
+                seatEventPublisher.publishSlot(SeatEvent.TYPE_SLOT_RESERVED, seatId, start, end);
+                log.info("座位时段预订成功: seatId={}, userId={}, start={}, end={}", seatId, userId, start, end);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ResultCode.SEAT_LOCK_FAILED);
         }
     }
 
-    /**
-     * 获取座位状态名称
-     */
-    private String getSeatStatusName(Integer status) {
-        if (status == null) return "未知";
-        switch (status) {
-            case 0: return "维护中";
-            case 1: return "可预订";
-            case 2: return "已预订";
-            case 3: return "使用中";
-            default: return "未知";
+    @Override
+    public boolean releaseSeatSlot(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime start = SeatSlotIndex.floorToSlot(startTime);
+        LocalDateTime end = SeatSlotIndex.ceilToSlot(endTime);
+
+        boolean released = seatReservationMapper.releaseReservation(seatId, start, end) > 0;
+        if (released) {
+            seatSlotIndex.clear(seatId, start, end);
+            seatEventPublisher.publishSlot(SeatEvent.TYPE_SLOT_RELEASED, seatId, start, end);
+            log.info("座位时段释放成功: seatId={}, start={}, end={}", seatId, start, end);
         }
+        return released;
+    }
+
+    @Override
+    public boolean isSeatSlotAvailable(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        Integer status = seatAvailabilityIndex.getStatus(seatId);
+        if (status == null) {
+            Seat seat = this.getById(seatId);
+            status = seat != null ? seat.getStatus() : null;
+        }
+        return status != null && status != 0 && seatSlotIndex.isFree(seatId, startTime, endTime);
+    }
+
+    @Override
+    public List<SeatVO> getAvailableSeatsBySlot(Long studyRoomId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<Seat> seats = seatAvailabilityIndex.getRoomSeats(studyRoomId);
+        if (seats == null) {
+            LambdaQueryWrapper<Seat> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Seat::getStudyRoomId, studyRoomId);
+            seats = this.list(wrapper);
+        }
+        return seats.stream()
+                .filter(seat -> seat.getStatus() != null && seat.getStatus() != 0)
+                .filter(seat -> seatSlotIndex.isFree(seat.getId(), startTime, endTime))
+                .map(SeatConverter::toVO)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.sharedroom.seat.stream;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.mapper.SeatMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 自习室座位状态推送(SSE)
+ * 每个自习室一个主题，订阅时先推送房间快照，之后推送座位状态增量；
+ * 增量只序列化一次，由主题按顺序分发给全部订阅者，同一主题内的快照与增量严格有序。
+ * 快照和增量均为座位的最新状态，客户端按座位覆盖即可，重复应用无副作用
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatStateStream {
+
+    public static final String EVENT_SNAPSHOT = "snapshot";
+    public static final String EVENT_DELTA = "delta";
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatMapper seatMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 连接超时时间，超时后由客户端重连
+     */
+    @Value("${seat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${seat.stream.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    /**
+     * 自习室ID -> 推送主题
+     */
+    private final Map<Long, RoomTopic> topics = new ConcurrentHashMap<>();
+
+    private ExecutorService dispatcher;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        dispatcher.shutdownNow();
+        topics.values().forEach(topic -> topic.subscribers.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * 订阅自习室座位状态，快照经主题队列发送，保证先于之后的增量到达
+     */
+    public SseEmitter subscribe(Long studyRoomId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // 注册与移除空主题都在compute中完成，避免新订阅者落到已被移除的主题上
+        RoomTopic topic = topics.compute(studyRoomId, (id, current) -> {
+            RoomTopic target = current != null ? current : new RoomTopic(id);
+            target.subscribers.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(topic, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(topic, emitter));
+
+        topic.submit(() -> {
+            try {
+                String snapshot = objectMapper.writeValueAsString(buildSnapshot(studyRoomId, topic.sequence.get()));
+                send(topic, emitter, EVENT_SNAPSHOT, topic.sequence.get(), snapshot);
+            } catch (JsonProcessingException e) {
+                log.error("座位状态快照序列化失败: studyRoomId={}", studyRoomId, e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * 推送座位状态变更，本实例与其他实例的变更都经此分发给本实例的订阅者
+     */
+    public void publish(Long seatId, Integer status) {
+        if (topics.isEmpty() || seatId == null) {
+            return;
+        }
+        Seat seat = seatAvailabilityIndex.getSeat(seatId);
+        if (seat == null) {
+            seat = seatMapper.selectById(seatId);
+        }
+        RoomTopic topic = seat != null ? topics.get(seat.getStudyRoomId()) : null;
+        if (topic == null) {
+            return;
+        }
+        long sequence = topic.sequence.incrementAndGet();
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("seatId", seatId);
+        delta.put("status", status);
+        delta.put("seq", sequence);
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            log.error("座位状态增量序列化失败: seatId={}", seatId, e);
+            return;
+        }
+        published.incrementAndGet();
+        topic.submit(() -> topic.subscribers.forEach(emitter -> send(topic, emitter, EVENT_DELTA, sequence, data)));
+    }
+
+    /**
+     * 定时发送心跳注释，及时发现已断开的连接
+     */
+    @Scheduled(fixedDelayString = "${seat.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (RoomTopic topic : topics.values()) {
+            topic.submit(() -> topic.subscribers.forEach(emitter -> {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(topic, emitter);
+                }
+            }));
+        }
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> getStats() {
+        int subscribers = 0;
+        for (RoomTopic topic : topics.values()) {
+            subscribers += topic.subscribers.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rooms", topics.size());
+        stats.put("subscribers", subscribers);
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void send(RoomTopic topic, SseEmitter emitter, String name, long sequence, String data) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(name)
+                    .id(String.valueOf(sequence))
+                    .data(data, MediaType.APPLICATION_JSON));
+            delivered.incrementAndGet();
+        } catch (IOException | IllegalStateException e) {
+            failed.incrementAndGet();
+            unsubscribe(topic, emitter);
+        }
+    }
+
+    private void unsubscribe(RoomTopic topic, SseEmitter emitter) {
+        topics.computeIfPresent(topic.studyRoomId, (id, current) -> {
+            current.subscribers.remove(emitter);
+            return current.subscribers.isEmpty() ? null : current;
+        });
+        topic.subscribers.remove(emitter);
+    }
+
+    /**
+     * 房间快照：座位以[座位ID, 状态]二元组紧凑表示
+     */
+    private Map<String, Object> buildSnapshot(Long studyRoomId, long sequence) {
+        List<Seat> seats = seatAvailabilityIndex.getRoomSeats(studyRoomId);
+        if (seats == null) {
+            seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>()
+                    .select(Seat::getId, Seat::getStatus)
+                    .eq(Seat::getStudyRoomId, studyRoomId));
+        }
+        long[][] states = new long[seats.size()][];
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            states[i] = new long[]{seat.getId(), seat.getStatus() != null ? seat.getStatus() : 0};
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("studyRoomId", studyRoomId);
+        snapshot.put("seq", sequence);
+        snapshot.put("seats", states);
+        return snapshot;
+    }
+
+    /**
+     * 自习室推送主题，任务串行执行，同一时刻只占用一个分发线程
+     */
+    private final class RoomTopic {
+
+        final Long studyRoomId;
+        final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicLong sequence = new AtomicLong();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        RoomTopic(Long studyRoomId) {
+            this.studyRoomId = studyRoomId;
+        }
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.error("座位状态推送任务失败: studyRoomId={}", studyRoomId, e);
+                    }
+                }
+                draining.set(false);
+            } while (!tasks.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
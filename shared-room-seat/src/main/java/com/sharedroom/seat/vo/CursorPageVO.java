@@ -0,0 +1,40 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 游标分页结果VO
+ */
+@Data
+public class CursorPageVO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页记录
+     */
+    private List<T> records;
+
+    /**
+     * 每页条数
+     */
+    private Integer size;
+
+    /**
+     * 下一页游标，没有更多数据时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+
+    /**
+     * 总条数，仅在请求时统计
+     */
+    private Long total;
+}
@@ -0,0 +1,45 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * 单个自习室的占用热度VO
+ */
+@Data
+public class RoomHeatVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 自习室ID
+     */
+    private Long studyRoomId;
+
+    /**
+     * 总座位数
+     */
+    private Integer total;
+
+    /**
+     * 可预订座位数
+     */
+    private Integer available;
+
+    /**
+     * 占用率(已预订与使用中座位占比，0-100)
+     */
+    private Integer occupancy;
+
+    /**
+     * 各状态座位数，下标为座位状态 0-维护中 1-可预订 2-已预订 3-使用中
+     */
+    private int[] statusCounts;
+
+    /**
+     * 座位类型 -> 该类型下各状态座位数，数组下标同statusCounts
+     */
+    private Map<Integer, int[]> typeStatusCounts;
+}
@@ -0,0 +1,31 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 自习室占用热力图快照VO
+ */
+@Data
+public class RoomHeatmapVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 快照版本，内容变化时递增
+     */
+    private Long version;
+
+    /**
+     * 快照内容最近一次变化的时间
+     */
+    private LocalDateTime generatedAt;
+
+    /**
+     * 各自习室占用情况，按自习室ID升序
+     */
+    private List<RoomHeatVO> rooms;
+}
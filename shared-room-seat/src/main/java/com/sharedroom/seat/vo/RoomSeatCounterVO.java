@@ -0,0 +1,29 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 自习室座位计数VO
+ */
+@Data
+public class RoomSeatCounterVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 自习室ID
+     */
+    private Long studyRoomId;
+
+    /**
+     * 可预订座位数
+     */
+    private Integer available;
+
+    /**
+     * 总座位数
+     */
+    private Integer total;
+}
@@ -0,0 +1,31 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 相邻座位块VO
+ */
+@Data
+public class SeatBlockVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 座位块形状 row-同一行连续 cluster-前后左右相连的座位群
+     */
+    private String shape;
+
+    /**
+     * 块内座位
+     */
+    private List<SeatVO> seats;
+
+    /**
+     * 块内座位每小时总价(元)
+     */
+    private BigDecimal totalPrice;
+}
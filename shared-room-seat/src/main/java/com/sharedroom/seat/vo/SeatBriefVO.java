@@ -0,0 +1,41 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 座位简要信息VO(预订成功后返回给订单服务计价)
+ * 字段名与SeatVO一致，订单服务也可按此结构读取座位详情
+ */
+@Data
+public class SeatBriefVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 座位ID
+     */
+    private Long id;
+
+    /**
+     * 座位编号
+     */
+    private String seatNumber;
+
+    /**
+     * 自习室ID
+     */
+    private Long studyRoomId;
+
+    /**
+     * 自习室名称
+     */
+    private String studyRoomName;
+
+    /**
+     * 价格(元/小时)
+     */
+    private BigDecimal price;
+}
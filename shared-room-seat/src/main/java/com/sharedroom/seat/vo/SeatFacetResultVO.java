@@ -0,0 +1,41 @@
+package com.sharedroom.seat.vo;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 座位分面搜索结果VO
+ */
+@Data
+public class SeatFacetResultVO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页记录
+     */
+    private List<SeatVO> records;
+
+    /**
+     * 命中总数
+     */
+    private Long total;
+
+    /**
+     * 当前页码
+     */
+    private Long current;
+
+    /**
+     * 每页条数
+     */
+    private Long size;
+
+    /**
+     * 命中结果的分面计数，如 isWindow -> {1: 32}、price -> {0-10: 18}
+     */
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -84,6 +84,16 @@ public class SeatVO implements Serializable {
      */
     private String location;
 
+    /**
+     * 布局行号
+     */
+    private Integer layoutRow;
+
+    /**
+     * 布局列号
+     */
+    private Integer layoutCol;
+
     /**
      * 是否靠窗 0-否 1-是
      */
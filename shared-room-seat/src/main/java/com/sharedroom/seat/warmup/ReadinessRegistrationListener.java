@@ -0,0 +1,44 @@
+package com.sharedroom.seat.warmup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按就绪状态切换注册中心中的实例状态
+ * 实例以禁用状态注册(spring.cloud.nacos.discovery.instance-enabled=false)，网关不会在预热完成前转发请求；
+ * 就绪后置为UP，之后就绪状态变为REFUSING_TRAFFIC时置为DOWN
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadinessRegistrationListener {
+
+    private static final String STATUS_UP = "UP";
+    private static final String STATUS_DOWN = "DOWN";
+
+    private final ObjectProvider<ServiceRegistry<Registration>> serviceRegistry;
+    private final ObjectProvider<Registration> registration;
+
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        ServiceRegistry<Registration> registry = serviceRegistry.getIfAvailable();
+        Registration current = registration.getIfAvailable();
+        if (registry == null || current == null) {
+            return;
+        }
+        String status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC ? STATUS_UP : STATUS_DOWN;
+        try {
+            registry.setStatus(current, status);
+            log.info("注册中心实例状态已更新: serviceId={}, status={}", current.getServiceId(), status);
+        } catch (Exception e) {
+            log.error("注册中心实例状态更新失败: serviceId={}, status={}", current.getServiceId(), status, e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.sharedroom.seat.warmup;
+
+import com.sharedroom.seat.cache.SeatDetailCache;
+import com.sharedroom.seat.cache.StudyRoomNameCache;
+import com.sharedroom.seat.convert.SeatConverter;
+import com.sharedroom.seat.entity.Seat;
+import com.sharedroom.seat.index.SeatAvailabilityIndex;
+import com.sharedroom.seat.index.SeatSearchIndex;
+import com.sharedroom.seat.index.StudyRoomGeoIndex;
+import com.sharedroom.seat.mapper.SeatMapper;
+import com.sharedroom.seat.vo.SeatVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 座位服务启动预热
+ * 先于各索引自身的启动加载执行：流式读取一次座位表，边读边按批写入本地座位详情缓存，
+ * 读完后加载可用性索引，并复制一份交给分面搜索索引，再流式加载自习室地理索引。
+ * 预热在ApplicationRunner中同步执行，Spring Boot在全部Runner完成后才将就绪状态置为ACCEPTING_TRAFFIC，
+ * 预热期间 /actuator/health/readiness 返回OUT_OF_SERVICE；预热失败时各索引按原方式自行加载
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SeatWarmup implements ApplicationRunner {
+
+    public static final String STATE_PENDING = "PENDING";
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_DONE = "DONE";
+    public static final String STATE_FAILED = "FAILED";
+    public static final String STATE_DISABLED = "DISABLED";
+
+    private final SeatMapper seatMapper;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatSearchIndex seatSearchIndex;
+    private final StudyRoomGeoIndex studyRoomGeoIndex;
+    private final SeatDetailCache seatDetailCache;
+    private final StudyRoomNameCache studyRoomNameCache;
+
+    @Value("${seat.warmup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 每批写入缓存的座位数
+     */
+    @Value("${seat.warmup.batch-size:500}")
+    private int batchSize;
+
+    private volatile String state = STATE_PENDING;
+
+    private volatile Map<String, Object> report = new LinkedHashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            state = STATE_DISABLED;
+            log.info("座位服务启动预热已禁用");
+            return;
+        }
+        state = STATE_RUNNING;
+        Map<String, Object> result = new LinkedHashMap<>();
+        long start = System.currentTimeMillis();
+        try {
+            warmUp(result);
+            state = STATE_DONE;
+        } catch (Exception e) {
+            state = STATE_FAILED;
+            result.put("error", e.getMessage());
+            log.error("座位服务启动预热失败，各索引将自行加载", e);
+        }
+        result.put("totalMillis", System.currentTimeMillis() - start);
+        report = result;
+        log.info("座位服务启动预热结束: state={}, report={}", state, result);
+    }
+
+    private void warmUp(Map<String, Object> result) {
+        // 1. 流式读取座位，按批写入缓存
+        long start = System.currentTimeMillis();
+        List<Seat> seats = new ArrayList<>();
+        List<Seat> batch = new ArrayList<>(batchSize);
+        int[] localCached = new int[1];
+        seatDetailCache.beginWarm();
+        seatAvailabilityIndex.beginLoad();
+        try {
+            seatMapper.scanAll(context -> {
+                Seat seat = context.getResultObject();
+                seats.add(seat);
+                batch.add(seat);
+                if (batch.size() >= batchSize) {
+                    localCached[0] += fillCaches(batch);
+                    batch.clear();
+                }
+            });
+            localCached[0] += fillCaches(batch);
+        } finally {
+            seatDetailCache.endWarm();
+        }
+        result.put("seats", seats.size());
+        result.put("localCachedSeats", localCached[0]);
+        result.put("seatScanMillis", System.currentTimeMillis() - start);
+
+        // 2. 内存索引：可用性索引在写锁内原地修改座位对象，分面搜索索引在自己的锁内读取，两者不能共用同一批实例
+        start = System.currentTimeMillis();
+        result.put("availabilityIndex", seatAvailabilityIndex.warmUp(seats));
+        result.put("searchIndex", seatSearchIndex.warmUp(SeatConverter.copyAll(seats)));
+        result.put("seatIndexMillis", System.currentTimeMillis() - start);
+
+        // 3. 自习室地理索引
+        Map<String, Object> geo = studyRoomGeoIndex.rebuild();
+        result.put("studyRooms", geo.get("rooms"));
+        result.put("studyRoomMillis", geo.get("cost"));
+    }
+
+    /**
+     * 写入一批座位的本地详情缓存
+     * Redis中的详情与状态缓存不预热：游标读到的数据可能早于其他实例的变更，写入共享缓存会覆盖其他实例的删除，
+     * 由各自的回源逻辑按需填充
+     *
+     * @return 写入本地缓存的条数
+     */
+    private int fillCaches(List<Seat> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<SeatVO> vos = new ArrayList<>(batch.size());
+        for (Seat seat : batch) {
+            SeatVO vo = SeatConverter.toVO(seat);
+            vo.setStudyRoomName(studyRoomNameCache.get(seat.getStudyRoomId()));
+            vos.add(vo);
+        }
+        return seatDetailCache.warm(vos);
+    }
+
+    public boolean isCompleted() {
+        return !STATE_PENDING.equals(state) && !STATE_RUNNING.equals(state);
+    }
+
+    /**
+     * 预热状态、耗时与加载行数
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state);
+        stats.putAll(report);
+        return stats;
+    }
+}
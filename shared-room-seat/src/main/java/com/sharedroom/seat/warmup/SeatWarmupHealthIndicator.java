@@ -0,0 +1,23 @@
+package com.sharedroom.seat.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动预热健康检查(seatWarmup)，纳入就绪探针分组
+ * 预热未结束时为OUT_OF_SERVICE；预热失败时各索引可回退数据库，仍视为UP，失败原因见详情
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatWarmupHealthIndicator implements HealthIndicator {
+
+    private final SeatWarmup seatWarmup;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = seatWarmup.isCompleted() ? Health.up() : Health.outOfService();
+        return builder.withDetails(seatWarmup.getStats()).build();
+    }
+}
@@ -0,0 +1,24 @@
+-- 自习室座位计数对账
+-- 仅当可用计数仍为对账前读取的值时覆盖，避免吞掉对账期间发生的增量
+-- KEYS[1] 可用座位数哈希 seat:room:available  KEYS[2] 总座位数哈希 seat:room:total
+-- ARGV按四个一组：自习室ID、读取时的可用计数(-1表示不存在)、数据库可用数、数据库总数
+-- 返回 {已修复数, 因并发修改跳过数}
+local repaired = 0
+local skipped = 0
+for i = 1, #ARGV, 4 do
+    local field = ARGV[i]
+    local current = redis.call('HGET', KEYS[1], field)
+    if not current then
+        current = '-1'
+    end
+    if current ~= ARGV[i + 1] then
+        skipped = skipped + 1
+    else
+        if current ~= ARGV[i + 2] then
+            redis.call('HSET', KEYS[1], field, ARGV[i + 2])
+            repaired = repaired + 1
+        end
+        redis.call('HSET', KEYS[2], field, ARGV[i + 3])
+    end
+end
+return {repaired, skipped}
@@ -0,0 +1,26 @@
+-- 批量座位状态比较并设置，全部满足期望状态才整体设置，否则不做任何修改
+-- KEYS[i] 座位状态缓存键 seat:status:{seatId}
+-- ARGV[1] 期望状态  ARGV[2] 目标状态  ARGV[3] 缓存过期秒数
+-- ARGV[3+i] KEYS[i]对应座位的数据库状态，缓存缺失时用于初始化；-1表示调用方尚未查询数据库
+-- 返回 1-全部设置成功 0-存在状态不符的座位 -1-存在缓存缺失，需携带数据库状态重试
+local current = {}
+for i = 1, #KEYS do
+    local value = redis.call('GET', KEYS[i])
+    if not value then
+        if ARGV[3 + i] == '-1' then
+            return -1
+        end
+        value = ARGV[3 + i]
+        redis.call('SET', KEYS[i], value, 'EX', ARGV[3])
+    end
+    current[i] = value
+end
+for i = 1, #KEYS do
+    if current[i] ~= ARGV[1] then
+        return 0
+    end
+end
+for i = 1, #KEYS do
+    redis.call('SET', KEYS[i], ARGV[2], 'EX', ARGV[3])
+end
+return 1
@@ -0,0 +1,18 @@
+-- 座位状态比较并设置(CAS)
+-- KEYS[1] 座位状态缓存键 seat:status:{seatId}
+-- ARGV[1] 期望状态  ARGV[2] 目标状态  ARGV[3] 缓存过期秒数
+-- ARGV[4] 数据库中的座位状态，缓存缺失时用于初始化；-1表示调用方尚未查询数据库
+-- 返回 1-设置成功 0-状态不符 -1-缓存缺失，需携带数据库状态重试
+local current = redis.call('GET', KEYS[1])
+if not current then
+    if ARGV[4] == '-1' then
+        return -1
+    end
+    current = ARGV[4]
+    redis.call('SET', KEYS[1], current, 'EX', ARGV[3])
+end
+if current ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
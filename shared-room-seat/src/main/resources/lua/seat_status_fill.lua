@@ -0,0 +1,14 @@
+-- 座位状态缓存回填
+-- 仅当缓存仍为读取时观察到的值(或仍不存在)时写入，避免覆盖预订/释放期间写入的新状态
+-- KEYS[1] 座位状态缓存键 seat:status:{seatId}
+-- ARGV[1] 读取时观察到的值，-2表示当时不存在  ARGV[2] 回填的状态  ARGV[3] 过期秒数
+-- 返回 1-已写入 0-缓存已被修改
+local current = redis.call('GET', KEYS[1])
+if not current then
+    current = '-2'
+end
+if current ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
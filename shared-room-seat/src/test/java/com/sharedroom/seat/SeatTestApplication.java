@@ -0,0 +1,23 @@
+package com.sharedroom.seat;
+
+import com.sharedroom.seat.config.WebConfig;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * 座位服务测试上下文
+ * 与座位服务使用同一套组件，去掉Web层、注册中心与定时任务；
+ * MySQL由H2(MySQL兼容模式)代替，Redis使用本机实例的独立库，见 seat-test.yml
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@MapperScan("com.sharedroom.seat.mapper")
+@ComponentScan(basePackages = "com.sharedroom.seat", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {SeatApplication.class, WebConfig.class}),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.sharedroom\\.seat\\.(controller|interceptor)\\..*")
+})
+public class SeatTestApplication {
+}
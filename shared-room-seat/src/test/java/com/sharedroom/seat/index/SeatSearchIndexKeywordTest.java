@@ -0,0 +1,131 @@
+package com.sharedroom.seat.index;
+
+import com.sharedroom.seat.dto.SeatSearchDTO;
+import com.sharedroom.seat.entity.Seat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 分面搜索索引的关键词匹配测试
+ * 倒排召回加校验的结果与逐条扫描比较一致，关键词按字面匹配，大小写、全角与重音不敏感
+ */
+class SeatSearchIndexKeywordTest {
+
+    private static final String[] PIECES = {
+            "a", "B", "c", "%", "_", "\\", " ", "靠", "窗", "电", "源", "é", "E", "Ａ", "wifi", "WiFi", "3F-"
+    };
+
+    private final List<Seat> seats = new ArrayList<>();
+    private SeatSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SeatSearchIndex(null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "priceBucket", 5);
+    }
+
+    @Test
+    void keywordMatchesFullScan() {
+        Random random = new Random(20261018L);
+        for (long id = 1; id <= 500; id++) {
+            seats.add(seat(id, randomText(random, 10), randomText(random, 4)));
+        }
+        index.warmUp(seats);
+
+        for (int i = 0; i < 500; i++) {
+            String keyword = randomText(random, 3);
+            if (keyword == null || keyword.trim().isEmpty()) {
+                continue;
+            }
+            assertEquals(scan(keyword), search(keyword), "keyword=" + keyword);
+        }
+    }
+
+    @Test
+    void keywordIsLiteral() {
+        seats.add(seat(1L, "100%靠窗", null));
+        seats.add(seat(2L, "abc", null));
+        seats.add(seat(3L, "a_c", null));
+        seats.add(seat(4L, "a\\c", null));
+        index.warmUp(seats);
+
+        assertEquals(ids(1L), search("%"));
+        assertEquals(ids(3L), search("a_c"));
+        assertEquals(ids(3L), search("_"));
+        assertEquals(ids(4L), search("\\"));
+        assertEquals(ids(), search("a%c"));
+    }
+
+    @Test
+    void keywordIgnoresCaseWidthAndAccents() {
+        seats.add(seat(1L, "免费WiFi", null));
+        seats.add(seat(2L, "Café区", null));
+        seats.add(seat(3L, null, "３F-Ａ区"));
+        index.warmUp(seats);
+
+        assertEquals(ids(1L), search("wifi"));
+        assertEquals(ids(1L), search("ＷＩＦＩ"));
+        assertEquals(ids(2L), search("CAFE"));
+        assertEquals(ids(3L), search("3f-a"));
+    }
+
+    private Set<Long> search(String keyword) {
+        SeatSearchDTO dto = new SeatSearchDTO();
+        dto.setKeyword(keyword);
+        return index.search(dto, 0, seats.size()).getSeats().stream()
+                .map(Seat::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private Set<Long> scan(String keyword) {
+        String folded = SeatSearchIndex.fold(keyword);
+        return seats.stream()
+                .filter(seat -> SeatSearchIndex.containsKeyword(seat.getDescription(), folded)
+                        || SeatSearchIndex.containsKeyword(seat.getLocation(), folded))
+                .map(Seat::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Set<Long> ids(Long... ids) {
+        return new TreeSet<>(Arrays.asList(ids));
+    }
+
+    private static String randomText(Random random, int maxPieces) {
+        int count = random.nextInt(maxPieces + 1);
+        if (count == 0) {
+            return random.nextBoolean() ? null : "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return text.toString();
+    }
+
+    private static Seat seat(Long id, String description, String location) {
+        Seat seat = new Seat();
+        seat.setId(id);
+        seat.setStudyRoomId(1L);
+        seat.setSeatType(1);
+        seat.setStatus(1);
+        seat.setPrice(BigDecimal.TEN);
+        seat.setDescription(description);
+        seat.setLocation(location);
+        seat.setCreateTime(LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(id));
+        return seat;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sharedroom.seat.service;
+
+import com.sharedroom.common.exception.BusinessException;
+import com.sharedroom.common.result.ResultCode;
+import com.sharedroom.seat.SeatTestApplication;
+import com.sharedroom.seat.mapper.SeatMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 数据库条件更新预订模式的并发测试
+ * 多个线程同时预订同一个座位，只有一个线程成功，其余线程得到座位不可用；
+ * 测试上下文依赖Redis(见 seat-test.yml)，连不上时跳过而不是报错
+ */
+@SpringBootTest(classes = SeatTestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.config.name=seat-test",
+                "spring.cloud.bootstrap.enabled=false",
+                "seat.reserve.mode=db"
+        })
+class SeatReserveConcurrencyTest {
+
+    private static final long SEAT_ID = 1L;
+    private static final int THREADS = 32;
+
+    private static final int REDIS_CONNECT_TIMEOUT_MS = 500;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    /**
+     * 在加载Spring上下文之前探测Redis，地址与 seat-test.yml 一致
+     */
+    @BeforeAll
+    static void requireRedis() {
+        String host = System.getProperty("test.redis.host", "localhost");
+        int port = Integer.getInteger("test.redis.port", 6379);
+        assumeTrue(isReachable(host, port), "Redis不可用，跳过: " + host + ":" + port);
+    }
+
+    private static boolean isReachable(String host, int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), REDIS_CONNECT_TIMEOUT_MS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void reserveSameSeatConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger notAvailable = new AtomicInteger();
+        List<Object> unexpected = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            long userId = 1000L + i;
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    if (seatService.reserveSeat(SEAT_ID, userId)) {
+                        reserved.incrementAndGet();
+                    } else {
+                        unexpected.add("reserveSeat returned false");
+                    }
+                } catch (BusinessException e) {
+                    if (ResultCode.SEAT_NOT_AVAILABLE.getCode().equals(e.getCode())) {
+                        notAvailable.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        // 全部线程就绪后同时放行
+        assertTrue(ready.await(10, TimeUnit.SECONDS));
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(Collections.emptyList(), unexpected);
+        assertEquals(1, reserved.get());
+        assertEquals(THREADS - 1, notAvailable.get());
+        assertEquals(2, seatMapper.selectById(SEAT_ID).getStatus());
+    }
+}
@@ -0,0 +1,12 @@
+-- 座位服务测试数据：1个自习室，10个可预订座位，座位ID从1连续分配
+
+INSERT INTO tb_study_room (id, name, address, city, longitude, latitude, total_seats, available_seats,
+                           status, rating, create_time, update_time, deleted)
+VALUES (1, '测试自习室', '测试路1号', '北京', 116.3010000, 39.9010000, 10, 10, 1, 4.50, NOW(), NOW(), 0);
+
+INSERT INTO seat (id, study_room_id, seat_number, seat_type, status, price, description, location,
+                  layout_row, layout_col, is_window, has_power, has_lamp, rating, review_count,
+                  create_time, update_time, deleted)
+SELECT X, 1, CONCAT('S', X), 1, 1, 10.00, CONCAT('测试座位', X), CONCAT('1F-1-', X),
+       0, X - 1, 0, 1, 0, 4.00, 0, NOW(), NOW(), 0
+FROM SYSTEM_RANGE(1, 10);
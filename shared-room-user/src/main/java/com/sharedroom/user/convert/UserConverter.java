@@ -0,0 +1,46 @@
+package com.sharedroom.user.convert;
+
+import com.sharedroom.common.entity.User;
+import com.sharedroom.user.dto.RegisterDTO;
+import com.sharedroom.user.vo.UserVO;
+
+/**
+ * 用户实体、DTO与VO转换
+ * 逐字段赋值，不经反射拷贝；实体、DTO或VO增删字段时需同步修改
+ */
+public final class UserConverter {
+
+    private UserConverter() {
+    }
+
+    /**
+     * 由注册信息构建用户实体，密码、状态与时间由调用方设置
+     */
+    public static User toEntity(RegisterDTO registerDTO) {
+        User user = new User();
+        user.setUsername(registerDTO.getUsername());
+        user.setPhone(registerDTO.getPhone());
+        user.setEmail(registerDTO.getEmail());
+        user.setNickname(registerDTO.getNickname());
+        user.setGender(registerDTO.getGender());
+        return user;
+    }
+
+    /**
+     * 转换为VO对象，不返回密码
+     */
+    public static UserVO toVO(User user) {
+        UserVO vo = new UserVO();
+        vo.setId(user.getId());
+        vo.setUsername(user.getUsername());
+        vo.setPhone(user.getPhone());
+        vo.setEmail(user.getEmail());
+        vo.setNickname(user.getNickname());
+        vo.setAvatar(user.getAvatar());
+        vo.setGender(user.getGender());
+        vo.setStatus(user.getStatus());
+        vo.setCreateTime(user.getCreateTime());
+        vo.setUpdateTime(user.getUpdateTime());
+        return vo;
+    }
+}
@@ -7,6 +7,7 @@ import com.sharedroom.common.exception.BusinessException;
 import com.sharedroom.common.result.ResultCode;
 import com.sharedroom.common.utils.JwtUtils;
 import com.sharedroom.common.utils.UserContext;
+import com.sharedroom.user.convert.UserConverter;
 import com.sharedroom.user.dto.LoginDTO;
 import com.sharedroom.user.dto.RegisterDTO;
 import com.sharedroom.user.mapper.UserMapper;
@@ -15,7 +16,6 @@ import com.sharedroom.user.vo.LoginVO;
 import com.sharedroom.user.vo.UserVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -50,8 +50,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
         
         // 创建用户
-        User user = new User();
-        BeanUtils.copyProperties(registerDTO, user);
+        User user = UserConverter.toEntity(registerDTO);
         user.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
         user.setStatus(1); // 正常状态
         user.setCreateTime(LocalDateTime.now());
@@ -63,12 +62,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
         
         // 返回用户信息
-        UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
-        userVO.setPassword(null); // 不返回密码
-        
         log.info("用户注册成功: userId={}, username={}", user.getId(), user.getUsername());
-        return userVO;
+        return UserConverter.toVO(user);
     }
 
     @Override
@@ -146,11 +141,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException(ResultCode.USER_NOT_EXIST);
         }
         
-        UserVO userVO = new UserVO();
-        BeanUtils.copyProperties(user, userVO);
-        userVO.setPassword(null); // 不返回密码
-        
-        return userVO;
+        return UserConverter.toVO(user);
     }
 
     @Override
@@ -181,11 +172,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException("用户信息更新失败");
         }
         
-        UserVO result = new UserVO();
-        BeanUtils.copyProperties(user, result);
-        result.setPassword(null); // 不返回密码
-        
         log.info("用户信息更新成功: userId={}", userId);
-        return result;
+        return UserConverter.toVO(user);
     }
 }
\ No newline at end of file
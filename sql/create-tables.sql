@@ -51,6 +51,7 @@ CREATE TABLE IF NOT EXISTS `tb_study_room` (
   `id` bigint(20) NOT NULL COMMENT '自习室ID',
   `name` varchar(100) NOT NULL COMMENT '自习室名称',
   `address` varchar(255) NOT NULL COMMENT '地址',
+  `city` varchar(50) DEFAULT NULL COMMENT '所在城市',
   `longitude` decimal(10,7) DEFAULT NULL COMMENT '经度',
   `latitude` decimal(10,7) DEFAULT NULL COMMENT '纬度',
   `phone` varchar(20) DEFAULT NULL COMMENT '联系电话',
@@ -68,6 +69,7 @@ CREATE TABLE IF NOT EXISTS `tb_study_room` (
   `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '逻辑删除 0-未删除 1-已删除',
   PRIMARY KEY (`id`),
   KEY `idx_status` (`status`),
+  KEY `idx_city` (`city`),
   KEY `idx_location` (`longitude`,`latitude`),
   KEY `idx_rating` (`rating`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='自习室表';
@@ -84,6 +86,8 @@ CREATE TABLE IF NOT EXISTS `tb_seat` (
   `facilities` text COMMENT '设施配置(JSON格式)',
   `images` text COMMENT '座位图片',
   `location` varchar(100) DEFAULT NULL COMMENT '座位位置(楼层-区域-座位号)',
+  `layout_row` smallint(6) DEFAULT NULL COMMENT '布局行号',
+  `layout_col` smallint(6) DEFAULT NULL COMMENT '布局列号，同一行列号相邻即相邻座位',
   `is_window` tinyint(1) DEFAULT '0' COMMENT '是否靠窗 0-否 1-是',
   `has_power` tinyint(1) DEFAULT '0' COMMENT '是否有电源 0-否 1-是',
   `has_lamp` tinyint(1) DEFAULT '0' COMMENT '是否有台灯 0-否 1-是',
@@ -97,9 +101,29 @@ CREATE TABLE IF NOT EXISTS `tb_seat` (
   KEY `idx_status` (`status`),
   KEY `idx_seat_type` (`seat_type`),
   KEY `idx_price` (`price`),
+  KEY `idx_rating` (`rating`),
+  KEY `idx_create_time` (`create_time`),
   CONSTRAINT `fk_seat_study_room` FOREIGN KEY (`study_room_id`) REFERENCES `tb_study_room` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='座位表';
 
+-- 座位时段预订表
+CREATE TABLE IF NOT EXISTS `tb_seat_reservation` (
+  `id` bigint(20) NOT NULL COMMENT '预订ID',
+  `seat_id` bigint(20) NOT NULL COMMENT '座位ID',
+  `study_room_id` bigint(20) NOT NULL COMMENT '自习室ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `start_time` datetime NOT NULL COMMENT '开始时间(按15分钟对齐)',
+  `end_time` datetime NOT NULL COMMENT '结束时间(按15分钟对齐)',
+  `status` tinyint(1) NOT NULL DEFAULT '1' COMMENT '状态 1-已预订 2-已释放',
+  `create_time` datetime(6) NOT NULL COMMENT '创建时间',
+  `update_time` datetime(6) NOT NULL COMMENT '更新时间',
+  `deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '逻辑删除 0-未删除 1-已删除',
+  PRIMARY KEY (`id`),
+  KEY `idx_seat_time` (`seat_id`,`start_time`),
+  KEY `idx_user_time` (`user_id`,`start_time`),
+  KEY `idx_end_time` (`end_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='座位时段预订表';
+
 -- shared_room数据库的undo_log表
 CREATE TABLE IF NOT EXISTS `undo_log` (
   `branch_id` bigint(20) NOT NULL COMMENT 'branch transaction id',
@@ -151,6 +175,43 @@ CREATE TABLE IF NOT EXISTS `tb_order` (
   KEY `idx_start_time` (`start_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单表';
 
+-- 订单预订Saga表(order.booking-mode=saga时使用)
+CREATE TABLE IF NOT EXISTS `tb_booking_saga` (
+  `id` bigint(20) NOT NULL COMMENT 'SagaID，同时作为座位占用ID',
+  `order_id` bigint(20) NOT NULL COMMENT '订单ID',
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `seat_id` bigint(20) NOT NULL COMMENT '座位ID',
+  `status` tinyint(1) NOT NULL COMMENT '状态 1-占用中 2-已占用待确认 3-已确认 4-补偿中 5-已补偿 6-占用失败',
+  `hold_expire_time` datetime(6) NOT NULL COMMENT '座位占用到期时间',
+  `retry_count` int(11) NOT NULL DEFAULT '0' COMMENT '恢复任务重试次数',
+  `last_error` varchar(500) DEFAULT NULL COMMENT '最近一次失败原因',
+  `create_time` datetime(6) NOT NULL COMMENT '创建时间',
+  `update_time` datetime(6) NOT NULL COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_order_id` (`order_id`),
+  KEY `idx_status_update_time` (`status`,`update_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单预订Saga表';
+
+-- 订单事件发件箱表
+CREATE TABLE IF NOT EXISTS `tb_outbox_event` (
+  `id` bigint(20) NOT NULL COMMENT '事件ID',
+  `topic` varchar(128) NOT NULL COMMENT '目标主题',
+  `biz_key` varchar(64) DEFAULT NULL COMMENT '业务键',
+  `payload` text NOT NULL COMMENT '消息体(JSON)',
+  `deliver_at` bigint(20) DEFAULT NULL COMMENT '最早投递时间(毫秒时间戳)，为空表示立即投递',
+  `status` tinyint(1) NOT NULL DEFAULT '0' COMMENT '状态 0-待发送 1-已发送',
+  `retry_count` int(11) NOT NULL DEFAULT '0' COMMENT '发送失败次数',
+  `next_retry_time` datetime(6) NOT NULL COMMENT '下次可发送时间',
+  `claim_token` varchar(64) DEFAULT NULL COMMENT '认领标识',
+  `claim_expire_time` datetime(6) DEFAULT NULL COMMENT '认领到期时间',
+  `create_time` datetime(6) NOT NULL COMMENT '创建时间',
+  `sent_time` datetime(6) DEFAULT NULL COMMENT '发送时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_status_next_retry` (`status`,`next_retry_time`),
+  KEY `idx_claim_token` (`claim_token`),
+  KEY `idx_sent_time` (`sent_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='订单事件发件箱表';
+
 -- shared_room_order数据库的undo_log表
 CREATE TABLE IF NOT EXISTS `undo_log` (
   `branch_id` bigint(20) NOT NULL COMMENT 'branch transaction id',